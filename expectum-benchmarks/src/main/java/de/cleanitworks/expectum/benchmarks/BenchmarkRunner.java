@@ -0,0 +1,44 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of the <code>benchmarks.jar</code>. Accepts the usual JMH command line options.
+ *
+ * <p>Unless specified otherwise on the command line, the runner
+ * <ul>
+ *   <li>enables the allocation profiler (<code>-prof gc</code>) and</li>
+ *   <li>writes the results as json to {@link #DEFAULT_RESULT_FILE} (<code>-rf json -rff ...</code>).</li>
+ * </ul>
+ * The json results of two releases can be compared by tools like <a href="https://jmh.morethan.io">JMH
+ * Visualizer</a> or simply diffed.
+ */
+public final class BenchmarkRunner {
+
+  static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (commandLine.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLine.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+    new Runner(options.build()).run();
+  }
+}
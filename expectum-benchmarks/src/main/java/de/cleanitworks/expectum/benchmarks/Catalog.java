@@ -0,0 +1,33 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result bean of the benchmarks. Its size scales with the number of items.
+ */
+public class Catalog {
+
+  public String name;
+  public List<Item> items;
+
+  public static Catalog create(int itemCount) {
+    Catalog catalog = new Catalog();
+    catalog.name = "catalog of " + itemCount + " items";
+    catalog.items = new ArrayList<>(itemCount);
+    for (int id = 0; id < itemCount; id++) {
+      catalog.items.add(Item.create(id));
+    }
+    return catalog;
+  }
+
+  /**
+   * @return a catalog differing from {@link #create(int)} only in the name of its last item. A comparison has to
+   *     go through the whole content to find the difference.
+   */
+  public static Catalog createWithLastItemChanged(int itemCount) {
+    Catalog catalog = create(itemCount);
+    catalog.items.get(itemCount - 1).name = "changed";
+    return catalog;
+  }
+}
@@ -0,0 +1,115 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link JsonResourceTestDelegate} operations used by each test, for fixtures from 1 KB to
+ * 100 MB.
+ *
+ * <p>The <code>*_item</code> benchmarks read a small node. They show the cost of locating a node in fixture files
+ * of different sizes. The <code>*_catalog</code> benchmarks work on content having about the fixture size.
+ *
+ * <p>Each strategy reading the fixtures runs at all sizes:
+ * <ul>
+ *   <li><code>tree</code>: The files are below the streaming threshold. Their trees get cached.</li>
+ *   <li><code>index</code>: The files reach the streaming threshold. The json file gets memory mapped and
+ *   indexed.</li>
+ *   <li><code>stream</code>: The files reach the streaming threshold and are packed in a jar, so that they can't be
+ *   memory mapped. Nodes get extracted by streaming the files.</li>
+ * </ul>
+ * hjson files can't be indexed. They get streamed by the <code>index</code> strategy as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DelegateBenchmark {
+
+  @Param({"1024", "1048576", "104857600"})
+  public long fixtureSize;
+
+  @Param({"tree", "index", "stream"})
+  public String strategy;
+
+  private Fixture fixture;
+  private JsonResourceTestDelegate delegate;
+  private Catalog catalog;
+  private Catalog changedCatalog;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    fixture = Fixture.generate(fixtureSize, "stream".equals(strategy));
+    delegate = fixture.newDelegate();
+    delegate.setStreamingThreshold("tree".equals(strategy) ? Long.MAX_VALUE : 0);
+    catalog = Catalog.create(fixture.getItemCount());
+    changedCatalog = Catalog.createWithLastItemChanged(fixture.getItemCount());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public String json_item() {
+    return delegate.json("item");
+  }
+
+  @Benchmark
+  public String json_catalog() {
+    return delegate.json("catalog");
+  }
+
+  @Benchmark
+  public String hjson_item() {
+    return delegate.hjson("item");
+  }
+
+  @Benchmark
+  public Item fromJson_item() {
+    return delegate.fromJson("item", Item.class);
+  }
+
+  @Benchmark
+  public Catalog fromJson_catalog() {
+    return delegate.fromJson("catalog", Catalog.class);
+  }
+
+  @Benchmark
+  public String toJson_catalog() {
+    return delegate.toJson(catalog);
+  }
+
+  @Benchmark
+  public void assertJsonNode_matching() {
+    delegate.assertJsonNode(catalog, "catalog");
+  }
+
+  @Benchmark
+  public AssertionError assertJsonNode_mismatching() {
+    try {
+      delegate.assertJsonNode(changedCatalog, "catalog");
+    } catch (AssertionError e) {
+      return e;
+    }
+    throw new IllegalStateException("The changed catalog should not match.");
+  }
+}
@@ -0,0 +1,152 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Generated json and hjson fixture files of a given size, located in a temporary directory.
+ *
+ * <p>The files contain the expectations of the test method {@link #TEST_METHOD}:
+ * <pre>
+ * {
+ *   "benchmark": {
+ *     "item": { ... },
+ *     "catalog": { "name": ..., "items": [ ... ] }
+ *   }
+ * }
+ * </pre>
+ * The number of catalog items is chosen to reach about the requested file size.
+ *
+ * <p>Fixtures may get packed into a jar. Files in a jar are not located on the file system, so that they can't be
+ * memory mapped.
+ */
+public final class Fixture implements AutoCloseable {
+
+  /** The name of the "test method" the fixture content belongs to. */
+  public static final String TEST_METHOD = "benchmark";
+
+  /** Bytes of the fixture not belonging to the catalog items. */
+  private static final int BASE_SIZE = 256;
+
+  private final Path dir;
+  private final int itemCount;
+  private final FixtureClassLoader loader;
+  private final Class<?> anchorClass;
+
+  private Fixture(Path dir, int itemCount, FixtureClassLoader loader) throws IOException {
+    this.dir = dir;
+    this.itemCount = itemCount;
+    this.loader = loader;
+    this.anchorClass = loader.defineAnchor();
+  }
+
+  /**
+   * @param size the approximate size of the fixture files in bytes.
+   * @param packed <code>true</code> to provide the files packed in a jar.
+   * @return the generated fixture. Should be closed to remove the files.
+   */
+  public static Fixture generate(long size, boolean packed) {
+    ObjectMapper mapper = JsonResourceTestDelegate.objectMapperBuilder().build();
+    try {
+      int itemSize = mapper.writeValueAsBytes(Item.create(100_000)).length + 1;
+      int itemCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (size - BASE_SIZE) / itemSize));
+
+      Path dir = Files.createTempDirectory("expectum-benchmark-");
+      Path packageDir = dir.resolve(FixtureAnchor.class.getPackageName().replace('.', '/'));
+      Files.createDirectories(packageDir);
+
+      Map<String, Object> expectations = new LinkedHashMap<>();
+      expectations.put("item", Item.create(0));
+      expectations.put("catalog", Catalog.create(itemCount));
+      Path jsonFile = packageDir.resolve(FixtureAnchor.class.getSimpleName() + ".json");
+      mapper.writeValue(jsonFile.toFile(), Map.of(TEST_METHOD, expectations));
+      // json content is valid hjson content
+      Files.copy(jsonFile, packageDir.resolve(FixtureAnchor.class.getSimpleName() + ".hjson"));
+
+      Path root = packed ? pack(dir, dir.resolve("fixture.jar")) : dir;
+      return new Fixture(dir, itemCount, new FixtureClassLoader(root.toUri().toURL()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to generate fixture of size " + size, e);
+    }
+  }
+
+  /**
+   * @return the context class of the fixture files. To be provided as test class to the delegate.
+   */
+  public Class<?> getAnchorClass() {
+    return anchorClass;
+  }
+
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  /**
+   * @return a delegate reading this fixture, having the {@link #TEST_METHOD} as running test method.
+   */
+  public JsonResourceTestDelegate newDelegate() {
+    JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> anchorClass);
+    delegate.setTestMethodName(TEST_METHOD);
+    return delegate;
+  }
+
+  /**
+   * Packs the files of the directory into a new jar.
+   *
+   * @return the jar.
+   */
+  private static Path pack(Path dir, Path jar) throws IOException {
+    try (Stream<Path> files = Files.walk(dir);
+          JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      for (Path file : (Iterable<Path>) files.filter(f -> Files.isRegularFile(f) && !f.equals(jar))::iterator) {
+        out.putNextEntry(new JarEntry(dir.relativize(file).toString().replace(File.separatorChar, '/')));
+        Files.copy(file, out);
+        out.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  @Override
+  public void close() throws IOException {
+    loader.close();
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Finds the resources of a fixture directory. Each instance defines its own {@link FixtureAnchor} class.
+   */
+  private static final class FixtureClassLoader extends URLClassLoader {
+
+    FixtureClassLoader(URL fixtureDir) {
+      super(new URL[] {fixtureDir}, FixtureAnchor.class.getClassLoader());
+    }
+
+    Class<?> defineAnchor() throws IOException {
+      String name = FixtureAnchor.class.getName();
+      try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+        byte[] bytes = in.readAllBytes();
+        return defineClass(name, bytes, 0, bytes.length);
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package de.cleanitworks.expectum.benchmarks;
+
+/**
+ * Context class of generated fixture files.
+ *
+ * <p>Each {@link Fixture} defines its own copy of this class by a class loader that finds the resources of the
+ * fixture directory. So the delegate finds <code>FixtureAnchor.json</code> next to that copy, like the json file
+ * of a test class.
+ */
+public final class FixtureAnchor {
+
+  private FixtureAnchor() {
+  }
+}
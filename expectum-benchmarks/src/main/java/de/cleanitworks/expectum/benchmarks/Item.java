@@ -0,0 +1,30 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Element of a {@link Catalog}. Has the typical mix of field types of a result bean.
+ */
+public class Item {
+
+  private static final LocalDate FIRST_CREATED = LocalDate.parse("2020-01-01");
+
+  public int id;
+  public String name;
+  public double price;
+  public boolean available;
+  public LocalDate created;
+  public List<String> tags;
+
+  public static Item create(int id) {
+    Item item = new Item();
+    item.id = id;
+    item.name = "item-" + id;
+    item.price = id * 0.25;
+    item.available = id % 3 != 0;
+    item.created = FIRST_CREATED.plusDays(id % 365);
+    item.tags = List.of("tag-" + id % 7, "tag-" + id % 11);
+    return item;
+  }
+}
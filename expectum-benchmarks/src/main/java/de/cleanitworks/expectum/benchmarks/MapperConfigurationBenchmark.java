@@ -0,0 +1,71 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the mapper configuration done at the start of a test: a new delegate, its mapper setup and
+ * {@link JsonResourceTestDelegate#jsonHide(Class, String...)} or
+ * {@link JsonResourceTestDelegate#jsonShow(Class, String...)}, followed by the first serialization.
+ *
+ * <p>Each invocation corresponds to the setup of one test of a large test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperConfigurationBenchmark {
+
+  private final Item item = Item.create(42);
+  private final ObjectMapper prototype = JsonResourceTestDelegate.objectMapperBuilder().build();
+
+  @Benchmark
+  public String defaultMapper() {
+    return newDelegate().toJson(item);
+  }
+
+  @Benchmark
+  public String sharedObjectMapper() {
+    JsonResourceTestDelegate delegate = newDelegate();
+    delegate.setSharedObjectMapper(prototype);
+    return delegate.toJson(item);
+  }
+
+  @Benchmark
+  public String createObjectMapper() {
+    JsonResourceTestDelegate delegate = newDelegate();
+    delegate.createObjectMapper();
+    return delegate.toJson(item);
+  }
+
+  @Benchmark
+  public String jsonHide() {
+    JsonResourceTestDelegate delegate = newDelegate();
+    delegate.jsonHide(Item.class, "tags", "created");
+    return delegate.toJson(item);
+  }
+
+  @Benchmark
+  public String jsonShow() {
+    JsonResourceTestDelegate delegate = newDelegate();
+    delegate.jsonShow(Item.class, "id", "name");
+    return delegate.toJson(item);
+  }
+
+  private static JsonResourceTestDelegate newDelegate() {
+    return new JsonResourceTestDelegate(() -> MapperConfigurationBenchmark.class);
+  }
+}
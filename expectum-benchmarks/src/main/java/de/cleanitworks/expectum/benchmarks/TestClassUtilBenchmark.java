@@ -0,0 +1,102 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import de.cleanitworks.expectum.core.junit.TestClassUtil;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmark of {@link TestClassUtil#getTestMethodName(Class)}, called from different stack depths below the test
+ * method. Test frameworks add a deep stack above the test method. That part is not walked.
+ *
+ * <p>The baseline is the former implementation, which materialized the whole stack trace and reflected on the test
+ * class for each frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestClassUtilBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int stackDepth;
+
+  private final SampleTest sampleTest = new SampleTest();
+
+  @Benchmark
+  public String getTestMethodName() {
+    return sampleTest.sampleTestMethod(stackDepth, TestClassUtil::getTestMethodName);
+  }
+
+  @Benchmark
+  public String getTestMethodNameBaseline() {
+    return sampleTest.sampleTestMethod(stackDepth, ThrowableStackTraceLookup::getTestMethodName);
+  }
+
+  /**
+   * Mimics a test class. The method is never run by JUnit.
+   */
+  public static class SampleTest {
+
+    @Test
+    String sampleTestMethod(int stackDepth, Function<Class<?>, String> lookup) {
+      return callHelper(stackDepth, lookup);
+    }
+
+    private static String callHelper(int remainingDepth, Function<Class<?>, String> lookup) {
+      return remainingDepth <= 1
+            ? lookup.apply(SampleTest.class)
+            : callHelper(remainingDepth - 1, lookup);
+    }
+  }
+
+  /**
+   * The lookup of the running test method before the {@link StackWalker} based implementation.
+   */
+  static final class ThrowableStackTraceLookup {
+
+    private static final Set<String> TEST_ANNOTATIONS = Set.of(
+          "org.junit.jupiter.api.Test",
+          "org.junit.jupiter.api.RepeatedTest",
+          "org.junit.jupiter.params.ParameterizedTest",
+          "org.junit.Test",
+          "junit.framework.Test");
+
+    private ThrowableStackTraceLookup() {
+    }
+
+    static String getTestMethodName(Class<?> testClass) {
+      for (StackTraceElement element : new Throwable().getStackTrace()) {
+        Method method = findMethod(testClass, element.getMethodName());
+        if (method != null && Arrays.stream(method.getAnnotations())
+              .anyMatch(a -> TEST_ANNOTATIONS.contains(a.annotationType().getName()))) {
+          return element.getMethodName();
+        }
+      }
+      throw new IllegalArgumentException("Current stacktrace does not contain a test method.");
+    }
+
+    private static Method findMethod(Class<?> testClass, String methodName) {
+      return Arrays.stream(testClass.getDeclaredMethods())
+            .filter(m -> m.getName().equals(methodName))
+            .findFirst()
+            .orElse(null);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package de.cleanitworks.expectum.benchmarks;
+
+import de.cleanitworks.expectum.core.resource.TextNodeQuoteWorkaround;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link TextNodeQuoteWorkaround#unquote(String)}, applied to each string provided by the delegate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextNodeQuoteWorkaroundBenchmark {
+
+  @Param({"16", "65536"})
+  public int length;
+
+  private String quoted;
+  private String unquoted;
+
+  @Setup
+  public void setUp() {
+    unquoted = "{" + "x".repeat(length - 2) + "}";
+    quoted = "\"" + "x".repeat(length - 2) + "\"";
+  }
+
+  @Benchmark
+  public String unquote_quotedText() {
+    return TextNodeQuoteWorkaround.unquote(quoted);
+  }
+
+  @Benchmark
+  public String unquote_jsonObject() {
+    return TextNodeQuoteWorkaround.unquote(unquoted);
+  }
+}
@@ -0,0 +1,116 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes json content in a canonical form: Compact, object fields sorted by name and numbers in a normalized
+ * format. E.g. <code>{"b": 1.50, "a": 1E2}</code> gets written as <code>{"a":100,"b":1.5}</code>.
+ *
+ * <p>Json content that is equal in the sense of a {@link JsonComparator} in mode {@link JsonCompareMode#STRICT},
+ * apart from the field order, gets the same canonical string. So a simple string compare operation is sufficient.
+ * The array element order is kept, since it is part of the content.
+ */
+public final class CanonicalJsonWriter {
+
+  /** Integral numbers having up to that number of digits are written without exponent. */
+  private static final int MAX_PLAIN_INTEGER_DIGITS = 21;
+
+  private final ObjectMapper mapper;
+
+  /**
+   * @param mapper used to convert beans to json trees and to write values of non-standard nodes.
+   */
+  public CanonicalJsonWriter(ObjectMapper mapper) {
+    this.mapper = requireNonNull(mapper);
+  }
+
+  /**
+   * @param bean the bean to serialize.
+   * @return the canonical json string of the bean.
+   */
+  public String writeValue(Object bean) {
+    return write(mapper.valueToTree(bean));
+  }
+
+  /**
+   * @param node the json content to write.
+   * @return the canonical json string of the node.
+   */
+  public String write(JsonNode node) {
+    StringWriter out = new StringWriter();
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+      write(generator, requireNonNull(node));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to write canonical json", e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Writes the canonical json content of the node as UTF-8 bytes. Intended for hashing the content without
+   * building a string.
+   *
+   * @param node the json content to write.
+   * @param out the target stream. Stays open.
+   * @throws IOException if writing to the stream fails.
+   */
+  public void write(JsonNode node, OutputStream out) throws IOException {
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(out)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      write(generator, requireNonNull(node));
+    }
+  }
+
+  private void write(JsonGenerator generator, JsonNode node) throws IOException {
+    if (node.isObject()) {
+      List<String> names = new ArrayList<>(node.size());
+      for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+        names.add(it.next());
+      }
+      names.sort(null);
+      generator.writeStartObject();
+      for (String name : names) {
+        generator.writeFieldName(name);
+        write(generator, node.get(name));
+      }
+      generator.writeEndObject();
+    } else if (node.isArray()) {
+      generator.writeStartArray();
+      for (JsonNode element : node) {
+        write(generator, element);
+      }
+      generator.writeEndArray();
+    } else if (node.isNumber() && !JsonComparator.isNonFinite(node)) {
+      generator.writeNumber(normalize(node.decimalValue()));
+    } else {
+      mapper.writeTree(generator, node);
+    }
+  }
+
+  /**
+   * Provides a unique representation for each numeric value.
+   */
+  static String normalize(BigDecimal value) {
+    BigDecimal stripped = value.stripTrailingZeros();
+    if (stripped.signum() == 0) {
+      return "0";
+    }
+    if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= MAX_PLAIN_INTEGER_DIGITS) {
+      return stripped.toBigIntegerExact().toString();
+    }
+    return stripped.toString();
+  }
+}
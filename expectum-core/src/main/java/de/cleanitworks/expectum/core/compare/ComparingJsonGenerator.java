@@ -0,0 +1,478 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generator checking each written token against the next token of the expected content.
+ *
+ * <p>The expected parser has to be positioned at the first token of the expected value. Only that value gets read,
+ * so the parser may also be positioned within a larger document. Differences are reported relative to that value.
+ *
+ * <p>Stops the serialization at the first mismatch by throwing a {@link MismatchException}. The written content
+ * is passed to a delegate generator that keeps track of the output structure. It should write to a stream that
+ * discards its content.
+ */
+final class ComparingJsonGenerator extends JsonGeneratorDelegate {
+
+  private static final JsonFactory RAW_VALUE_FACTORY = new JsonFactory();
+
+  private final JsonParser expected;
+
+  /** The path of the expected value within the document of the expected parser. */
+  private final String basePath;
+
+  /** <code>true</code> until the current token of the expected parser got checked. */
+  private boolean atFirstToken = true;
+
+  /** The nesting depth within the expected value. */
+  private int depth;
+
+  ComparingJsonGenerator(JsonGenerator delegate, JsonParser expected) {
+    // no copy method delegation: copied content has to pass the checks of this generator
+    super(delegate, false);
+    this.expected = expected;
+    this.basePath = expected.getParsingContext().pathAsPointer().toString();
+  }
+
+  /**
+   * Checks that the expected content has no more tokens.
+   */
+  void verifyComplete() throws IOException {
+    JsonToken next = nextExpected();
+    if (next != null) {
+      throw mismatch(next, "end of content", null);
+    }
+  }
+
+  @Override
+  public void writeStartArray() throws IOException {
+    check(JsonToken.START_ARRAY);
+    super.writeStartArray();
+  }
+
+  @Override
+  public void writeStartArray(int size) throws IOException {
+    check(JsonToken.START_ARRAY);
+    super.writeStartArray(size);
+  }
+
+  @Override
+  public void writeStartArray(Object forValue) throws IOException {
+    check(JsonToken.START_ARRAY);
+    super.writeStartArray(forValue);
+  }
+
+  @Override
+  public void writeStartArray(Object forValue, int size) throws IOException {
+    check(JsonToken.START_ARRAY);
+    super.writeStartArray(forValue, size);
+  }
+
+  @Override
+  public void writeEndArray() throws IOException {
+    check(JsonToken.END_ARRAY);
+    super.writeEndArray();
+  }
+
+  @Override
+  public void writeStartObject() throws IOException {
+    check(JsonToken.START_OBJECT);
+    super.writeStartObject();
+  }
+
+  @Override
+  public void writeStartObject(Object forValue) throws IOException {
+    check(JsonToken.START_OBJECT);
+    super.writeStartObject(forValue);
+  }
+
+  @Override
+  public void writeStartObject(Object forValue, int size) throws IOException {
+    check(JsonToken.START_OBJECT);
+    super.writeStartObject(forValue, size);
+  }
+
+  @Override
+  public void writeEndObject() throws IOException {
+    check(JsonToken.END_OBJECT);
+    super.writeEndObject();
+  }
+
+  @Override
+  public void writeFieldName(String name) throws IOException {
+    checkText(JsonToken.FIELD_NAME, name);
+    super.writeFieldName(name);
+  }
+
+  @Override
+  public void writeFieldName(SerializableString name) throws IOException {
+    checkText(JsonToken.FIELD_NAME, name.getValue());
+    super.writeFieldName(name);
+  }
+
+  @Override
+  public void writeFieldId(long id) throws IOException {
+    writeFieldName(Long.toString(id));
+  }
+
+  @Override
+  public void writeArray(int[] array, int offset, int length) throws IOException {
+    writeStartArray(array, length);
+    for (int i = offset; i < offset + length; i++) {
+      writeNumber(array[i]);
+    }
+    writeEndArray();
+  }
+
+  @Override
+  public void writeArray(long[] array, int offset, int length) throws IOException {
+    writeStartArray(array, length);
+    for (int i = offset; i < offset + length; i++) {
+      writeNumber(array[i]);
+    }
+    writeEndArray();
+  }
+
+  @Override
+  public void writeArray(double[] array, int offset, int length) throws IOException {
+    writeStartArray(array, length);
+    for (int i = offset; i < offset + length; i++) {
+      writeNumber(array[i]);
+    }
+    writeEndArray();
+  }
+
+  @Override
+  public void writeArray(String[] array, int offset, int length) throws IOException {
+    writeStartArray(array, length);
+    for (int i = offset; i < offset + length; i++) {
+      writeString(array[i]);
+    }
+    writeEndArray();
+  }
+
+  @Override
+  public void writeString(String text) throws IOException {
+    if (text == null) {
+      writeNull();
+      return;
+    }
+    checkText(JsonToken.VALUE_STRING, text);
+    super.writeString(text);
+  }
+
+  @Override
+  public void writeString(Reader reader, int len) throws IOException {
+    StringBuilder text = new StringBuilder();
+    char[] buffer = new char[1024];
+    while (len < 0 || text.length() < len) {
+      int read = reader.read(buffer, 0, len < 0 ? buffer.length : Math.min(buffer.length, len - text.length()));
+      if (read < 0) {
+        break;
+      }
+      text.append(buffer, 0, read);
+    }
+    writeString(text.toString());
+  }
+
+  @Override
+  public void writeString(char[] text, int offset, int len) throws IOException {
+    writeString(new String(text, offset, len));
+  }
+
+  @Override
+  public void writeString(SerializableString text) throws IOException {
+    writeString(text.getValue());
+  }
+
+  @Override
+  public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+    writeString(new String(text, offset, length, UTF_8));
+  }
+
+  @Override
+  public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+    writeString(new String(text, offset, length, UTF_8));
+  }
+
+  @Override
+  public void writeRawValue(String text) throws IOException {
+    try (JsonParser raw = RAW_VALUE_FACTORY.createParser(text)) {
+      while (raw.nextToken() != null) {
+        copyCurrentEvent(raw);
+      }
+    }
+  }
+
+  @Override
+  public void writeRawValue(String text, int offset, int len) throws IOException {
+    writeRawValue(text.substring(offset, offset + len));
+  }
+
+  @Override
+  public void writeRawValue(char[] text, int offset, int len) throws IOException {
+    writeRawValue(new String(text, offset, len));
+  }
+
+  @Override
+  public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len) throws IOException {
+    writeString(b64variant.encode(Arrays.copyOfRange(data, offset, offset + len)));
+  }
+
+  @Override
+  public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength) throws IOException {
+    byte[] bytes = dataLength < 0 ? data.readAllBytes() : data.readNBytes(dataLength);
+    writeBinary(b64variant, bytes, 0, bytes.length);
+    return bytes.length;
+  }
+
+  @Override
+  public void writeNumber(short v) throws IOException {
+    checkNumber(BigDecimal.valueOf(v));
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(int v) throws IOException {
+    checkNumber(BigDecimal.valueOf(v));
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(long v) throws IOException {
+    checkNumber(BigDecimal.valueOf(v));
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(BigInteger v) throws IOException {
+    if (v == null) {
+      writeNull();
+      return;
+    }
+    checkNumber(new BigDecimal(v));
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(double v) throws IOException {
+    if (!Double.isFinite(v)) {
+      checkNonFinite(Double.toString(v));
+    } else {
+      checkNumber(BigDecimal.valueOf(v));
+    }
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(float v) throws IOException {
+    if (!Float.isFinite(v)) {
+      checkNonFinite(Float.toString(v));
+    } else {
+      checkNumber(new BigDecimal(Float.toString(v)));
+    }
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(BigDecimal v) throws IOException {
+    if (v == null) {
+      writeNull();
+      return;
+    }
+    checkNumber(v);
+    super.writeNumber(v);
+  }
+
+  @Override
+  public void writeNumber(String encodedValue) throws IOException {
+    if (encodedValue == null) {
+      writeNull();
+      return;
+    }
+    try {
+      checkNumber(new BigDecimal(encodedValue));
+    } catch (NumberFormatException e) {
+      checkNonFinite(encodedValue);
+    }
+    super.writeNumber(encodedValue);
+  }
+
+  @Override
+  public void writeNumber(char[] encodedValue, int offset, int len) throws IOException {
+    writeNumber(new String(encodedValue, offset, len));
+  }
+
+  @Override
+  public void writeBoolean(boolean state) throws IOException {
+    check(state ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE);
+    super.writeBoolean(state);
+  }
+
+  @Override
+  public void writeNull() throws IOException {
+    check(JsonToken.VALUE_NULL);
+    super.writeNull();
+  }
+
+  @Override
+  public void writeEmbeddedObject(Object object) throws IOException {
+    if (object == null) {
+      writeNull();
+    } else if (object instanceof byte[]) {
+      writeBinary((byte[]) object);
+    } else {
+      super.writeEmbeddedObject(object);
+    }
+  }
+
+  /**
+   * @return the next token of the expected value. <code>null</code> behind the value.
+   */
+  private JsonToken nextExpected() throws IOException {
+    JsonToken token;
+    if (atFirstToken) {
+      atFirstToken = false;
+      token = expected.currentToken();
+    } else if (depth == 0) {
+      return null;
+    } else {
+      token = expected.nextToken();
+    }
+    if (token != null && token.isStructStart()) {
+      depth++;
+    } else if (token != null && token.isStructEnd()) {
+      depth--;
+    }
+    return token;
+  }
+
+  private void check(JsonToken actual) throws IOException {
+    JsonToken token = nextExpected();
+    if (token != actual) {
+      throw mismatch(token, describe(actual, null), null);
+    }
+  }
+
+  private void checkText(JsonToken actual, String text) throws IOException {
+    JsonToken token = nextExpected();
+    if (token != actual || !expected.getText().equals(text)) {
+      throw mismatch(token, describe(actual, text), actual == JsonToken.FIELD_NAME ? text : null);
+    }
+  }
+
+  private void checkNumber(BigDecimal value) throws IOException {
+    JsonToken token = nextExpected();
+    if (token == null || !token.isNumeric() || !isFinite(token)
+          || expected.getDecimalValue().compareTo(value) != 0) {
+      throw mismatch(token, value.toString(), null);
+    }
+  }
+
+  /**
+   * NaN and infinity get written as string or as non-standard number.
+   */
+  private void checkNonFinite(String value) throws IOException {
+    JsonToken token = nextExpected();
+    if (token == null || !value.equals(expected.getText())) {
+      throw mismatch(token, value, null);
+    }
+  }
+
+  private boolean isFinite(JsonToken token) throws IOException {
+    return token != JsonToken.VALUE_NUMBER_FLOAT || !expected.isNaN();
+  }
+
+  private MismatchException mismatch(JsonToken expectedToken, String actualDescription, String actualFieldName)
+        throws IOException {
+    return new MismatchException(new JsonDifference(path(expectedToken, actualFieldName),
+          "expected " + describeExpected(expectedToken) + " but was " + actualDescription));
+  }
+
+  /**
+   * Provides the path of the expected token. If the expected content ends at this position, the expected parser
+   * has already left it. The path gets evaluated from the output context in that case.
+   */
+  private String path(JsonToken expectedToken, String actualFieldName) {
+    if (expectedToken != null && !expectedToken.isStructEnd()) {
+      String path = expected.getParsingContext().pathAsPointer().toString();
+      return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+    JsonStreamContext context = getOutputContext();
+    String parentPath = context.getParent() != null ? context.getParent().pathAsPointer().toString() : "";
+    if (context.inArray()) {
+      return parentPath + "/" + (context.getCurrentIndex() + 1);
+    }
+    if (context.inObject() && actualFieldName != null) {
+      return parentPath + "/" + JsonComparator.escape(actualFieldName);
+    }
+    return parentPath;
+  }
+
+  private String describeExpected(JsonToken token) throws IOException {
+    if (token == null) {
+      return "end of content";
+    }
+    return describe(token, token.isScalarValue() || token == JsonToken.FIELD_NAME ? expected.getText() : null);
+  }
+
+  private static String describe(JsonToken token, String text) {
+    switch (token) {
+      case START_OBJECT:
+        return "{";
+      case END_OBJECT:
+        return "}";
+      case START_ARRAY:
+        return "[";
+      case END_ARRAY:
+        return "]";
+      case FIELD_NAME:
+        return "field \"" + abbreviate(text) + "\"";
+      case VALUE_STRING:
+        return "\"" + abbreviate(text) + "\"";
+      default:
+        return text != null ? text : token.asString();
+    }
+  }
+
+  private static String abbreviate(String text) {
+    return text.length() <= JsonDifference.MAX_VALUE_LENGTH
+          ? text
+          : text.substring(0, JsonDifference.MAX_VALUE_LENGTH) + "...";
+  }
+
+  /**
+   * Stops the serialization at the first difference.
+   */
+  static final class MismatchException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient JsonDifference difference;
+
+    MismatchException(JsonDifference difference) {
+      super(difference.toString());
+      this.difference = difference;
+    }
+
+    JsonDifference getDifference() {
+      return difference;
+    }
+  }
+}
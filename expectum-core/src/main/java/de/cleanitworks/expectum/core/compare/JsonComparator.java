@@ -0,0 +1,337 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compares json trees and reports the differences together with their json pointer paths.
+ *
+ * <p>Works directly on Jackson trees. The comparison stops as soon as the maximum number of differences is found.
+ * That way reporting differences of large documents stays cheap.
+ *
+ * <p>Numbers are compared by value. E.g. <code>1</code> equals <code>1.0</code>.
+ */
+public final class JsonComparator {
+
+  private final JsonCompareMode mode;
+  private final int maxDifferences;
+
+  /** Checks array elements for equality in unordered mode. Created on demand. */
+  private JsonComparator elementMatcher;
+
+  /**
+   * @param mode defines how strict the content gets compared.
+   * @param maxDifferences the comparison stops after that number of differences.
+   */
+  public JsonComparator(JsonCompareMode mode, int maxDifferences) {
+    if (maxDifferences < 1) {
+      throw new IllegalArgumentException("maxDifferences should be positive, but was: " + maxDifferences);
+    }
+    this.mode = requireNonNull(mode);
+    this.maxDifferences = maxDifferences;
+  }
+
+  public JsonCompareMode getMode() {
+    return mode;
+  }
+
+  /**
+   * @param expected the expected content.
+   * @param actual the content to verify.
+   * @return the comparison result.
+   */
+  public JsonComparison compare(JsonNode expected, JsonNode actual) {
+    List<JsonDifference> differences = new ArrayList<>();
+    compare("", requireNonNull(expected), requireNonNull(actual), differences);
+    return new JsonComparison(differences, differences.size() >= maxDifferences);
+  }
+
+  private void compare(String path, JsonNode expected, JsonNode actual, List<JsonDifference> differences) {
+    if (expected.isObject() && actual.isObject()) {
+      compareObjects(path, expected, actual, differences);
+    } else if (expected.isArray() && actual.isArray()) {
+      compareArrays(path, expected, actual, differences);
+    } else if (expected.isNumber() && actual.isNumber()) {
+      if (!numbersEqual(expected, actual)) {
+        add(differences, JsonDifference.valueDiffers(path, expected, actual));
+      }
+    } else if (!expected.equals(actual)) {
+      add(differences, JsonDifference.valueDiffers(path, expected, actual));
+    }
+  }
+
+  private void compareObjects(String path, JsonNode expected, JsonNode actual, List<JsonDifference> differences) {
+    Iterator<Map.Entry<String, JsonNode>> expectedFields = expected.fields();
+    while (expectedFields.hasNext() && !isFull(differences)) {
+      Map.Entry<String, JsonNode> field = expectedFields.next();
+      String fieldPath = path + "/" + escape(field.getKey());
+      JsonNode actualValue = actual.get(field.getKey());
+      if (actualValue == null) {
+        add(differences, JsonDifference.missing(fieldPath, "field", field.getValue()));
+      } else {
+        compare(fieldPath, field.getValue(), actualValue, differences);
+      }
+    }
+
+    if (mode.isExtensible()) {
+      return;
+    }
+    Iterator<Map.Entry<String, JsonNode>> actualFields = actual.fields();
+    while (actualFields.hasNext() && !isFull(differences)) {
+      Map.Entry<String, JsonNode> field = actualFields.next();
+      if (!expected.has(field.getKey())) {
+        add(differences, JsonDifference.unexpected(path + "/" + escape(field.getKey()), "field", field.getValue()));
+      }
+    }
+  }
+
+  private void compareArrays(String path, JsonNode expected, JsonNode actual, List<JsonDifference> differences) {
+    if (mode.isStrictOrder()) {
+      compareOrderedArrays(path, expected, actual, differences);
+    } else {
+      compareUnorderedArrays(path, expected, actual, differences);
+    }
+  }
+
+  private void compareOrderedArrays(String path, JsonNode expected, JsonNode actual,
+        List<JsonDifference> differences) {
+    int commonSize = Math.min(expected.size(), actual.size());
+    for (int i = 0; i < commonSize && !isFull(differences); i++) {
+      compare(path + "/" + i, expected.get(i), actual.get(i), differences);
+    }
+    for (int i = commonSize; i < expected.size() && !isFull(differences); i++) {
+      add(differences, JsonDifference.missing(path + "/" + i, "element", expected.get(i)));
+    }
+    for (int i = commonSize; i < actual.size() && !isFull(differences); i++) {
+      add(differences, JsonDifference.unexpected(path + "/" + i, "element", actual.get(i)));
+    }
+  }
+
+  /**
+   * Each expected element needs a matching actual element. Elements that have no partner get reported with the
+   * index within their own array.
+   *
+   * <p>The arrays are matched as multisets: The actual elements get grouped by their structural hash. Each
+   * expected element only gets compared with the actual elements of its own group. That keeps the matching
+   * roughly linear, even for huge arrays. Extensible objects may match without having the same hash. In
+   * extensible mode the remaining actual objects get therefore indexed by their scalar fields. A matching actual
+   * object has all scalar fields of the expected object. So each remaining expected object only gets compared with
+   * the actual objects sharing its most selective scalar field. Other remaining elements get compared pairwise.
+   */
+  private void compareUnorderedArrays(String path, JsonNode expected, JsonNode actual,
+        List<JsonDifference> differences) {
+    Map<Long, ArrayDeque<Integer>> actualByHash = new HashMap<>();
+    for (int a = 0; a < actual.size(); a++) {
+      actualByHash.computeIfAbsent(hash(actual.get(a)), h -> new ArrayDeque<>()).add(a);
+    }
+
+    BitSet matchedActual = new BitSet(actual.size());
+    List<Integer> unmatchedExpected = new ArrayList<>();
+    for (int e = 0; e < expected.size(); e++) {
+      int match = findMatch(expected.get(e), actual, actualByHash.get(hash(expected.get(e))));
+      if (match < 0) {
+        unmatchedExpected.add(e);
+      } else {
+        matchedActual.set(match);
+      }
+    }
+
+    if (mode.isExtensible() && !unmatchedExpected.isEmpty() && matchedActual.cardinality() < actual.size()) {
+      Map<String, Map<Long, List<Integer>>> actualByScalarField = indexScalarFields(actual, matchedActual);
+      unmatchedExpected.removeIf(e -> {
+        if (expected.get(e).isValueNode()) {
+          // scalars match only by equal hash
+          return false;
+        }
+        List<Integer> candidates = scalarFieldCandidates(expected.get(e), actualByScalarField);
+        int match = candidates != null
+              ? findMatch(expected.get(e), actual, candidates, matchedActual)
+              : findMatch(expected.get(e), actual, matchedActual);
+        if (match >= 0) {
+          matchedActual.set(match);
+        }
+        return match >= 0;
+      });
+    }
+
+    for (int e : unmatchedExpected) {
+      if (isFull(differences)) {
+        return;
+      }
+      add(differences, JsonDifference.missing(path + "/" + e, "element", expected.get(e)));
+    }
+    for (int a = matchedActual.nextClearBit(0); a < actual.size() && !isFull(differences);
+          a = matchedActual.nextClearBit(a + 1)) {
+      add(differences, JsonDifference.unexpected(path + "/" + a, "element", actual.get(a)));
+    }
+  }
+
+  /**
+   * Takes the first matching element out of the candidates with the same hash.
+   */
+  private int findMatch(JsonNode expectedElement, JsonNode actual, ArrayDeque<Integer> candidates) {
+    if (candidates == null) {
+      return -1;
+    }
+    for (Iterator<Integer> it = candidates.iterator(); it.hasNext(); ) {
+      int a = it.next();
+      if (matches(expectedElement, actual.get(a))) {
+        it.remove();
+        return a;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Takes the first matching element out of the candidates not matched yet.
+   */
+  private int findMatch(JsonNode expectedElement, JsonNode actual, List<Integer> candidates,
+        BitSet matchedActual) {
+    for (int a : candidates) {
+      if (!matchedActual.get(a) && matches(expectedElement, actual.get(a))) {
+        return a;
+      }
+    }
+    return -1;
+  }
+
+  private int findMatch(JsonNode expectedElement, JsonNode actual, BitSet matchedActual) {
+    for (int a = matchedActual.nextClearBit(0); a < actual.size(); a = matchedActual.nextClearBit(a + 1)) {
+      if (matches(expectedElement, actual.get(a))) {
+        return a;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return the indexes of the unmatched actual objects by field name and hash of the scalar field value.
+   */
+  private Map<String, Map<Long, List<Integer>>> indexScalarFields(JsonNode actual, BitSet matchedActual) {
+    Map<String, Map<Long, List<Integer>>> index = new HashMap<>();
+    for (int a = matchedActual.nextClearBit(0); a < actual.size(); a = matchedActual.nextClearBit(a + 1)) {
+      int element = a;
+      for (Iterator<Map.Entry<String, JsonNode>> it = actual.get(a).fields(); it.hasNext(); ) {
+        Map.Entry<String, JsonNode> field = it.next();
+        if (field.getValue().isValueNode()) {
+          index.computeIfAbsent(field.getKey(), k -> new HashMap<>())
+                .computeIfAbsent(hash(field.getValue()), h -> new ArrayList<>())
+                .add(element);
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return the actual objects having the most selective scalar field of the expected element.
+   *     <code>null</code> if the expected element is no object having scalar fields.
+   */
+  private List<Integer> scalarFieldCandidates(JsonNode expectedElement,
+        Map<String, Map<Long, List<Integer>>> actualByScalarField) {
+    List<Integer> candidates = null;
+    for (Iterator<Map.Entry<String, JsonNode>> it = expectedElement.fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> field = it.next();
+      if (field.getValue().isValueNode()) {
+        List<Integer> fieldCandidates = actualByScalarField.getOrDefault(field.getKey(), Map.of())
+              .getOrDefault(hash(field.getValue()), List.of());
+        if (candidates == null || fieldCandidates.size() < candidates.size()) {
+          candidates = fieldCandidates;
+        }
+      }
+    }
+    return candidates;
+  }
+
+  private boolean matches(JsonNode expected, JsonNode actual) {
+    if (elementMatcher == null) {
+      elementMatcher = maxDifferences == 1 ? this : new JsonComparator(mode, 1);
+    }
+    List<JsonDifference> differences = new ArrayList<>(1);
+    elementMatcher.compare("", expected, actual, differences);
+    return differences.isEmpty();
+  }
+
+  /**
+   * Provides a hash that is equal for nodes that are equal in the sense of this comparator, ignoring the
+   * extensibility of objects. Field order and, in unordered mode, element order do not change the hash.
+   */
+  private long hash(JsonNode node) {
+    long h = node.getNodeType().ordinal();
+    if (node.isObject()) {
+      long fields = 0;
+      for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+        Map.Entry<String, JsonNode> field = it.next();
+        fields += mix(field.getKey().hashCode() * 31L + hash(field.getValue()));
+      }
+      return mix(h * 31 + fields);
+    }
+    if (node.isArray()) {
+      long elements = 0;
+      for (JsonNode element : node) {
+        elements = mode.isStrictOrder() ? elements * 31 + hash(element) : elements + mix(hash(element));
+      }
+      return mix(h * 31 + elements);
+    }
+    if (node.isNumber()) {
+      // numbers are compared by value: 1 and 1.0 need the same hash
+      return isNonFinite(node)
+            ? Double.hashCode(node.doubleValue())
+            : node.decimalValue().stripTrailingZeros().hashCode();
+    }
+    return h * 31 + node.hashCode();
+  }
+
+  /**
+   * Spreads the bits of a hash, so that sums of element hashes do not collide easily.
+   */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private boolean isFull(List<JsonDifference> differences) {
+    return differences.size() >= maxDifferences;
+  }
+
+  private void add(List<JsonDifference> differences, JsonDifference difference) {
+    if (!isFull(differences)) {
+      differences.add(difference);
+    }
+  }
+
+  static boolean numbersEqual(JsonNode expected, JsonNode actual) {
+    if (isNonFinite(expected) || isNonFinite(actual)) {
+      return Double.compare(expected.doubleValue(), actual.doubleValue()) == 0;
+    }
+    BigDecimal expectedValue = expected.decimalValue();
+    return expectedValue.compareTo(actual.decimalValue()) == 0;
+  }
+
+  static boolean isNonFinite(JsonNode number) {
+    return (number.isDouble() || number.isFloat()) && !Double.isFinite(number.doubleValue());
+  }
+
+  /**
+   * Escapes a field name as json pointer segment.
+   */
+  static String escape(String fieldName) {
+    if (fieldName.indexOf('~') < 0 && fieldName.indexOf('/') < 0) {
+      return fieldName;
+    }
+    return fieldName.replace("~", "~0").replace("/", "~1");
+  }
+}
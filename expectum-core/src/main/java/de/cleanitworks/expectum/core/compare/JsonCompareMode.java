@@ -0,0 +1,51 @@
+package de.cleanitworks.expectum.core.compare;
+
+/**
+ * Defines how strict actual json content gets compared to expected json content.
+ *
+ * <p>The modes correspond to the JSONAssert compare modes.
+ */
+public enum JsonCompareMode {
+
+  /**
+   * No additional object fields. Arrays in the expected order.
+   */
+  STRICT(false, true),
+
+  /**
+   * Additional object fields are allowed. Arrays may have any order.
+   */
+  LENIENT(true, false),
+
+  /**
+   * No additional object fields. Arrays may have any order.
+   */
+  NON_EXTENSIBLE(false, false),
+
+  /**
+   * Additional object fields are allowed. Arrays in the expected order.
+   */
+  STRICT_ORDER(true, true);
+
+  private final boolean extensible;
+  private final boolean strictOrder;
+
+  JsonCompareMode(boolean extensible, boolean strictOrder) {
+    this.extensible = extensible;
+    this.strictOrder = strictOrder;
+  }
+
+  /**
+   * @return <code>true</code> if actual objects may contain fields that are not expected.
+   */
+  public boolean isExtensible() {
+    return extensible;
+  }
+
+  /**
+   * @return <code>true</code> if actual array elements have to be in the expected order.
+   */
+  public boolean isStrictOrder() {
+    return strictOrder;
+  }
+}
@@ -0,0 +1,56 @@
+package de.cleanitworks.expectum.core.compare;
+
+import java.util.List;
+
+/**
+ * Result of a {@link JsonComparator} run.
+ */
+public final class JsonComparison {
+
+  private final List<JsonDifference> differences;
+  private final boolean limitReached;
+
+  JsonComparison(List<JsonDifference> differences, boolean limitReached) {
+    this.differences = List.copyOf(differences);
+    this.limitReached = limitReached;
+  }
+
+  public boolean isEqual() {
+    return differences.isEmpty();
+  }
+
+  /**
+   * @return the found differences in document order. Limited to the maximum number of differences of the
+   *     comparator.
+   */
+  public List<JsonDifference> getDifferences() {
+    return differences;
+  }
+
+  /**
+   * @return <code>true</code> if the comparison was stopped because the maximum number of differences was found.
+   */
+  public boolean isLimitReached() {
+    return limitReached;
+  }
+
+  /**
+   * @return a report listing the differences. One per line.
+   */
+  @Override
+  public String toString() {
+    if (isEqual()) {
+      return "Json content is equal.";
+    }
+    StringBuilder report = new StringBuilder("Json content differs");
+    if (!limitReached) {
+      report.append(":");
+    } else if (differences.size() == 1) {
+      report.append(" (stopped at the first difference):");
+    } else {
+      report.append(" (stopped after ").append(differences.size()).append(" differences):");
+    }
+    differences.forEach(d -> report.append("\n  ").append(d));
+    return report.toString();
+  }
+}
@@ -0,0 +1,113 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A single difference between expected and actual json content.
+ */
+public final class JsonDifference {
+
+  /** Longer values get abbreviated in the difference description. */
+  static final int MAX_VALUE_LENGTH = 80;
+
+  private static final ObjectWriter NODE_WRITER = new ObjectMapper().writer();
+
+  private final String path;
+  private final String message;
+
+  JsonDifference(String path, String message) {
+    this.path = requireNonNull(path);
+    this.message = requireNonNull(message);
+  }
+
+  static JsonDifference valueDiffers(String path, JsonNode expected, JsonNode actual) {
+    return new JsonDifference(path, "expected " + describe(expected) + " but was " + describe(actual));
+  }
+
+  static JsonDifference missing(String path, String kind, JsonNode expected) {
+    return new JsonDifference(path, "missing " + kind + " " + describe(expected));
+  }
+
+  static JsonDifference unexpected(String path, String kind, JsonNode actual) {
+    return new JsonDifference(path, "unexpected " + kind + " " + describe(actual));
+  }
+
+  /**
+   * @return the json pointer of the differing node. An empty string for the root node.
+   */
+  public String getPath() {
+    return path;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public String toString() {
+    return (path.isEmpty() ? "(root)" : path) + ": " + message;
+  }
+
+  /**
+   * Serializes only the beginning of large nodes, up to the buffer size of the generator.
+   */
+  static String describe(JsonNode node) {
+    BoundedWriter out = new BoundedWriter(MAX_VALUE_LENGTH + 1);
+    try {
+      NODE_WRITER.writeValue(out, node);
+    } catch (IOException e) {
+      if (!out.isFull()) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    String text = out.toString();
+    return text.length() <= MAX_VALUE_LENGTH ? text : text.substring(0, MAX_VALUE_LENGTH) + "...";
+  }
+
+  /**
+   * Stops the serialization as soon as the limit is reached.
+   */
+  private static final class BoundedWriter extends Writer {
+    private final StringBuilder text = new StringBuilder();
+    private final int limit;
+
+    private BoundedWriter(int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      if (isFull()) {
+        throw new IOException("Length limit reached.");
+      }
+      text.append(cbuf, off, Math.min(len, limit - text.length()));
+    }
+
+    private boolean isFull() {
+      return text.length() >= limit;
+    }
+
+    @Override
+    public void flush() {
+      // nothing buffered
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+
+    @Override
+    public String toString() {
+      return text.toString();
+    }
+  }
+}
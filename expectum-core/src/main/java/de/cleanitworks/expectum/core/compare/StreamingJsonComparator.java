@@ -0,0 +1,85 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compares the serialization of a bean against expected json content while the bean gets serialized.
+ *
+ * <p>Each token written by the serializers gets checked against the next expected token. The serialization stops
+ * at the first mismatch. The json string of the bean never gets built. That way even huge object graphs can be
+ * verified with a small heap. The expected content may be streamed from a fixture file as well.
+ *
+ * <p>The comparison is strict: Same field order, no additional fields and arrays in the expected order.
+ * Numbers are compared by value.
+ */
+public final class StreamingJsonComparator {
+
+  private final ObjectMapper mapper;
+
+  /**
+   * @param mapper the mapper used to serialize the beans.
+   */
+  public StreamingJsonComparator(ObjectMapper mapper) {
+    this.mapper = requireNonNull(mapper);
+  }
+
+  /**
+   * @param expected the expected content.
+   * @param bean the bean to serialize and verify.
+   * @return the comparison result, containing at most the first difference.
+   */
+  public JsonComparison compare(JsonNode expected, Object bean) {
+    try (JsonParser expectedTokens = expected.traverse()) {
+      expectedTokens.nextToken();
+      return compare(expectedTokens, bean);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Compares against expected content read from a parser. That way the expected content doesn't need to be
+   * materialized either.
+   *
+   * @param expected positioned at the first token of the expected value, e.g. within a fixture file. Only that value
+   *     gets read. The parser does not get closed.
+   * @param bean the bean to serialize and verify.
+   * @return the comparison result, containing at most the first difference.
+   */
+  public JsonComparison compare(JsonParser expected, Object bean) {
+    try (JsonGenerator sink = mapper.getFactory().createGenerator(OutputStream.nullOutputStream());
+         ComparingJsonGenerator generator = new ComparingJsonGenerator(sink, expected)) {
+      mapper.writeValue(generator, bean);
+      generator.verifyComplete();
+      return new JsonComparison(List.of(), false);
+    } catch (IOException e) {
+      ComparingJsonGenerator.MismatchException mismatch = findMismatch(e);
+      if (mismatch == null) {
+        throw new IllegalArgumentException("Unable to serialize json: " + bean, e);
+      }
+      return new JsonComparison(List.of(mismatch.getDifference()), true);
+    }
+  }
+
+  /**
+   * Serializers may wrap the exception thrown by the generator.
+   */
+  private static ComparingJsonGenerator.MismatchException findMismatch(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof ComparingJsonGenerator.MismatchException) {
+        return (ComparingJsonGenerator.MismatchException) t;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,14 @@
+package de.cleanitworks.expectum.core.format;
+
+/**
+ * Binary <a href="https://cbor.io/">CBOR</a> files. E.g. <code>MyTest.cbor</code>. Requires
+ * <code>com.fasterxml.jackson.dataformat:jackson-dataformat-cbor</code>.
+ */
+public class CborFixtureFormat extends DataformatFixtureFormat {
+
+  public static final String EXTENSION = "cbor";
+
+  public CborFixtureFormat() {
+    super(EXTENSION, "com.fasterxml.jackson.dataformat.cbor.CBORFactory");
+  }
+}
@@ -0,0 +1,38 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Format provided by a Jackson dataformat module. Available only if the module is on the classpath. Expectum itself
+ * does not depend on these modules.
+ */
+public abstract class DataformatFixtureFormat implements FixtureFormat {
+
+  private final String extension;
+  private final String factoryClassName;
+
+  /**
+   * @param extension the file extension without leading dot.
+   * @param factoryClassName the {@link JsonFactory} implementation of the dataformat module.
+   */
+  protected DataformatFixtureFormat(String extension, String factoryClassName) {
+    this.extension = extension;
+    this.factoryClassName = factoryClassName;
+  }
+
+  @Override
+  public String getExtension() {
+    return extension;
+  }
+
+  @Override
+  public JsonFactory createFactory() {
+    try {
+      return (JsonFactory) Class.forName(factoryClassName, true, getClass().getClassLoader())
+            .getConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // the dataformat module is missing
+      return null;
+    }
+  }
+}
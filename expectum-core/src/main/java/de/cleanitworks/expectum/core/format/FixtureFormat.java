@@ -0,0 +1,27 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * File format of fixture files. Maps a file extension to the Jackson factory parsing such files.
+ *
+ * <p>Implementations get discovered by the {@link java.util.ServiceLoader}. Additional formats get registered by a
+ * file <code>META-INF/services/de.cleanitworks.expectum.core.format.FixtureFormat</code> listing the implementation
+ * classes. The built-in formats are json, hjson, JSON Lines, Smile, CBOR and XML. The latter three are available
+ * only if the related Jackson dataformat module is on the classpath.
+ */
+public interface FixtureFormat {
+
+  /**
+   * @return the file extension without leading dot. E.g. <code>json</code> for files like <code>MyTest.json</code>.
+   */
+  String getExtension();
+
+  /**
+   * Gets called once, when the formats get loaded.
+   *
+   * @return the factory creating the parsers of the format. <code>null</code> if the format is not available,
+   *     e.g. because a required Jackson dataformat module is missing on the classpath.
+   */
+  JsonFactory createFactory();
+}
@@ -0,0 +1,22 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import de.cleanitworks.expectum.core.hjson.HjsonFactory;
+
+/**
+ * <a href="https://hjson.github.io/">Hjson</a> files. E.g. <code>MyTest.hjson</code>.
+ */
+public class HjsonFixtureFormat implements FixtureFormat {
+
+  public static final String EXTENSION = "hjson";
+
+  @Override
+  public String getExtension() {
+    return EXTENSION;
+  }
+
+  @Override
+  public JsonFactory createFactory() {
+    return new HjsonFactory();
+  }
+}
@@ -0,0 +1,23 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Plain json files. E.g. <code>MyTest.json</code>.
+ *
+ * <p>The delegate parses json files by the factory of its resource file mapper, so that mapper features apply.
+ */
+public class JsonFixtureFormat implements FixtureFormat {
+
+  public static final String EXTENSION = "json";
+
+  @Override
+  public String getExtension() {
+    return EXTENSION;
+  }
+
+  @Override
+  public JsonFactory createFactory() {
+    return new JsonFactory();
+  }
+}
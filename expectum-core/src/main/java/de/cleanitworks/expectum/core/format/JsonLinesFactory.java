@@ -0,0 +1,172 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.IOContext;
+import de.cleanitworks.expectum.core.hjson.DataInputAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Jackson factory reading <a href="https://jsonlines.org/">JSON Lines</a> content as a json array having one
+ * element per line. Blank lines are skipped.
+ *
+ * <p>The lines get parsed by the regular json parser. Reported line numbers match the lines of the source. Byte input
+ * is expected to be UTF-8 encoded. Generators created by this factory write plain json.
+ */
+public class JsonLinesFactory extends JsonFactory {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String FORMAT_NAME_JSON_LINES = "JSON Lines";
+
+  public JsonLinesFactory() {
+    super();
+  }
+
+  public JsonLinesFactory(ObjectCodec codec) {
+    super(codec);
+  }
+
+  protected JsonLinesFactory(JsonLinesFactory src, ObjectCodec codec) {
+    super(src, codec);
+  }
+
+  @Override
+  public JsonLinesFactory copy() {
+    _checkInvalidCopy(JsonLinesFactory.class);
+    return new JsonLinesFactory(this, null);
+  }
+
+  @Override
+  public String getFormatName() {
+    return FORMAT_NAME_JSON_LINES;
+  }
+
+  @Override
+  public boolean canUseCharArrays() {
+    return false;
+  }
+
+  @Override
+  protected JsonParser _createParser(InputStream in, IOContext ctxt) throws IOException {
+    return _createParser(new InputStreamReader(in, UTF_8), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(Reader r, IOContext ctxt) throws IOException {
+    return super._createParser(new LinesAsArrayReader(r), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(char[] data, int offset, int len, IOContext ctxt, boolean recyclable)
+        throws IOException {
+    return _createParser(new CharArrayReader(data, offset, len), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(byte[] data, int offset, int len, IOContext ctxt) throws IOException {
+    return _createParser(new ByteArrayInputStream(data, offset, len), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(DataInput input, IOContext ctxt) throws IOException {
+    return _createParser(new DataInputAdapter(input), ctxt);
+  }
+
+  /**
+   * Provides the lines of the wrapped reader enclosed in brackets and separated by commas. The commas get placed at
+   * the beginning of the next value line, so that the line numbers stay unchanged.
+   */
+  static final class LinesAsArrayReader extends Reader {
+    private static final int EOF = -1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPtr;
+    private int bufferEnd;
+    private final StringBuilder pending = new StringBuilder("[");
+    private int pendingPos;
+    private boolean valueWritten;
+    private boolean eof;
+
+    LinesAsArrayReader(Reader in) {
+      this.in = in;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      while (pendingPos == pending.length()) {
+        if (eof) {
+          return EOF;
+        }
+        pending.setLength(0);
+        pendingPos = 0;
+        readLine();
+      }
+      int count = Math.min(len, pending.length() - pendingPos);
+      pending.getChars(pendingPos, pendingPos + count, cbuf, off);
+      pendingPos += count;
+      return count;
+    }
+
+    /**
+     * Appends the next line, including its line break, or the closing bracket to the pending characters.
+     */
+    private void readLine() throws IOException {
+      int start = pending.length();
+      boolean blank = true;
+      for (int c = nextChar(); ; c = nextChar()) {
+        if (c == EOF) {
+          eof = true;
+          break;
+        }
+        if (c == '\n') {
+          break;
+        }
+        if (blank && !Character.isWhitespace(c)) {
+          blank = false;
+          if (valueWritten) {
+            pending.append(',');
+          }
+          valueWritten = true;
+        }
+        pending.append((char) c);
+      }
+      if (blank) {
+        pending.setLength(start);
+      }
+      pending.append(eof ? "]" : "\n");
+    }
+
+    private int nextChar() throws IOException {
+      if (bufferPtr == bufferEnd) {
+        bufferEnd = in.read(buffer);
+        bufferPtr = 0;
+        if (bufferEnd <= 0) {
+          bufferEnd = 0;
+          return EOF;
+        }
+      }
+      return buffer[bufferPtr++];
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
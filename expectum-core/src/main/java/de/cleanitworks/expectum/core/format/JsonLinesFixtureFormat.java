@@ -0,0 +1,25 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * <a href="https://jsonlines.org/">JSON Lines</a> files having one json value per line. E.g.
+ * <code>MyTest.jsonl</code>.
+ *
+ * <p>The lines are read as a json array (see {@link JsonLinesFactory}). E.g. the pointer <code>/2/name</code> refers
+ * to the field <code>name</code> of the third line.
+ */
+public class JsonLinesFixtureFormat implements FixtureFormat {
+
+  public static final String EXTENSION = "jsonl";
+
+  @Override
+  public String getExtension() {
+    return EXTENSION;
+  }
+
+  @Override
+  public JsonFactory createFactory() {
+    return new JsonLinesFactory();
+  }
+}
@@ -0,0 +1,14 @@
+package de.cleanitworks.expectum.core.format;
+
+/**
+ * Binary <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> files. E.g.
+ * <code>MyTest.smile</code>. Requires <code>com.fasterxml.jackson.dataformat:jackson-dataformat-smile</code>.
+ */
+public class SmileFixtureFormat extends DataformatFixtureFormat {
+
+  public static final String EXTENSION = "smile";
+
+  public SmileFixtureFormat() {
+    super(EXTENSION, "com.fasterxml.jackson.dataformat.smile.SmileFactory");
+  }
+}
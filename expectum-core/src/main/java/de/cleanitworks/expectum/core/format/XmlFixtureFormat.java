@@ -0,0 +1,17 @@
+package de.cleanitworks.expectum.core.format;
+
+/**
+ * XML files. E.g. <code>MyTest.xml</code>. Requires
+ * <code>com.fasterxml.jackson.dataformat:jackson-dataformat-xml</code>.
+ *
+ * <p>The root element stands for the root object of the fixture. Element values are read as text, repeated elements
+ * as arrays.
+ */
+public class XmlFixtureFormat extends DataformatFixtureFormat {
+
+  public static final String EXTENSION = "xml";
+
+  public XmlFixtureFormat() {
+    super(EXTENSION, "com.fasterxml.jackson.dataformat.xml.XmlFactory");
+  }
+}
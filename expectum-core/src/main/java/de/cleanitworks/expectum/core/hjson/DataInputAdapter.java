@@ -0,0 +1,33 @@
+package de.cleanitworks.expectum.core.hjson;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the bytes of a {@link DataInput}. Allows factories of text based formats to accept a <code>DataInput</code>
+ * like any other byte source.
+ */
+public final class DataInputAdapter extends InputStream {
+
+  private final DataInput input;
+
+  /**
+   * @param input the source of the bytes. Its end is detected by an {@link EOFException}.
+   */
+  public DataInputAdapter(DataInput input) {
+    this.input = requireNonNull(input);
+  }
+
+  @Override
+  public int read() throws IOException {
+    try {
+      return input.readUnsignedByte();
+    } catch (EOFException e) {
+      return -1;
+    }
+  }
+}
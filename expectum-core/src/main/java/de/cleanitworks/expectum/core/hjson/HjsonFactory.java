@@ -0,0 +1,86 @@
+package de.cleanitworks.expectum.core.hjson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.IOContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.DataInput;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Jackson factory creating {@link HjsonParser}s.
+ *
+ * <p>Allows to read Hjson with the usual Jackson api. E.g.:
+ * <pre>
+ *   ObjectMapper hjsonMapper = new ObjectMapper(new HjsonFactory());
+ *   MyBean bean = hjsonMapper.readValue(hjsonString, MyBean.class);
+ * </pre>
+ *
+ * <p>Byte input is expected to be UTF-8 encoded. Generators created by this factory write plain json.
+ */
+public class HjsonFactory extends JsonFactory {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String FORMAT_NAME_HJSON = "Hjson";
+
+  public HjsonFactory() {
+    super();
+  }
+
+  public HjsonFactory(ObjectCodec codec) {
+    super(codec);
+  }
+
+  protected HjsonFactory(HjsonFactory src, ObjectCodec codec) {
+    super(src, codec);
+  }
+
+  @Override
+  public HjsonFactory copy() {
+    _checkInvalidCopy(HjsonFactory.class);
+    return new HjsonFactory(this, null);
+  }
+
+  @Override
+  public String getFormatName() {
+    return FORMAT_NAME_HJSON;
+  }
+
+  @Override
+  public boolean canUseCharArrays() {
+    return false;
+  }
+
+  @Override
+  protected JsonParser _createParser(InputStream in, IOContext ctxt) {
+    return _createParser(new InputStreamReader(in, UTF_8), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(Reader r, IOContext ctxt) {
+    return new HjsonParser(ctxt, _parserFeatures, r, _objectCodec);
+  }
+
+  @Override
+  protected JsonParser _createParser(char[] data, int offset, int len, IOContext ctxt, boolean recyclable) {
+    return _createParser(new CharArrayReader(data, offset, len), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(byte[] data, int offset, int len, IOContext ctxt) {
+    return _createParser(new ByteArrayInputStream(data, offset, len), ctxt);
+  }
+
+  @Override
+  protected JsonParser _createParser(DataInput input, IOContext ctxt) {
+    return _createParser(new DataInputAdapter(input), ctxt);
+  }
+}
@@ -0,0 +1,820 @@
+package de.cleanitworks.expectum.core.hjson;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.json.DupDetector;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Reads <a href="https://hjson.github.io/">Hjson</a> and provides its content as a stream of json tokens.
+ *
+ * <p>The content is tokenized directly from the character stream. There is no intermediate Hjson object model
+ * and no intermediate json string. Use {@link HjsonFactory} to create instances, e.g. to plug this parser into an
+ * {@link com.fasterxml.jackson.databind.ObjectMapper}.
+ *
+ * <p>Supported syntax: comments (<code>#</code>, <code>//</code>, <code>/* *&#47;</code>), quoteless keys and
+ * values, single and double quoted strings, multiline strings (<code>'''</code>), optional commas and a root
+ * object without braces. Quoteless values having the form of a json number or one of the literals
+ * <code>true</code>, <code>false</code> and <code>null</code> are reported as such. All other quoteless values
+ * are strings reaching to the end of the line.
+ *
+ * <p>In contrast to the <code>org.hjson</code> implementation, numbers keep their original representation. E.g.
+ * <code>1.0</code> is reported as a floating point number instead of being converted to the integer <code>1</code>.
+ */
+public class HjsonParser extends ParserMinimalBase {
+
+  private static final int BUFFER_SIZE = 4000;
+  private static final int EOF = -1;
+
+  private final IOContext ioContext;
+  private final Reader reader;
+  private ObjectCodec codec;
+  private boolean closed;
+
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int bufferPtr;
+  private int bufferEnd;
+
+  /** Offset of the next character to read. */
+  private long charOffset;
+  private int line = 1;
+  private long lineStartOffset;
+
+  private long tokenCharOffset;
+  private int tokenLine;
+  private int tokenColumn;
+
+  private JsonReadContext parsingContext;
+  private boolean rootValueRead;
+  private boolean bracelessRoot;
+  /** Signals that the current container got a value and might be followed by a comma. */
+  private boolean afterValue;
+
+  private final StringBuilder textBuilder = new StringBuilder();
+  private String text;
+  private Number numberValue;
+
+  public HjsonParser(IOContext ioContext, int features, Reader reader, ObjectCodec codec) {
+    super(features);
+    this.ioContext = ioContext;
+    this.reader = reader;
+    this.codec = codec;
+    DupDetector dups = Feature.STRICT_DUPLICATE_DETECTION.enabledIn(features)
+          ? DupDetector.rootDetector(this)
+          : null;
+    this.parsingContext = JsonReadContext.createRootContext(dups);
+  }
+
+  @Override
+  public ObjectCodec getCodec() {
+    return codec;
+  }
+
+  @Override
+  public void setCodec(ObjectCodec codec) {
+    this.codec = codec;
+  }
+
+  @Override
+  public Version version() {
+    return Version.unknownVersion();
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    if (closed) {
+      return null;
+    }
+    text = null;
+    numberValue = null;
+
+    if (_currToken == JsonToken.FIELD_NAME) {
+      _currToken = readValue();
+    } else if (parsingContext.inObject()) {
+      _currToken = nextInObject();
+    } else if (parsingContext.inArray()) {
+      _currToken = nextInArray();
+    } else {
+      _currToken = nextInRoot();
+    }
+    return _currToken;
+  }
+
+  private JsonToken nextInRoot() throws IOException {
+    if (!rootValueRead && current() == '\uFEFF') {
+      skipChar();
+    }
+    skipWhiteSpace();
+    markToken();
+    if (rootValueRead) {
+      if (current() != EOF) {
+        _reportError("Syntax error, found trailing characters");
+      }
+      return null;
+    }
+    rootValueRead = true;
+    if (current() == EOF) {
+      return null;
+    }
+
+    parsingContext.expectComma();
+    if (current() == '{' || current() == '[') {
+      return readValue();
+    }
+    bracelessRoot = true;
+    return startContainer(false);
+  }
+
+  private JsonToken nextInObject() throws IOException {
+    skipSeparator();
+    markToken();
+    int c = current();
+    boolean isBracelessRoot = bracelessRoot && parsingContext.getParent().inRoot();
+    if (c == '}' && !isBracelessRoot) {
+      skipChar();
+      return endContainer(JsonToken.END_OBJECT);
+    }
+    if (c == EOF) {
+      if (isBracelessRoot) {
+        return endContainer(JsonToken.END_OBJECT);
+      }
+      _reportInvalidEOF(" while parsing an object (did you forget a closing '}'?)", null);
+    }
+
+    String name = readName();
+    parsingContext.expectComma();
+    parsingContext.setCurrentName(name);
+    skipWhiteSpace();
+    if (current() != ':') {
+      _reportError("Expected ':' after key '" + name + "' instead of " + _getCharDesc(current()));
+    }
+    skipChar();
+    text = name;
+    return JsonToken.FIELD_NAME;
+  }
+
+  private JsonToken nextInArray() throws IOException {
+    skipSeparator();
+    markToken();
+    int c = current();
+    if (c == ']') {
+      skipChar();
+      return endContainer(JsonToken.END_ARRAY);
+    }
+    if (c == EOF) {
+      _reportInvalidEOF(" while parsing an array (did you forget a closing ']'?)", null);
+    }
+    parsingContext.expectComma();
+    return readValue();
+  }
+
+  private void skipSeparator() throws IOException {
+    skipWhiteSpace();
+    if (afterValue) {
+      afterValue = false;
+      if (current() == ',') {
+        skipChar();
+        skipWhiteSpace();
+      }
+    }
+  }
+
+  private JsonToken readValue() throws IOException {
+    skipWhiteSpace();
+    markToken();
+    int c = current();
+    switch (c) {
+      case EOF:
+        _reportInvalidEOF(" while expecting a value", null);
+        return null;
+      case '{':
+        skipChar();
+        return startContainer(false);
+      case '[':
+        skipChar();
+        return startContainer(true);
+      case '"':
+      case '\'':
+        text = readString(true);
+        afterValue = true;
+        return JsonToken.VALUE_STRING;
+      default:
+        JsonToken token = readQuotelessValue();
+        afterValue = true;
+        return token;
+    }
+  }
+
+  private JsonToken startContainer(boolean array) {
+    parsingContext = array
+          ? parsingContext.createChildArrayContext(tokenLine, tokenColumn + 1)
+          : parsingContext.createChildObjectContext(tokenLine, tokenColumn + 1);
+    afterValue = false;
+    return array ? JsonToken.START_ARRAY : JsonToken.START_OBJECT;
+  }
+
+  private JsonToken endContainer(JsonToken endToken) {
+    parsingContext = parsingContext.clearAndGetParent();
+    afterValue = true;
+    return endToken;
+  }
+
+  /**
+   * Reads a key. Quoteless keys end at the next colon.
+   */
+  private String readName() throws IOException {
+    int c = current();
+    if (c == '"' || c == '\'') {
+      return readString(false);
+    }
+
+    StringBuilder name = resetTextBuilder();
+    int space = -1;
+    while (true) {
+      c = current();
+      if (c == ':') {
+        if (name.length() == 0) {
+          _reportError("Found ':' but no key name (for an empty key name use quotes)");
+        } else if (space >= 0 && space != name.length()) {
+          _reportError("Found whitespace in your key name (use quotes to include)");
+        }
+        return name.toString();
+      } else if (c == EOF) {
+        _reportInvalidEOF(" while reading a key name", null);
+      } else if (isWhiteSpace(c)) {
+        if (space < 0) {
+          space = name.length();
+        }
+      } else if (c < ' ') {
+        _reportError("Name is not closed");
+      } else if (isPunctuator(c)) {
+        _reportError("Found '" + (char) c + "' where a key name was expected "
+              + "(check your syntax or use quotes if the key name includes {}[],: or whitespace)");
+      } else {
+        name.append((char) c);
+      }
+      skipChar();
+    }
+  }
+
+  private String readString(boolean allowMultiline) throws IOException {
+    int quote = current();
+    int quoteColumn = column();
+    skipChar();
+
+    StringBuilder value = resetTextBuilder();
+    while (true) {
+      int c = current();
+      if (c == quote) {
+        skipChar();
+        break;
+      } else if (c == '\\') {
+        skipChar();
+        readEscape(value);
+      } else if (c == EOF) {
+        _reportInvalidEOF(" while reading a string", JsonToken.VALUE_STRING);
+      } else if (c < ' ') {
+        _reportError("Illegal unquoted character (" + _getCharDesc(c) + "): has to be escaped in a string");
+      } else {
+        value.append((char) c);
+        skipChar();
+      }
+    }
+
+    if (allowMultiline && quote == '\'' && value.length() == 0 && current() == '\'') {
+      skipChar();
+      return readMultilineString(quoteColumn);
+    }
+    return value.toString();
+  }
+
+  /**
+   * Reads the content of a <code>'''</code> string. The indentation up to the column of the opening quotes is
+   * removed from each line.
+   */
+  private String readMultilineString(int indent) throws IOException {
+    while (isWhiteSpace(current()) && current() != '\n') {
+      skipChar();
+    }
+    if (current() == '\n') {
+      skipChar();
+      skipIndent(indent);
+    }
+
+    StringBuilder value = resetTextBuilder();
+    int triple = 0;
+    while (true) {
+      int c = current();
+      if (c == EOF) {
+        _reportInvalidEOF(" while reading a multiline string", JsonToken.VALUE_STRING);
+      } else if (c == '\'') {
+        triple++;
+        skipChar();
+        if (triple == 3) {
+          int length = value.length();
+          if (length > 0 && value.charAt(length - 1) == '\n') {
+            value.setLength(length - 1);
+          }
+          return value.toString();
+        }
+        continue;
+      }
+
+      for (; triple > 0; triple--) {
+        value.append('\'');
+      }
+      if (c == '\n') {
+        value.append('\n');
+        skipChar();
+        skipIndent(indent);
+      } else {
+        if (c != '\r') {
+          value.append((char) c);
+        }
+        skipChar();
+      }
+    }
+  }
+
+  private void skipIndent(int indent) throws IOException {
+    for (int skip = indent; skip > 0 && isWhiteSpace(current()) && current() != '\n'; skip--) {
+      skipChar();
+    }
+  }
+
+  private void readEscape(StringBuilder value) throws IOException {
+    int c = current();
+    skipChar();
+    switch (c) {
+      case '"':
+      case '\'':
+      case '\\':
+      case '/':
+        value.append((char) c);
+        break;
+      case 'b':
+        value.append('\b');
+        break;
+      case 'f':
+        value.append('\f');
+        break;
+      case 'n':
+        value.append('\n');
+        break;
+      case 'r':
+        value.append('\r');
+        break;
+      case 't':
+        value.append('\t');
+        break;
+      case 'u':
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(current(), 16);
+          if (digit < 0) {
+            _reportError("Expected a hex digit in unicode escape sequence instead of " + _getCharDesc(current()));
+          }
+          code = (code << 4) | digit;
+          skipChar();
+        }
+        value.append((char) code);
+        break;
+      default:
+        _reportError("Unrecognized character escape " + _getCharDesc(c));
+    }
+  }
+
+  /**
+   * Reads a quoteless value. That is a number, <code>true</code>, <code>false</code>, <code>null</code> or
+   * a string reaching up to the end of the line.
+   */
+  private JsonToken readQuotelessValue() throws IOException {
+    int first = current();
+    if (isPunctuator(first)) {
+      _reportError("Found a punctuator character '" + (char) first
+            + "' when expecting a quoteless string (check your syntax)");
+    }
+
+    StringBuilder value = resetTextBuilder();
+    value.append((char) first);
+    skipChar();
+    while (true) {
+      int c = current();
+      boolean isEol = c == EOF || c == '\r' || c == '\n';
+      if (isEol || c == ',' || c == '}' || c == ']' || c == '#'
+            || c == '/' && (peek() == '/' || peek() == '*')) {
+        String trimmed = value.toString().trim();
+        JsonToken literal = toLiteral(first, trimmed);
+        if (literal != null) {
+          return literal;
+        }
+        if (isEol) {
+          text = trimmed;
+          return JsonToken.VALUE_STRING;
+        }
+      }
+      value.append((char) c);
+      skipChar();
+    }
+  }
+
+  private JsonToken toLiteral(int first, String value) {
+    switch (first) {
+      case 'n':
+        return "null".equals(value) ? JsonToken.VALUE_NULL : null;
+      case 't':
+        return "true".equals(value) ? JsonToken.VALUE_TRUE : null;
+      case 'f':
+        return "false".equals(value) ? JsonToken.VALUE_FALSE : null;
+      default:
+        if (first != '-' && (first < '0' || first > '9')) {
+          return null;
+        }
+        JsonToken numberToken = numberToken(value);
+        if (numberToken != null) {
+          text = value;
+        }
+        return numberToken;
+    }
+  }
+
+  /**
+   * @return the number token type if the given value matches the json number syntax, otherwise <code>null</code>.
+   */
+  private static JsonToken numberToken(String value) {
+    int length = value.length();
+    int idx = 0;
+    if (idx < length && value.charAt(idx) == '-') {
+      idx++;
+    }
+    int intStart = idx;
+    idx = skipDigits(value, idx);
+    int intLength = idx - intStart;
+    if (intLength == 0 || intLength > 1 && value.charAt(intStart) == '0') {
+      return null;
+    }
+
+    boolean isFloat = false;
+    if (idx < length && value.charAt(idx) == '.') {
+      int fractionStart = idx + 1;
+      idx = skipDigits(value, fractionStart);
+      if (idx == fractionStart) {
+        return null;
+      }
+      isFloat = true;
+    }
+    if (idx < length && (value.charAt(idx) == 'e' || value.charAt(idx) == 'E')) {
+      idx++;
+      if (idx < length && (value.charAt(idx) == '+' || value.charAt(idx) == '-')) {
+        idx++;
+      }
+      int exponentStart = idx;
+      idx = skipDigits(value, exponentStart);
+      if (idx == exponentStart) {
+        return null;
+      }
+      isFloat = true;
+    }
+
+    if (idx != length) {
+      return null;
+    }
+    return isFloat ? JsonToken.VALUE_NUMBER_FLOAT : JsonToken.VALUE_NUMBER_INT;
+  }
+
+  private static int skipDigits(String value, int idx) {
+    while (idx < value.length() && value.charAt(idx) >= '0' && value.charAt(idx) <= '9') {
+      idx++;
+    }
+    return idx;
+  }
+
+  private void skipWhiteSpace() throws IOException {
+    while (true) {
+      int c = current();
+      if (isWhiteSpace(c)) {
+        skipChar();
+      } else if (c == '#' || c == '/' && peek() == '/') {
+        while (current() != EOF && current() != '\n') {
+          skipChar();
+        }
+      } else if (c == '/' && peek() == '*') {
+        skipChar();
+        skipChar();
+        while (!(current() == '*' && peek() == '/')) {
+          if (current() == EOF) {
+            _reportInvalidEOF(" in a comment", null);
+          }
+          skipChar();
+        }
+        skipChar();
+        skipChar();
+      } else {
+        return;
+      }
+    }
+  }
+
+  private static boolean isWhiteSpace(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+  }
+
+  private static boolean isPunctuator(int c) {
+    return c == '{' || c == '}' || c == '[' || c == ']' || c == ',' || c == ':';
+  }
+
+  private StringBuilder resetTextBuilder() {
+    textBuilder.setLength(0);
+    return textBuilder;
+  }
+
+  // Character input
+
+  private int current() throws IOException {
+    return bufferPtr < bufferEnd || loadMore(1) ? buffer[bufferPtr] : EOF;
+  }
+
+  private int peek() throws IOException {
+    return bufferPtr + 1 < bufferEnd || loadMore(2) ? buffer[bufferPtr + 1] : EOF;
+  }
+
+  private void skipChar() throws IOException {
+    if (bufferPtr < bufferEnd || loadMore(1)) {
+      char c = buffer[bufferPtr++];
+      charOffset++;
+      if (c == '\n') {
+        line++;
+        lineStartOffset = charOffset;
+      }
+    }
+  }
+
+  private boolean loadMore(int minAvailable) throws IOException {
+    if (closed) {
+      return false;
+    }
+    int available = bufferEnd - bufferPtr;
+    System.arraycopy(buffer, bufferPtr, buffer, 0, available);
+    bufferPtr = 0;
+    bufferEnd = available;
+    while (bufferEnd < minAvailable) {
+      int count = reader.read(buffer, bufferEnd, buffer.length - bufferEnd);
+      if (count < 0) {
+        return false;
+      }
+      bufferEnd += count;
+    }
+    return true;
+  }
+
+  private int column() {
+    return (int) (charOffset - lineStartOffset);
+  }
+
+  private void markToken() {
+    tokenCharOffset = charOffset;
+    tokenLine = line;
+    tokenColumn = column();
+  }
+
+  // Parser state access
+
+  @Override
+  protected void _handleEOF() throws com.fasterxml.jackson.core.JsonParseException {
+    if (!parsingContext.inRoot()) {
+      _reportInvalidEOF(": expected close marker for " + parsingContext.typeDesc(), null);
+    }
+  }
+
+  @Override
+  public String currentName() {
+    if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+      JsonReadContext parent = parsingContext.getParent();
+      if (parent != null) {
+        return parent.getCurrentName();
+      }
+    }
+    return parsingContext.getCurrentName();
+  }
+
+  @Deprecated
+  @Override
+  public String getCurrentName() {
+    return currentName();
+  }
+
+  @Override
+  public void overrideCurrentName(String name) {
+    JsonReadContext ctxt = parsingContext;
+    if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+      ctxt = ctxt.getParent();
+    }
+    try {
+      ctxt.setCurrentName(name);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      if (ioContext.isResourceManaged() || isEnabled(Feature.AUTO_CLOSE_SOURCE)) {
+        reader.close();
+      }
+    }
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public JsonStreamContext getParsingContext() {
+    return parsingContext;
+  }
+
+  @Override
+  public JsonLocation currentLocation() {
+    return new JsonLocation(ioContext.contentReference(), -1L, charOffset, line, column() + 1);
+  }
+
+  @Override
+  public JsonLocation currentTokenLocation() {
+    return new JsonLocation(ioContext.contentReference(), -1L, tokenCharOffset, tokenLine, tokenColumn + 1);
+  }
+
+  @Deprecated
+  @Override
+  public JsonLocation getCurrentLocation() {
+    return currentLocation();
+  }
+
+  @Deprecated
+  @Override
+  public JsonLocation getTokenLocation() {
+    return currentTokenLocation();
+  }
+
+  // Text access
+
+  @Override
+  public String getText() {
+    if (_currToken == null) {
+      return null;
+    }
+    return text != null ? text : _currToken.asString();
+  }
+
+  @Override
+  public char[] getTextCharacters() {
+    String value = getText();
+    return value == null ? null : value.toCharArray();
+  }
+
+  @Override
+  public boolean hasTextCharacters() {
+    return false;
+  }
+
+  @Override
+  public int getTextLength() {
+    String value = getText();
+    return value == null ? 0 : value.length();
+  }
+
+  @Override
+  public int getTextOffset() {
+    return 0;
+  }
+
+  @Override
+  public byte[] getBinaryValue(Base64Variant b64variant) throws IOException {
+    if (_currToken != JsonToken.VALUE_STRING) {
+      _reportError("Current token (" + _currToken + ") not VALUE_STRING, can not access as binary");
+    }
+    ByteArrayBuilder builder = new ByteArrayBuilder();
+    _decodeBase64(text, builder, b64variant);
+    return builder.toByteArray();
+  }
+
+  // Numeric access
+
+  @Override
+  public Number getNumberValue() throws IOException {
+    if (numberValue == null) {
+      if (_currToken == JsonToken.VALUE_NUMBER_INT) {
+        numberValue = parseInteger(text);
+      } else if (_currToken == JsonToken.VALUE_NUMBER_FLOAT) {
+        numberValue = Double.valueOf(text);
+      } else {
+        _reportError("Current token (" + _currToken + ") not numeric, can not use numeric value accessors");
+      }
+    }
+    return numberValue;
+  }
+
+  private static Number parseInteger(String value) {
+    if (value.length() <= 18) {
+      long longValue = Long.parseLong(value);
+      if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+        return Integer.valueOf((int) longValue);
+      }
+      return Long.valueOf(longValue);
+    }
+    BigInteger bigValue = new BigInteger(value);
+    return bigValue.bitLength() < Long.SIZE ? Long.valueOf(bigValue.longValue()) : bigValue;
+  }
+
+  @Override
+  public NumberType getNumberType() throws IOException {
+    Number value = getNumberValue();
+    if (value instanceof Integer) {
+      return NumberType.INT;
+    }
+    if (value instanceof Long) {
+      return NumberType.LONG;
+    }
+    if (value instanceof BigInteger) {
+      return NumberType.BIG_INTEGER;
+    }
+    return NumberType.DOUBLE;
+  }
+
+  @Override
+  public int getIntValue() throws IOException {
+    Number value = getNumberValue();
+    if (value instanceof Integer) {
+      return value.intValue();
+    }
+    if (value instanceof Double) {
+      double doubleValue = value.doubleValue();
+      if (doubleValue < MIN_INT_D || doubleValue > MAX_INT_D) {
+        reportOverflowInt();
+      }
+      return value.intValue();
+    }
+    reportOverflowInt();
+    return 0;
+  }
+
+  @Override
+  public long getLongValue() throws IOException {
+    Number value = getNumberValue();
+    if (value instanceof BigInteger) {
+      reportOverflowLong();
+    }
+    if (value instanceof Double) {
+      double doubleValue = value.doubleValue();
+      if (doubleValue < MIN_LONG_D || doubleValue > MAX_LONG_D) {
+        reportOverflowLong();
+      }
+    }
+    return value.longValue();
+  }
+
+  @Override
+  public BigInteger getBigIntegerValue() throws IOException {
+    Number value = getNumberValue();
+    if (value instanceof BigInteger) {
+      return (BigInteger) value;
+    }
+    if (value instanceof Double) {
+      return new BigDecimal(text).toBigInteger();
+    }
+    return BigInteger.valueOf(value.longValue());
+  }
+
+  @Override
+  public float getFloatValue() throws IOException {
+    return getNumberValue().floatValue();
+  }
+
+  @Override
+  public double getDoubleValue() throws IOException {
+    return getNumberValue().doubleValue();
+  }
+
+  @Override
+  public BigDecimal getDecimalValue() throws IOException {
+    Number value = getNumberValue();
+    if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    return new BigDecimal(text);
+  }
+}
@@ -0,0 +1,57 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Comparing a bean against an expected json node.
+ */
+@Name("de.cleanitworks.expectum.Comparison")
+@Label("Json Comparison")
+@Description("Compares a bean against an expected json node")
+@Category("Expectum")
+public final class ComparisonEvent extends Event {
+
+  /** The hashes of bean and expected content are equal. No further comparison needed. */
+  public static final String HASH_MATCH = "HASH_MATCH";
+
+  /** The content is equal. */
+  public static final String EQUAL = "EQUAL";
+
+  /** The content differs. */
+  public static final String DIFFERENT = "DIFFERENT";
+
+  /** The comparison failed with an exception, e.g. because the node does not exist. */
+  public static final String ERROR = "ERROR";
+
+  @Label("File Name")
+  private String fileName;
+
+  @Label("Node Pointer")
+  private String nodePtr;
+
+  @Label("Mode")
+  private String mode;
+
+  @Label("Outcome")
+  private String outcome;
+
+  /**
+   * @param fileName the name of the fixture file.
+   * @param nodePtr the absolute json pointer of the expected node.
+   * @param mode the comparison mode.
+   * @param outcome one of {@link #HASH_MATCH}, {@link #EQUAL}, {@link #DIFFERENT} and {@link #ERROR}.
+   */
+  public void commit(String fileName, String nodePtr, String mode, String outcome) {
+    if (shouldCommit()) {
+      this.fileName = fileName;
+      this.nodePtr = nodePtr;
+      this.mode = mode;
+      this.outcome = outcome;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading and parsing a json fixture file into a tree.
+ */
+@Name("de.cleanitworks.expectum.FixtureLoad")
+@Label("Fixture Load")
+@Description("Reads and parses a json fixture file")
+@Category("Expectum")
+public final class FixtureLoadEvent extends FixtureReadEvent {
+}
@@ -0,0 +1,40 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Reading a fixture file into a json tree. The subclasses distinguish the file formats.
+ */
+public abstract class FixtureReadEvent extends Event {
+
+  // not private: JFR records only the non-private fields of event superclasses
+
+  @Label("File Name")
+  protected String fileName;
+
+  @Label("File Size")
+  @DataAmount
+  protected long fileSize;
+
+  @Label("Success")
+  protected boolean success;
+
+  FixtureReadEvent() {
+  }
+
+  /**
+   * @param fileName the name of the fixture file.
+   * @param fileSize the file size in bytes. <code>-1</code> if unknown.
+   * @param success <code>false</code> if the file could not be read.
+   */
+  public void commit(String fileName, long fileSize, boolean success) {
+    if (shouldCommit()) {
+      this.fileName = fileName;
+      this.fileSize = fileSize;
+      this.success = success;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading an hjson fixture file and converting its content into a json tree.
+ */
+@Name("de.cleanitworks.expectum.HjsonConversion")
+@Label("Hjson Conversion")
+@Description("Reads an hjson fixture file and converts it into a json tree")
+@Category("Expectum")
+public final class HjsonConversionEvent extends FixtureReadEvent {
+}
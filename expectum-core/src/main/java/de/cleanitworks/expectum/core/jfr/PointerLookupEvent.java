@@ -0,0 +1,55 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Resolving a json pointer within a fixture file.
+ */
+@Name("de.cleanitworks.expectum.PointerLookup")
+@Label("Pointer Lookup")
+@Description("Resolves a json pointer within a fixture file")
+@Category("Expectum")
+public final class PointerLookupEvent extends Event {
+
+  @Label("File Name")
+  private String fileName;
+
+  @Label("Node Pointer")
+  private String nodePtr;
+
+  @Label("File Size")
+  @DataAmount
+  private long fileSize;
+
+  @Label("Strategy")
+  @Description("How the node was read: compiled form, cached tree, fixture store, line index, mapped index or "
+        + "streaming extraction")
+  private String strategy;
+
+  @Label("Found")
+  private boolean found;
+
+  /**
+   * @param fileName the name of the fixture file.
+   * @param nodePtr the absolute json pointer.
+   * @param fileSize the file size in bytes. <code>-1</code> if unknown.
+   * @param strategy how the node was read: <code>compiled</code>, <code>tree</code>, <code>store</code>,
+   *     <code>lines</code>, <code>index</code> or <code>stream</code>.
+   * @param found <code>false</code> if the node is missing or the file could not be read.
+   */
+  public void commit(String fileName, String nodePtr, long fileSize, String strategy, boolean found) {
+    if (shouldCommit()) {
+      this.fileName = fileName;
+      this.nodePtr = nodePtr;
+      this.fileSize = fileSize;
+      this.strategy = strategy;
+      this.found = found;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Serializing a bean to a json string.
+ */
+@Name("de.cleanitworks.expectum.Serialization")
+@Label("Bean Serialization")
+@Description("Serializes a bean to a json string")
+@Category("Expectum")
+public final class SerializationEvent extends Event {
+
+  @Label("Bean Class")
+  private Class<?> beanClass;
+
+  @Label("Json Length")
+  @Description("Number of characters of the json string")
+  private long jsonLength;
+
+  @Label("Success")
+  private boolean success;
+
+  /**
+   * @param beanClass the class of the serialized bean. <code>null</code> for a null bean.
+   * @param jsonLength the length of the json string. <code>-1</code> if the serialization failed.
+   * @param success <code>false</code> if the bean could not be serialized.
+   */
+  public void commit(Class<?> beanClass, long jsonLength, boolean success) {
+    if (shouldCommit()) {
+      this.beanClass = beanClass;
+      this.jsonLength = jsonLength;
+      this.success = success;
+      commit();
+    }
+  }
+}
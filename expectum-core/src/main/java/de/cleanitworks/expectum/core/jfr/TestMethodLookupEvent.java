@@ -0,0 +1,35 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Finding the running test method by inspecting the stack.
+ */
+@Name("de.cleanitworks.expectum.TestMethodLookup")
+@Label("Test Method Lookup")
+@Description("Finds the running test method by inspecting the stack")
+@Category("Expectum")
+public final class TestMethodLookupEvent extends Event {
+
+  @Label("Test Class")
+  private Class<?> testClass;
+
+  @Label("Method Name")
+  private String methodName;
+
+  /**
+   * @param testClass the test class.
+   * @param methodName the found method name. <code>null</code> if not found.
+   */
+  public void commit(Class<?> testClass, String methodName) {
+    if (shouldCommit()) {
+      this.testClass = testClass;
+      this.methodName = methodName;
+      commit();
+    }
+  }
+}
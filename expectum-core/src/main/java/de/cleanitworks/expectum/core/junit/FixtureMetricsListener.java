@@ -0,0 +1,83 @@
+package de.cleanitworks.expectum.core.junit;
+
+import de.cleanitworks.expectum.core.metrics.FixtureMetrics;
+import de.cleanitworks.expectum.core.metrics.FixtureMetricsReport;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * JUnit platform listener relating the {@link FixtureMetrics} to the running tests and writing the
+ * {@link FixtureMetricsReport} at the end of the test run.
+ *
+ * <p>Gets registered automatically by the service loader of the JUnit platform launcher. It does nothing unless the
+ * metrics are enabled by the system property {@value FixtureMetrics#ENABLED_PROPERTY}. E.g.:
+ * <pre>
+ *   mvn test -Dexpectum.metrics=true
+ * </pre>
+ * The report gets written to the directory defined by the system property {@value #REPORT_DIR_PROPERTY}.
+ */
+public class FixtureMetricsListener implements TestExecutionListener {
+
+  /**
+   * Name of the system property defining the report directory.
+   */
+  public static final String REPORT_DIR_PROPERTY = "expectum.metrics.dir";
+
+  static final String DEFAULT_REPORT_DIR = "target/expectum-metrics";
+
+  private final FixtureMetrics metrics;
+
+  public FixtureMetricsListener() {
+    this(FixtureMetrics.shared());
+  }
+
+  FixtureMetricsListener(FixtureMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void executionStarted(TestIdentifier testIdentifier) {
+    if (metrics.isEnabled() && testIdentifier.isTest()) {
+      metrics.setCurrentTest(testId(testIdentifier));
+    }
+  }
+
+  @Override
+  public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+    if (testIdentifier.isTest()) {
+      metrics.setCurrentTest(null);
+    }
+  }
+
+  @Override
+  public void testPlanExecutionFinished(TestPlan testPlan) {
+    if (!metrics.isEnabled() || metrics.isEmpty()) {
+      return;
+    }
+    Path dir = Path.of(System.getProperty(REPORT_DIR_PROPERTY, DEFAULT_REPORT_DIR));
+    try {
+      new FixtureMetricsReport(metrics).write(dir);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to write the fixture metrics report to: " + dir.toAbsolutePath(), e);
+    }
+    metrics.clear();
+  }
+
+  /**
+   * @return <code>my.pkg.MyTest#myMethod</code> for test methods. Otherwise, e.g. for dynamic tests, the unique id.
+   */
+  static String testId(TestIdentifier testIdentifier) {
+    return testIdentifier.getSource()
+          .filter(MethodSource.class::isInstance)
+          .map(MethodSource.class::cast)
+          .map(source -> source.getClassName() + "#" + source.getMethodName())
+          .orElseGet(testIdentifier::getUniqueId);
+  }
+}
@@ -0,0 +1,121 @@
+package de.cleanitworks.expectum.core.junit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.resource.FixturePreloader;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * JUnit platform listener preloading the json and hjson files of all test classes of a test plan
+ * (see {@link FixturePreloader}).
+ *
+ * <p>The files get parsed in parallel to the test execution as soon as the test discovery is finished. Gets
+ * registered automatically by the service loader of the JUnit platform launcher. Opt-in by the configuration
+ * parameter {@value #ENABLED_PARAMETER}, e.g. in <code>junit-platform.properties</code>:
+ * <pre>
+ *   expectum.preload.enabled=true
+ * </pre>
+ * The number of preloaded files and bytes and the duration get logged at the end.
+ *
+ * <p>The files get parsed by the default mapper of the {@link JsonResourceTestDelegate}. The preloaded trees serve
+ * only tests using the same mapper. Tests using another {@link JsonResourceTestDelegate#setSharedObjectMapper shared
+ * mapper} name a supplier of that mapper by the configuration parameter {@value #MAPPER_SUPPLIER_PARAMETER}:
+ * <pre>
+ *   expectum.preload.mapperSupplier=de.cleanitworks.expectum.hibernate.HibernateMapperSupplier
+ * </pre>
+ * The supplier class needs a public no-arg constructor and should always supply the same mapper instance.
+ */
+public class FixturePreloadListener implements TestExecutionListener {
+
+  /**
+   * Name of the configuration parameter enabling the preload.
+   */
+  public static final String ENABLED_PARAMETER = "expectum.preload.enabled";
+
+  /**
+   * Name of the configuration parameter naming the {@link Supplier} of the shared mapper that parses the files.
+   */
+  public static final String MAPPER_SUPPLIER_PARAMETER = "expectum.preload.mapperSupplier";
+
+  private static final System.Logger LOGGER = System.getLogger(FixturePreloadListener.class.getName());
+
+  private volatile CompletableFuture<FixturePreloader.Result> preload;
+
+  @Override
+  public void testPlanExecutionStarted(TestPlan testPlan) {
+    ConfigurationParameters parameters = testPlan.getConfigurationParameters();
+    if (!parameters.getBoolean(ENABLED_PARAMETER).orElse(false)) {
+      return;
+    }
+    Optional<String> supplierClassName = parameters.get(MAPPER_SUPPLIER_PARAMETER);
+    ObjectMapper mapper;
+    try {
+      mapper = supplierClassName.isPresent() ? sharedMapper(supplierClassName.get().trim()) : null;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.log(System.Logger.Level.WARNING, "Fixture preload skipped. Invalid " + MAPPER_SUPPLIER_PARAMETER, e);
+      return;
+    }
+    ForkJoinPool pool = new ForkJoinPool();
+    FixturePreloader preloader = mapper != null ? new FixturePreloader(pool, mapper) : new FixturePreloader(pool);
+    preload = preloader.preload(testClasses(testPlan))
+          .whenComplete((result, e) -> {
+            pool.shutdown();
+            if (result != null) {
+              LOGGER.log(System.Logger.Level.INFO, result.toString());
+            } else {
+              LOGGER.log(System.Logger.Level.WARNING, "Fixture preload failed", e);
+            }
+          });
+  }
+
+  /**
+   * @return the running or finished preload operation. <code>null</code> if the preload is not enabled.
+   */
+  CompletableFuture<FixturePreloader.Result> getPreload() {
+    return preload;
+  }
+
+  private static ObjectMapper sharedMapper(String supplierClassName) throws ReflectiveOperationException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    Supplier<?> supplier = (Supplier<?>) Class.forName(supplierClassName, true, loader)
+          .getConstructor().newInstance();
+    return (ObjectMapper) requireNonNull(supplier.get(), "The mapper supplier provided null.");
+  }
+
+  static List<Class<?>> testClasses(TestPlan testPlan) {
+    List<Class<?>> classes = new ArrayList<>();
+    Deque<TestIdentifier> pending = new ArrayDeque<>(testPlan.getRoots());
+    while (!pending.isEmpty()) {
+      TestIdentifier identifier = pending.poll();
+      identifier.getSource()
+            .filter(ClassSource.class::isInstance)
+            .map(ClassSource.class::cast)
+            .ifPresent(source -> addClass(source, classes));
+      pending.addAll(testPlan.getChildren(identifier));
+    }
+    return classes;
+  }
+
+  private static void addClass(ClassSource source, List<Class<?>> classes) {
+    try {
+      classes.add(source.getJavaClass());
+    } catch (RuntimeException e) {
+      // classes that can't be loaded don't run any tests
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package de.cleanitworks.expectum.core.junit;
+
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestMixin;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit Jupiter extension providing the running test method to {@link JsonResourceTestDelegate}s.
+ *
+ * <p>Relative node pointers get resolved without stack inspection. That's faster and works also for calls from
+ * helper threads or {@link java.util.concurrent.CompletableFuture} callbacks.
+ *
+ * <p>The extension serves
+ * <ul>
+ *   <li>test instances implementing {@link JsonResourceTestMixin}, e.g. subclasses of
+ *   {@link de.cleanitworks.expectum.core.resource.JsonResourceTest}, and</li>
+ *   <li>delegates injected as constructor or method parameter.</li>
+ * </ul>
+ * Example:
+ * <pre>
+ *   &#64;ExtendWith(JsonResourceExtension.class)
+ *   class MyTest {
+ *     &#64;Test
+ *     void myTest(JsonResourceTestDelegate json) {
+ *       assertThat(json.toJson(bean)).isEqualTo(json.json("expectedBean"));
+ *     }
+ *   }
+ * </pre>
+ */
+public class JsonResourceExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+  private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(
+        JsonResourceExtension.class);
+
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    String methodName = context.getRequiredTestMethod().getName();
+    getDelegates(context).forEach(d -> d.setTestMethodName(methodName));
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    getDelegates(context).forEach(d -> d.setTestMethodName(null));
+  }
+
+  @Override
+  public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    return parameterContext.getParameter().getType() == JsonResourceTestDelegate.class;
+  }
+
+  @Override
+  public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    Class<?> testClass = extensionContext.getRequiredTestClass();
+    JsonResourceTestDelegate delegate = extensionContext.getStore(NAMESPACE).getOrComputeIfAbsent(
+          JsonResourceTestDelegate.class,
+          key -> new JsonResourceTestDelegate(() -> testClass),
+          JsonResourceTestDelegate.class);
+    // parameters of test methods get resolved after the beforeEach callbacks
+    extensionContext.getTestMethod()
+          .map(Method::getName)
+          .ifPresent(delegate::setTestMethodName);
+    return delegate;
+  }
+
+  private static List<JsonResourceTestDelegate> getDelegates(ExtensionContext context) {
+    List<JsonResourceTestDelegate> delegates = new ArrayList<>();
+    for (Object testInstance : context.getRequiredTestInstances().getAllInstances()) {
+      if (testInstance instanceof JsonResourceTestMixin) {
+        delegates.add(((JsonResourceTestMixin) testInstance).getJsonDelegate());
+      }
+    }
+    // a delegate injected into the test class constructor
+    JsonResourceTestDelegate injected = context.getStore(NAMESPACE)
+          .get(JsonResourceTestDelegate.class, JsonResourceTestDelegate.class);
+    if (injected != null) {
+      delegates.add(injected);
+    }
+    return delegates;
+  }
+}
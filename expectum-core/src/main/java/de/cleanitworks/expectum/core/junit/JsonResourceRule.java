@@ -0,0 +1,57 @@
+package de.cleanitworks.expectum.core.junit;
+
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * JUnit 4 rule providing the running test method to a {@link JsonResourceTestDelegate}.
+ *
+ * <p>The JUnit 4 counterpart of the {@link JsonResourceExtension}. Example:
+ * <pre>
+ *   public class MyTest extends JsonResourceTest {
+ *     &#64;Rule
+ *     public JsonResourceRule jsonRule = new JsonResourceRule(getJsonDelegate());
+ *     ...
+ *   }
+ * </pre>
+ */
+public class JsonResourceRule implements TestRule {
+
+  private final JsonResourceTestDelegate delegate;
+
+  public JsonResourceRule(JsonResourceTestDelegate delegate) {
+    this.delegate = requireNonNull(delegate);
+  }
+
+  public JsonResourceTestDelegate getJsonDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public Statement apply(Statement base, Description description) {
+    return new Statement() {
+      @Override
+      public void evaluate() throws Throwable {
+        delegate.setTestMethodName(toMethodName(description.getMethodName()));
+        try {
+          base.evaluate();
+        } finally {
+          delegate.setTestMethodName(null);
+        }
+      }
+    };
+  }
+
+  /**
+   * Removes the parameter suffix of parameterized test names. E.g. <code>myTest[0]</code>.
+   * Class rules don't have a method name (<code>null</code>).
+   */
+  static String toMethodName(String displayName) {
+    int paramStart = displayName != null ? displayName.indexOf('[') : -1;
+    return paramStart < 0 ? displayName : displayName.substring(0, paramStart);
+  }
+}
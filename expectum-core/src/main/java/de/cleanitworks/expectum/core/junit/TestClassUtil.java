@@ -1,8 +1,15 @@
 package de.cleanitworks.expectum.core.junit;
 
+import de.cleanitworks.expectum.core.jfr.TestMethodLookupEvent;
+
+import java.lang.StackWalker.StackFrame;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 public class TestClassUtil {
@@ -14,36 +21,69 @@ public class TestClassUtil {
           "org.junit.Test",
           "junit.framework.Test");
 
+  /**
+   * The names of the test methods of each class. Includes inherited test methods.
+   */
+  private static final ClassValue<Set<String>> TEST_METHOD_NAMES = new ClassValue<>() {
+    @Override
+    protected Set<String> computeValue(Class<?> testClass) {
+      return collectTestMethodNames(testClass);
+    }
+  };
+
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
   /**
    * Provides the name of @Test annotated method that is currently executed.
    *
+   * <p>The stack of the current thread gets walked up to the first frame of a method having the name of a test
+   * method of the given class (declared or inherited).
+   *
    * @param testClass the test class to find the running test method in.
    * @return the method name. Never <code>null</code>.
    */
   public static String getTestMethodName(Class<?> testClass) {
-    StackTraceElement[] elements = new Throwable().getStackTrace();
+    TestMethodLookupEvent event = new TestMethodLookupEvent();
+    event.begin();
+    Set<String> testMethodNames = TEST_METHOD_NAMES.get(testClass);
+
+    Optional<String> methodName = STACK_WALKER.walk(frames -> frames
+              .map(StackFrame::getMethodName)
+              .filter(testMethodNames::contains)
+              .findFirst());
+    event.commit(testClass, methodName.orElse(null));
+    return methodName.orElseThrow(() -> new IllegalArgumentException(
+            "Current stacktrace does not contain a method having one of the supported test annotations: "
+                + new ArrayList<>(TEST_ANNOTATIONS)));
+  }
 
-    for (StackTraceElement element : elements) {
-      Method method = findMethod(testClass, element.getMethodName());
+  private static Set<String> collectTestMethodNames(Class<?> testClass) {
+    Set<String> names = new HashSet<>();
+    Set<Class<?>> visited = new HashSet<>();
+    Deque<Class<?>> classes = new ArrayDeque<>();
+    classes.push(testClass);
 
-      if (method != null
-          && Arrays.stream(method.getAnnotations())
-              .anyMatch(a -> TEST_ANNOTATIONS.contains(a.annotationType().getName()))) {
-        return element.getMethodName();
+    while (!classes.isEmpty()) {
+      Class<?> cls = classes.pop();
+      if (cls == Object.class || !visited.add(cls)) {
+        continue;
       }
+      for (Method method : cls.getDeclaredMethods()) {
+        if (isTestMethod(method)) {
+          names.add(method.getName());
+        }
+      }
+      if (cls.getSuperclass() != null) {
+        classes.push(cls.getSuperclass());
+      }
+      // test interfaces may provide test methods as default methods
+      Arrays.stream(cls.getInterfaces()).forEach(classes::push);
     }
-
-    throw new IllegalArgumentException(
-        "Current stacktrace does not contain a method having one of the supported test annotations: "
-            + new ArrayList<>(TEST_ANNOTATIONS));
+    return Set.copyOf(names);
   }
 
-  private static Method findMethod(Class<?> testClass, String methodName) {
-    // XXX: finds just the first one. If there are more than one we might return not the correct
-    // method.
-    return Arrays.stream(testClass.getDeclaredMethods())
-        .filter(m -> m.getName().equals(methodName))
-        .findFirst()
-        .orElse(null);
+  private static boolean isTestMethod(Method method) {
+    return Arrays.stream(method.getAnnotations())
+        .anyMatch(a -> TEST_ANNOTATIONS.contains(a.annotationType().getName()));
   }
-}
\ No newline at end of file
+}
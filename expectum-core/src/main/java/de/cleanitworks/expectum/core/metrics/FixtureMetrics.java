@@ -0,0 +1,252 @@
+package de.cleanitworks.expectum.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Process wide recorder of the time and the allocated bytes spent in fixture operations, per test and per fixture.
+ *
+ * <p>Disabled by default. Enable it by the system property {@link #ENABLED_PROPERTY} or by
+ * {@link #setEnabled(boolean)}. The {@link de.cleanitworks.expectum.core.junit.FixtureMetricsListener} writes a
+ * report at the end of a test run.
+ *
+ * <p>Operations get measured by {@link Span}s. Spans of the same thread may be nested. Each span records only its
+ * exclusive part: Time and allocations of nested spans are recorded for the nested operation. E.g. parsing a file
+ * during a comparison counts as {@link FixtureOperation#PARSE}, not as {@link FixtureOperation#COMPARE}.
+ *
+ * <p>The allocated bytes are provided by the allocation counters of the {@link ThreadMXBean}. They are reported as
+ * 0 if the JVM does not support them.
+ */
+public final class FixtureMetrics {
+
+  /**
+   * Name of the system property enabling the metrics.
+   */
+  public static final String ENABLED_PROPERTY = "expectum.metrics";
+
+  /** Records operations that can not be related to a test. */
+  static final String UNKNOWN_TEST = "<unknown>";
+
+  private static final FixtureMetrics SHARED = new FixtureMetrics(Boolean.getBoolean(ENABLED_PROPERTY));
+
+  private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = allocationCounter();
+
+  private volatile boolean enabled;
+
+  private final Map<String, Map<FixtureOperation, Stat>> byTest = new ConcurrentHashMap<>();
+  private final Map<String, Stat> byFixture = new ConcurrentHashMap<>();
+
+  /** The innermost open span of each thread. */
+  private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+  /** The test running in each thread, if provided by a test framework integration. */
+  private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+
+  FixtureMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * @return the instance used by all {@link de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate}s of
+   *     this process.
+   */
+  public static FixtureMetrics shared() {
+    return SHARED;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * @param testId identifies the test running in the current thread. E.g. <code>my.pkg.MyTest#myMethod</code>.
+   *     <code>null</code> if the test has finished.
+   */
+  public void setCurrentTest(String testId) {
+    if (testId == null) {
+      currentTest.remove();
+    } else {
+      currentTest.set(testId);
+    }
+  }
+
+  /**
+   * Starts measuring an operation. To be closed when the operation is done, preferably by try-with-resources.
+   *
+   * @param operation the kind of the operation.
+   * @param fixture the fixture the operation works on. E.g. <code>MyTest.json#/myMethod/expected</code>.
+   *     <code>null</code> if the operation is not related to a specific fixture.
+   * @param testId provides the test the operation belongs to, if not already known by
+   *     {@link #setCurrentTest(String)} or an enclosing span. Gets only called if the metrics are enabled.
+   * @return the span measuring the operation. A no-op span if the metrics are disabled.
+   */
+  public Span start(FixtureOperation operation, String fixture, Supplier<String> testId) {
+    if (!enabled) {
+      return Span.NONE;
+    }
+    Span parent = currentSpan.get();
+    String test = parent != null ? parent.testId : currentTest.get();
+    if (test == null) {
+      test = testId != null ? testId.get() : null;
+    }
+    if (test == null) {
+      test = UNKNOWN_TEST;
+    }
+    Span span = new Span(this, requireNonNull(operation), fixture, test, parent);
+    currentSpan.set(span);
+    return span;
+  }
+
+  /**
+   * @return the recorded statistics per test and operation. Tests in order of their total time, slowest first.
+   */
+  public Map<String, Map<FixtureOperation, Stat>> getTestStats() {
+    return byTest.entrySet().stream()
+          .sorted(Comparator.comparingLong((Map.Entry<String, Map<FixtureOperation, Stat>> e) ->
+                total(e.getValue())).reversed())
+          .collect(Collectors.toMap(Map.Entry::getKey, e -> new EnumMap<>(e.getValue()),
+                (a, b) -> a, LinkedHashMap::new));
+  }
+
+  /**
+   * @param limit the maximum number of fixtures to provide.
+   * @return the fixtures having the highest total time of all operations, slowest first.
+   */
+  public List<Map.Entry<String, Stat>> getSlowestFixtures(int limit) {
+    return byFixture.entrySet().stream()
+          .sorted(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().getNanos()).reversed())
+          .limit(limit)
+          .map(e -> Map.entry(e.getKey(), e.getValue()))
+          .collect(Collectors.toList());
+  }
+
+  public boolean isEmpty() {
+    return byTest.isEmpty();
+  }
+
+  /**
+   * Removes all recorded statistics.
+   */
+  public void clear() {
+    byTest.clear();
+    byFixture.clear();
+  }
+
+  private static long total(Map<FixtureOperation, Stat> stats) {
+    return stats.values().stream().mapToLong(Stat::getNanos).sum();
+  }
+
+  private void record(Span span, long nanos, long bytes) {
+    byTest.computeIfAbsent(span.testId, t -> new ConcurrentHashMap<>())
+          .computeIfAbsent(span.operation, o -> new Stat())
+          .add(nanos, bytes);
+    if (span.fixture != null) {
+      byFixture.computeIfAbsent(span.fixture, f -> new Stat()).add(nanos, bytes);
+    }
+  }
+
+  static long allocatedBytes() {
+    return ALLOCATION_COUNTER != null
+          ? ALLOCATION_COUNTER.getThreadAllocatedBytes(Thread.currentThread().getId())
+          : 0;
+  }
+
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+      if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+        return counter;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Measures a single operation.
+   */
+  public static final class Span implements AutoCloseable {
+
+    /** Used if the metrics are disabled. */
+    static final Span NONE = new Span(null, null, null, null, null);
+
+    private final FixtureMetrics metrics;
+    private final FixtureOperation operation;
+    private final String fixture;
+    private final String testId;
+    private final Span parent;
+    private final long startNanos;
+    private final long startBytes;
+    private long nestedNanos;
+    private long nestedBytes;
+
+    private Span(FixtureMetrics metrics, FixtureOperation operation, String fixture, String testId, Span parent) {
+      this.metrics = metrics;
+      this.operation = operation;
+      this.fixture = fixture;
+      this.testId = testId;
+      this.parent = parent;
+      this.startBytes = metrics != null ? allocatedBytes() : 0;
+      this.startNanos = metrics != null ? System.nanoTime() : 0;
+    }
+
+    @Override
+    public void close() {
+      if (metrics == null) {
+        return;
+      }
+      long nanos = System.nanoTime() - startNanos;
+      long bytes = allocatedBytes() - startBytes;
+      metrics.record(this, nanos - nestedNanos, bytes - nestedBytes);
+      if (parent != null) {
+        parent.nestedNanos += nanos;
+        parent.nestedBytes += bytes;
+        metrics.currentSpan.set(parent);
+      } else {
+        metrics.currentSpan.remove();
+      }
+    }
+  }
+
+  /**
+   * Accumulated measurements.
+   */
+  public static final class Stat {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    void add(long nanos, long allocatedBytes) {
+      this.count.increment();
+      this.nanos.add(nanos);
+      this.allocatedBytes.add(allocatedBytes);
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getNanos() {
+      return nanos.sum();
+    }
+
+    public long getAllocatedBytes() {
+      return allocatedBytes.sum();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package de.cleanitworks.expectum.core.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes the statistics recorded by {@link FixtureMetrics} as json and csv files.
+ *
+ * <p>The json report lists the tests, slowest first, with their measurements per operation, followed by the
+ * slowest fixtures. The csv report has one line per test and operation.
+ */
+public final class FixtureMetricsReport {
+
+  /** Name of the json report file. */
+  public static final String JSON_FILE = "expectum-metrics.json";
+
+  /** Name of the csv report file. */
+  public static final String CSV_FILE = "expectum-metrics.csv";
+
+  /** Number of fixtures listed in the "slowest fixtures" summary. */
+  static final int SLOWEST_FIXTURES = 20;
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final FixtureMetrics metrics;
+
+  public FixtureMetricsReport(FixtureMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Writes the json and the csv report to the given directory.
+   *
+   * @param dir the target directory. Gets created if missing.
+   * @throws IOException if writing fails.
+   */
+  public void write(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    try (Writer out = Files.newBufferedWriter(dir.resolve(JSON_FILE), UTF_8)) {
+      writeJson(out);
+    }
+    try (Writer out = Files.newBufferedWriter(dir.resolve(CSV_FILE), UTF_8)) {
+      writeCsv(out);
+    }
+  }
+
+  void writeJson(Writer out) throws IOException {
+    try (JsonGenerator json = JSON_FACTORY.createGenerator(out).useDefaultPrettyPrinter()) {
+      json.writeStartObject();
+      json.writeArrayFieldStart("tests");
+      for (Map.Entry<String, Map<FixtureOperation, FixtureMetrics.Stat>> test : metrics.getTestStats().entrySet()) {
+        json.writeStartObject();
+        json.writeStringField("test", test.getKey());
+        json.writeObjectFieldStart("operations");
+        for (Map.Entry<FixtureOperation, FixtureMetrics.Stat> operation : test.getValue().entrySet()) {
+          json.writeFieldName(operation.getKey().name());
+          writeStat(json, operation.getValue());
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+
+      json.writeArrayFieldStart("slowestFixtures");
+      for (Map.Entry<String, FixtureMetrics.Stat> fixture : metrics.getSlowestFixtures(SLOWEST_FIXTURES)) {
+        json.writeStartObject();
+        json.writeStringField("fixture", fixture.getKey());
+        json.writeFieldName("total");
+        writeStat(json, fixture.getValue());
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
+
+  void writeCsv(Writer out) throws IOException {
+    out.write("test,operation,count,nanos,allocatedBytes\n");
+    for (Map.Entry<String, Map<FixtureOperation, FixtureMetrics.Stat>> test : metrics.getTestStats().entrySet()) {
+      for (Map.Entry<FixtureOperation, FixtureMetrics.Stat> operation : test.getValue().entrySet()) {
+        FixtureMetrics.Stat stat = operation.getValue();
+        out.write(csvValue(test.getKey()) + "," + operation.getKey() + "," + stat.getCount() + ","
+              + stat.getNanos() + "," + stat.getAllocatedBytes() + "\n");
+      }
+    }
+  }
+
+  private static void writeStat(JsonGenerator json, FixtureMetrics.Stat stat) throws IOException {
+    json.writeStartObject();
+    json.writeNumberField("count", stat.getCount());
+    json.writeNumberField("nanos", stat.getNanos());
+    json.writeNumberField("allocatedBytes", stat.getAllocatedBytes());
+    json.writeEndObject();
+  }
+
+  /**
+   * Test names may contain commas, e.g. parameterized test display names.
+   */
+  private static String csvValue(String value) {
+    return value.indexOf(',') < 0 && value.indexOf('"') < 0
+          ? value
+          : "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+}
@@ -0,0 +1,25 @@
+package de.cleanitworks.expectum.core.metrics;
+
+/**
+ * The kinds of fixture work measured by {@link FixtureMetrics}.
+ */
+public enum FixtureOperation {
+
+  /** Lookup of a fixture resource file. */
+  LOAD,
+
+  /** Reading and parsing a fixture file into a tree. */
+  PARSE,
+
+  /** Locating a node in a fixture file by its json pointer. */
+  RESOLVE,
+
+  /** Serialization of beans and expected nodes to json strings. */
+  SERIALIZE,
+
+  /** Conversion of fixture content to beans. */
+  DESERIALIZE,
+
+  /** Comparison of a bean with expected fixture content. */
+  COMPARE
+}
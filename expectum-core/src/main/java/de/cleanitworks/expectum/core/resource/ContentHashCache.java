@@ -0,0 +1,218 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Process wide cache of content hashes of expected json nodes
+ * (see {@link JsonResourceTestDelegate#assertJsonNode(Object, String)}).
+ *
+ * <p>A hash is the SHA-256 digest of the serialized node. It is computed by writing the node to a digesting
+ * stream. No json string gets built. A matching hash of the serialized bean proves the content to be equal
+ * without comparing strings or trees.
+ *
+ * <p>Entries are identified by the resource file, its version, the node pointer, the identity of the mapper that
+ * writes the node and the serialization form (plain or canonical). The number of entries is bounded. The least
+ * recently used entry gets evicted if the limit is exceeded. Delegates use the cache only for shared mappers, which
+ * don't change their configuration.
+ */
+public final class ContentHashCache {
+
+  /**
+   * Name of the system property that may be used to adjust the number of cached hashes.
+   */
+  public static final String MAX_ENTRIES_PROPERTY = "expectum.hashCache.maxEntries";
+
+  static final int DEFAULT_MAX_ENTRIES = 4096;
+
+  private static final String ALGORITHM = "SHA-256";
+
+  private static final ContentHashCache SHARED =
+        new ContentHashCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+
+  private final int maxEntries;
+
+  /** Access ordered map. Guarded by its own monitor. */
+  private final Map<Key, byte[]> hashes;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  ContentHashCache(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries should be positive, but was: " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    this.hashes = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+        boolean evict = size() > ContentHashCache.this.maxEntries;
+        if (evict) {
+          evictionCount.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  /**
+   * @return the cache instance shared by all {@link JsonResourceTestDelegate}s of this process.
+   */
+  public static ContentHashCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Provides the cached hash of the referenced node. Calls the hasher if there is no cached hash yet.
+   *
+   * <p>The hasher is called outside the cache lock. Concurrent requests for the same node may compute the hash
+   * more than once. The result is the same.
+   *
+   * @param file the resource file containing the node.
+   * @param nodePtr the absolute json pointer of the node.
+   * @param mapper the mapper that writes the node.
+   * @param canonical <code>true</code> if the node gets written in canonical form.
+   * @param hasher computes the hash. Gets only called on a cache miss.
+   * @return the hash of the node. Must not be modified by the caller.
+   */
+  byte[] get(ResourceFile file, String nodePtr, ObjectMapper mapper, boolean canonical, Supplier<byte[]> hasher) {
+    Key key = new Key(file, nodePtr, mapper, canonical);
+    synchronized (hashes) {
+      byte[] hash = hashes.get(key);
+      if (hash != null) {
+        hitCount.incrementAndGet();
+        return hash;
+      }
+    }
+
+    missCount.incrementAndGet();
+    byte[] hash = requireNonNull(hasher.get());
+    synchronized (hashes) {
+      hashes.put(key, hash);
+    }
+    return hash;
+  }
+
+  /**
+   * Computes the hash of content written by the given writer.
+   *
+   * @param writer writes the content to hash.
+   * @return the SHA-256 digest of the written bytes.
+   */
+  static byte[] hash(ContentWriter writer) {
+    MessageDigest digest = newDigest();
+    try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+      writer.writeTo(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to hash json content", e);
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Removes all cached hashes. The statistic counters stay unchanged.
+   */
+  public void clear() {
+    synchronized (hashes) {
+      hashes.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (hashes) {
+      return hashes.size();
+    }
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return "ContentHashCache{size=" + size() + ", maxEntries=" + maxEntries + ", hits=" + getHitCount()
+          + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      // each java platform supports SHA-256
+      throw new IllegalStateException("Missing message digest algorithm: " + ALGORITHM, e);
+    }
+  }
+
+  /**
+   * Writes content to hash.
+   */
+  @FunctionalInterface
+  interface ContentWriter {
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  private static final class Key {
+    private final Class<?> ctxtClass;
+    private final String fileName;
+    private final long version;
+    private final String nodePtr;
+    private final ObjectMapper mapper;
+    private final boolean canonical;
+
+    Key(ResourceFile file, String nodePtr, ObjectMapper mapper, boolean canonical) {
+      this.ctxtClass = file.getCtxtClass();
+      this.fileName = file.getFileName();
+      this.version = file.version();
+      this.nodePtr = requireNonNull(nodePtr);
+      this.mapper = requireNonNull(mapper);
+      this.canonical = canonical;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return ctxtClass == other.ctxtClass && fileName.equals(other.fileName) && version == other.version
+            && nodePtr.equals(other.nodePtr) && mapper == other.mapper && canonical == other.canonical;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 31 * ctxtClass.hashCode() + fileName.hashCode();
+      result = 31 * result + Long.hashCode(version);
+      result = 31 * result + nodePtr.hashCode();
+      result = 31 * result + System.identityHashCode(mapper);
+      return 31 * result + Boolean.hashCode(canonical);
+    }
+  }
+}
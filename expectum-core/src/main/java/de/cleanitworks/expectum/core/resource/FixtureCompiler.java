@@ -0,0 +1,269 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Compiles fixture files of all {@link de.cleanitworks.expectum.core.format.FixtureFormat formats} into the binary
+ * form of {@link StoredJson}. Intended to run at build time, e.g. by the <code>expectum-maven-plugin</code>.
+ *
+ * <p>The compiled form of <code>MyTest.json</code> is written beside it as <code>MyTest.json.bin</code>. It remembers
+ * the version of its source file (see {@link ResourceFile#version()}). A {@link JsonResourceTestDelegate} reads the
+ * compiled form as long as the source file has not changed since the compilation and the delegate uses the default
+ * mapper. Otherwise, or if there is no compiled form, it reads the source file.
+ *
+ * <p>Compiled files start with the magic number {@link #MAGIC}, the format version and the source file version,
+ * followed by the stored json.
+ */
+public final class FixtureCompiler {
+
+  /**
+   * Appended to the source file name to get the name of the compiled file.
+   */
+  public static final String COMPILED_SUFFIX = ".bin";
+
+  static final int MAGIC = 0x45585043; // "EXPC"
+
+  private static final int HEADER_SIZE = 16;
+
+  /** Marks source files without compiled form in {@link #COMPILED}. */
+  private static final Optional<StoredJson> NOT_COMPILED = Optional.empty();
+
+  /** The compiled form of each source file url. */
+  private static final Map<String, Entry> COMPILED = new ConcurrentHashMap<>();
+
+  private final ObjectMapper mapper;
+
+  /**
+   * Uses the default mapper of the {@link JsonResourceTestDelegate}.
+   */
+  public FixtureCompiler() {
+    this(JsonResourceTestDelegate.DEFAULT_MAPPER);
+  }
+
+  /**
+   * @param mapper parses the source files.
+   */
+  public FixtureCompiler(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /**
+   * Compiles all fixture files within the given directory and its subdirectories. Files having an up-to-date
+   * compiled form are skipped.
+   *
+   * @param dir the directory, e.g. <code>target/test-classes</code>.
+   * @return the compiled, skipped and malformed files.
+   * @throws UncheckedIOException if the directory can't be read or a compiled file can't be written.
+   */
+  public Result compile(Path dir) {
+    List<Path> sources;
+    try (Stream<Path> files = Files.walk(dir)) {
+      sources = files.filter(FixtureCompiler::isSource).sorted().collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read fixture directory: " + dir, e);
+    }
+
+    List<Path> compiled = new ArrayList<>();
+    int upToDate = 0;
+    Map<Path, String> errors = new TreeMap<>();
+    for (Path source : sources) {
+      try {
+        if (compileFile(source)) {
+          compiled.add(source);
+        } else {
+          upToDate++;
+        }
+      } catch (IllegalArgumentException e) {
+        errors.put(source, e.getMessage());
+      }
+    }
+    return new Result(compiled, upToDate, errors);
+  }
+
+  /**
+   * @return <code>true</code> if the file was compiled. <code>false</code> if the compiled form is up-to-date.
+   * @throws IllegalArgumentException if the file is malformed.
+   */
+  private boolean compileFile(Path source) {
+    Path target = source.resolveSibling(source.getFileName() + COMPILED_SUFFIX);
+    try {
+      long sourceVersion = Files.getLastModifiedTime(source).toMillis();
+      if (Files.exists(target) && readSourceVersion(target) == sourceVersion) {
+        return false;
+      }
+      JsonNode root = parse(source);
+      byte[] storedJson = StoredJson.encode(root);
+      ByteBuffer content = ByteBuffer.allocate(HEADER_SIZE + storedJson.length)
+            .putInt(MAGIC)
+            .putInt(StoredJson.FORMAT_VERSION)
+            .putLong(sourceVersion)
+            .put(storedJson);
+      Files.write(target, content.array());
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to compile fixture file: " + source, e);
+    }
+  }
+
+  private JsonNode parse(Path source) throws IOException {
+    JsonFactory factory = FixtureFormats.factory(source.getFileName().toString(), mapper);
+    try (JsonParser parser = factory.createParser(source.toFile())) {
+      JsonNode root = mapper.readTree(parser);
+      if (root == null || !root.isContainerNode()) {
+        throw new IllegalArgumentException("The root of a fixture file should be an object or an array.");
+      }
+      return root;
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException(e.getOriginalMessage(), e);
+    }
+  }
+
+  private static long readSourceVersion(Path target) throws IOException {
+    try (InputStream in = Files.newInputStream(target)) {
+      ByteBuffer header = ByteBuffer.wrap(in.readNBytes(HEADER_SIZE));
+      return isValidHeader(header) ? header.getLong(8) : -1;
+    }
+  }
+
+  private static boolean isValidHeader(ByteBuffer header) {
+    return header.limit() >= HEADER_SIZE && header.getInt(0) == MAGIC
+          && header.getInt(4) == StoredJson.FORMAT_VERSION;
+  }
+
+  private static boolean isSource(Path file) {
+    return FixtureFormats.isFixture(file.getFileName().toString()) && Files.isRegularFile(file);
+  }
+
+  /**
+   * Provides the compiled form of the given source file, if there is an up-to-date one.
+   *
+   * @param source the fixture file.
+   * @param sourceVersion the current version of the source file.
+   * @return the compiled form or <code>null</code>.
+   */
+  static StoredJson compiled(ResourceFile source, long sourceVersion) {
+    return COMPILED.compute(source.getUrl().toString(),
+          (url, entry) -> entry != null && entry.sourceVersion == sourceVersion
+                ? entry : new Entry(sourceVersion, load(source, sourceVersion)))
+          .storedJson.orElse(null);
+  }
+
+  /**
+   * Forgets the compiled forms read by this JVM.
+   */
+  static void clear() {
+    COMPILED.clear();
+  }
+
+  private static Optional<StoredJson> load(ResourceFile source, long sourceVersion) {
+    ResourceFile target = ResourceFile.find(source.getCtxtClass(), source.getFileName() + COMPILED_SUFFIX);
+    if (target == null) {
+      return NOT_COMPILED;
+    }
+    try {
+      ByteBuffer content = read(target);
+      if (!isValidHeader(content) || content.getLong(8) != sourceVersion) {
+        return NOT_COMPILED;
+      }
+      content.position(HEADER_SIZE);
+      ByteBuffer storedJson = content.slice();
+      return StoredJson.isValid(storedJson) ? Optional.of(StoredJson.of(storedJson)) : NOT_COMPILED;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read compiled fixture file '" + target.getFileName() + "'.", e);
+    }
+  }
+
+  /**
+   * Maps compiled files located on the file system. Others, e.g. packed in a jar, get read into the heap.
+   */
+  private static ByteBuffer read(ResourceFile file) throws IOException {
+    Path path = file.getFilePath();
+    if (path == null) {
+      try (InputStream in = file.openStream()) {
+        return ByteBuffer.wrap(in.readAllBytes());
+      }
+    }
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Outcome of a {@link #compile(Path)} run.
+   */
+  public static final class Result {
+    private final List<Path> compiled;
+    private final int upToDateCount;
+    private final Map<Path, String> errors;
+
+    Result(List<Path> compiled, int upToDateCount, Map<Path, String> errors) {
+      this.compiled = Collections.unmodifiableList(compiled);
+      this.upToDateCount = upToDateCount;
+      this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * @return the source files compiled by the run.
+     */
+    public List<Path> getCompiled() {
+      return compiled;
+    }
+
+    /**
+     * @return the number of source files having an up-to-date compiled form.
+     */
+    public int getUpToDateCount() {
+      return upToDateCount;
+    }
+
+    /**
+     * @return the error messages of the malformed source files.
+     */
+    public Map<Path, String> getErrors() {
+      return errors;
+    }
+
+    public boolean hasErrors() {
+      return !errors.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+      return "Compiled " + compiled.size() + " fixture files, " + upToDateCount + " up-to-date"
+            + (hasErrors() ? ", " + errors.size() + " malformed" : "");
+    }
+  }
+
+  private static final class Entry {
+    private final long sourceVersion;
+    private final Optional<StoredJson> storedJson;
+
+    private Entry(long sourceVersion, Optional<StoredJson> storedJson) {
+      this.sourceVersion = sourceVersion;
+      this.storedJson = storedJson;
+    }
+  }
+}
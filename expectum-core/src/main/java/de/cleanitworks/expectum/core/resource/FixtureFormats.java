@@ -0,0 +1,91 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.format.FixtureFormat;
+import de.cleanitworks.expectum.core.format.JsonFixtureFormat;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * The available {@link FixtureFormat}s, discovered by the {@link ServiceLoader} once.
+ *
+ * <p>The formats are ordered by their discovery, with json first. If a class has fixture files of several formats,
+ * the first one gets read by {@link JsonResourceTestDelegate#json(Class, String)}. For duplicate extensions, the
+ * first discovered format wins.
+ */
+final class FixtureFormats {
+
+  /** Factory of each available file extension. */
+  private static final Map<String, JsonFactory> FACTORIES = load();
+
+  private static final List<String> EXTENSIONS = List.copyOf(FACTORIES.keySet());
+
+  /** Resolved fixture file name of each class. */
+  private static final ClassValue<String> FILE_NAMES = new ClassValue<>() {
+    @Override
+    protected String computeValue(Class<?> cls) {
+      for (String extension : EXTENSIONS) {
+        String fileName = cls.getSimpleName() + "." + extension;
+        if (ResourceFile.find(cls, fileName) != null) {
+          return fileName;
+        }
+      }
+      // the resulting "not found" message refers to the json file
+      return cls.getSimpleName() + "." + JsonFixtureFormat.EXTENSION;
+    }
+  };
+
+  private FixtureFormats() {
+  }
+
+  /**
+   * @return the extensions of the available formats without leading dot, json first.
+   */
+  static List<String> extensions() {
+    return EXTENSIONS;
+  }
+
+  /**
+   * @param ctxtClass the class to get the fixture file for.
+   * @return the name of the fixture file of the class in the first format having such a file. E.g.
+   *     <code>MyTest.json</code> or <code>MyTest.jsonl</code>. The json file name if there is none.
+   */
+  static String fixtureFileName(Class<?> ctxtClass) {
+    return FILE_NAMES.get(ctxtClass);
+  }
+
+  /**
+   * @param fileName the fixture file name.
+   * @param mapper the resource file mapper. Its factory parses json files, so that the mapper features apply.
+   * @return the factory parsing the file. <code>null</code> if there is no format for the file extension.
+   */
+  static JsonFactory factory(String fileName, ObjectMapper mapper) {
+    String extension = StringUtils.substringAfterLast(fileName, ".");
+    return JsonFixtureFormat.EXTENSION.equals(extension) ? mapper.getFactory() : FACTORIES.get(extension);
+  }
+
+  /**
+   * @return <code>true</code> if there is a format for the extension of the file name.
+   */
+  static boolean isFixture(String fileName) {
+    return FACTORIES.containsKey(StringUtils.substringAfterLast(fileName, "."));
+  }
+
+  private static Map<String, JsonFactory> load() {
+    Map<String, JsonFactory> factories = new LinkedHashMap<>();
+    factories.put(JsonFixtureFormat.EXTENSION, new JsonFixtureFormat().createFactory());
+    for (FixtureFormat format : ServiceLoader.load(FixtureFormat.class, FixtureFormat.class.getClassLoader())) {
+      JsonFactory factory = factories.containsKey(format.getExtension()) ? null : format.createFactory();
+      if (factory != null) {
+        factories.put(format.getExtension(), factory);
+      }
+    }
+    return Collections.unmodifiableMap(factories);
+  }
+}
@@ -0,0 +1,293 @@
+package de.cleanitworks.expectum.core.resource;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the fixture files of all {@link de.cleanitworks.expectum.core.format.FixtureFormat formats}, including
+ * their compiled forms (see {@link FixtureCompiler}), located in the classpath roots of a class loader.
+ *
+ * <p>The classpath roots (directories and jars, including jars referenced by a manifest <code>Class-Path</code>)
+ * get scanned once, when a fixture of the class loader is requested for the first time. Subsequent lookups are
+ * simple map lookups.
+ *
+ * <p>Each index covers only the roots known for its class loader: the <code>java.class.path</code> of the system
+ * class loader and the urls of {@link URLClassLoader}s. Files missing in the index, e.g. created after the scan or
+ * provided by other kinds of class loaders, get resolved by {@link Class#getResource(String)}.
+ */
+final class FixtureIndex {
+
+  /** Suggested files in the same package may differ by that number of characters. */
+  private static final int MAX_SUGGESTION_DISTANCE = 3;
+
+  private static final int MAX_SUGGESTIONS = 3;
+
+  /** Guarded by its own monitor. */
+  private static final Map<ClassLoader, FixtureIndex> INDEXES = new WeakHashMap<>();
+
+  /** Package paths like <code>de/cleanitworks/expectum</code>. */
+  private static final ClassValue<String> PACKAGE_PATHS = new ClassValue<>() {
+    @Override
+    protected String computeValue(Class<?> cls) {
+      return cls.getPackageName().replace('.', '/');
+    }
+  };
+
+  /** Fixture urls by resource path. E.g. <code>de/foo/BarTest.json</code>. The first root wins. */
+  private final Map<String, URL> urls;
+
+  private FixtureIndex(Map<String, URL> urls) {
+    this.urls = urls;
+  }
+
+  /**
+   * @param ctxtClass the class the file belongs to.
+   * @param fileName the simple name of the file. E.g. <code>MyTest.json</code>
+   * @return the resource path of the file within the package of the class. E.g. <code>de/foo/MyTest.json</code>
+   */
+  static String resourcePath(Class<?> ctxtClass, String fileName) {
+    String packagePath = PACKAGE_PATHS.get(ctxtClass);
+    return packagePath.isEmpty() ? fileName : packagePath + "/" + fileName;
+  }
+
+  /**
+   * Looks up the fixture in the indexes of the given class loader and its parents. Parents first, like
+   * {@link ClassLoader#getResource(String)}.
+   *
+   * @param loader the class loader of the class to get the resource for. <code>null</code> for the bootstrap loader.
+   * @param resourcePath the path of the resource. No leading slash.
+   * @return the url of the fixture or <code>null</code> if it is not indexed.
+   */
+  static URL find(ClassLoader loader, String resourcePath) {
+    for (ClassLoader l : parentsFirst(loader)) {
+      URL url = of(l).urls.get(resourcePath);
+      if (url != null) {
+        return url;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Provides similar fixtures of the indexes of the given class loader and its parents: Files of the same name in
+   * other packages and files of similar names in the same package.
+   *
+   * @param loader the class loader of the class to get the resource for. <code>null</code> for the bootstrap loader.
+   * @param resourcePath the path of the missing resource. No leading slash.
+   * @return the resource paths of similar fixtures, best match first.
+   */
+  static List<String> suggest(ClassLoader loader, String resourcePath) {
+    String fileName = StringUtils.substringAfterLast("/" + resourcePath, "/");
+    String packagePath = StringUtils.substringBeforeLast("/" + resourcePath, "/");
+
+    Set<String> paths = new HashSet<>();
+    for (ClassLoader l : parentsFirst(loader)) {
+      paths.addAll(of(l).urls.keySet());
+    }
+    return paths.stream()
+          .filter(path -> !path.endsWith(FixtureCompiler.COMPILED_SUFFIX))
+          .map(path -> new Suggestion(path, distance(path, packagePath, fileName)))
+          .filter(s -> s.distance >= 0)
+          .sorted(Comparator.comparingInt((Suggestion s) -> s.distance).thenComparing(s -> s.path))
+          .limit(MAX_SUGGESTIONS)
+          .map(s -> s.path)
+          .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the index of the given class loader. Gets built on the first call.
+   */
+  static FixtureIndex of(ClassLoader loader) {
+    synchronized (INDEXES) {
+      return INDEXES.computeIfAbsent(loader, l -> new FixtureIndex(scan(roots(l))));
+    }
+  }
+
+  int size() {
+    return urls.size();
+  }
+
+  /**
+   * @return a distance weighting same package matches before matches in other packages. <code>-1</code> if the path
+   *     is no suitable suggestion.
+   */
+  private static int distance(String path, String packagePath, String fileName) {
+    String pathFileName = StringUtils.substringAfterLast("/" + path, "/");
+    if (StringUtils.substringBeforeLast("/" + path, "/").equals(packagePath)) {
+      return levenshteinDistance(pathFileName.toLowerCase(Locale.ROOT), fileName.toLowerCase(Locale.ROOT),
+            MAX_SUGGESTION_DISTANCE);
+    }
+    return pathFileName.equals(fileName) ? MAX_SUGGESTION_DISTANCE + 1 : -1;
+  }
+
+  /**
+   * @return the number of single character edits needed to change one string into the other. <code>-1</code> if
+   *     that number exceeds the threshold.
+   */
+  static int levenshteinDistance(String a, String b, int threshold) {
+    if (Math.abs(a.length() - b.length()) > threshold) {
+      return -1;
+    }
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      int rowMin = i;
+      for (int j = 1; j <= b.length(); j++) {
+        int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > threshold) {
+        return -1;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return previous[b.length()] <= threshold ? previous[b.length()] : -1;
+  }
+
+  private static List<ClassLoader> parentsFirst(ClassLoader loader) {
+    List<ClassLoader> loaders = new ArrayList<>();
+    for (ClassLoader l = loader; l != null; l = l.getParent()) {
+      loaders.add(0, l);
+    }
+    return loaders;
+  }
+
+  /**
+   * @return the classpath roots belonging to the given class loader itself. Not those of its parents.
+   */
+  private static List<Path> roots(ClassLoader loader) {
+    List<Path> roots = new ArrayList<>();
+    if (loader == ClassLoader.getSystemClassLoader()) {
+      for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+        if (!entry.isEmpty()) {
+          roots.add(Paths.get(entry));
+        }
+      }
+    } else if (loader instanceof URLClassLoader) {
+      for (URL url : ((URLClassLoader) loader).getURLs()) {
+        Path root = toPath(url);
+        if (root != null) {
+          roots.add(root);
+        }
+      }
+    }
+    return roots;
+  }
+
+  private static Map<String, URL> scan(List<Path> roots) {
+    Map<String, URL> urls = new HashMap<>();
+    Set<Path> visited = new HashSet<>();
+    Deque<Path> pending = new ArrayDeque<>(roots);
+    while (!pending.isEmpty()) {
+      Path root = pending.poll().toAbsolutePath().normalize();
+      if (!visited.add(root)) {
+        continue;
+      }
+      try {
+        if (Files.isDirectory(root)) {
+          scanDirectory(root, urls);
+        } else if (Files.isRegularFile(root)) {
+          scanJar(root, urls, pending);
+        }
+      } catch (IOException | UncheckedIOException e) {
+        // unreadable roots don't provide fixtures; the class loader would fail on them as well
+      }
+    }
+    return urls;
+  }
+
+  private static void scanDirectory(Path root, Map<String, URL> urls) throws IOException {
+    try (Stream<Path> files = Files.walk(root)) {
+      for (Path file : (Iterable<Path>) files.filter(FixtureIndex::isFixture)::iterator) {
+        String resourcePath = root.relativize(file).toString().replace(File.separatorChar, '/');
+        urls.putIfAbsent(resourcePath, file.toUri().toURL());
+      }
+    }
+  }
+
+  /**
+   * Indexes the fixtures of the jar. Jars referenced by its manifest get added to the pending roots.
+   */
+  private static void scanJar(Path jar, Map<String, URL> urls, Deque<Path> pending) throws IOException {
+    try (JarFile jarFile = new JarFile(jar.toFile())) {
+      String jarUrl = "jar:" + jar.toUri() + "!/";
+      for (JarEntry entry : (Iterable<JarEntry>) jarFile.stream()::iterator) {
+        if (!entry.isDirectory() && hasFixtureExtension(entry.getName())) {
+          urls.putIfAbsent(entry.getName(), new URL(jarUrl + entry.getName()));
+        }
+      }
+      Manifest manifest = jarFile.getManifest();
+      String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+      if (classPath != null) {
+        for (String entry : classPath.trim().split("\\s+")) {
+          Path root = toPath(new URL(jar.toUri().toURL(), entry));
+          if (root != null) {
+            pending.add(root);
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean isFixture(Path file) {
+    return Files.isRegularFile(file) && hasFixtureExtension(file.getFileName().toString());
+  }
+
+  private static boolean hasFixtureExtension(String name) {
+    return FixtureFormats.isFixture(StringUtils.removeEnd(name, FixtureCompiler.COMPILED_SUFFIX));
+  }
+
+  private static Path toPath(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return Paths.get(url.toURI());
+    } catch (URISyntaxException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static final class Suggestion {
+    private final String path;
+    private final int distance;
+
+    private Suggestion(String path, int distance) {
+      this.path = path;
+      this.distance = distance;
+    }
+  }
+}
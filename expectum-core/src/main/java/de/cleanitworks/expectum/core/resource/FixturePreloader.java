@@ -0,0 +1,178 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Parses the fixture files of test classes into the {@link JsonResourceCache} ahead of the tests.
+ *
+ * <p>The files get parsed in parallel by the given executor. Tests requesting a file that is still being parsed wait
+ * for that parse operation instead of starting another one. Intended to overlap the parsing with other expensive
+ * setup, like building a Hibernate session factory.
+ *
+ * <p>Only files that a {@link JsonResourceTestDelegate} having the default configuration would cache get preloaded:
+ * Files reaching the default streaming threshold are skipped and the number of files is limited by the cache
+ * capacity. The files are parsed by the default mapper or the given shared mapper. The preloaded trees serve only
+ * delegates using the same mapper (see {@link JsonResourceTestDelegate#setSharedObjectMapper(ObjectMapper)}).
+ */
+public final class FixturePreloader {
+
+  private final Executor executor;
+  private final JsonResourceCache cache;
+  private final long streamingThreshold;
+  private final ObjectMapper mapper;
+
+  /**
+   * Uses the default mapper of the {@link JsonResourceTestDelegate}.
+   *
+   * @param executor parses the files.
+   */
+  public FixturePreloader(Executor executor) {
+    this(executor, JsonResourceTestDelegate.DEFAULT_MAPPER);
+  }
+
+  /**
+   * @param executor parses the files.
+   * @param sharedMapper parses the files. Should be the mapper the tests pass to
+   *     {@link JsonResourceTestDelegate#setSharedObjectMapper(ObjectMapper)}.
+   */
+  public FixturePreloader(Executor executor, ObjectMapper sharedMapper) {
+    this(executor, JsonResourceCache.shared(), Long.getLong(
+          JsonResourceTestDelegate.STREAMING_THRESHOLD_PROPERTY, JsonResourceTestDelegate.DEFAULT_STREAMING_THRESHOLD),
+          sharedMapper);
+  }
+
+  FixturePreloader(Executor executor, JsonResourceCache cache, long streamingThreshold, ObjectMapper mapper) {
+    this.executor = requireNonNull(executor);
+    this.cache = requireNonNull(cache);
+    this.streamingThreshold = streamingThreshold;
+    this.mapper = requireNonNull(mapper);
+  }
+
+  /**
+   * Starts preloading the files of the given test classes. Returns immediately.
+   *
+   * @param testClasses the classes to preload the files for. E.g. <code>MyTest.json</code> and
+   *     <code>MyTest.hjson</code> for the class <code>MyTest</code>.
+   * @return completes when all files are parsed. Unreadable files are counted as failed, the related tests will
+   *     report the problem.
+   */
+  public CompletableFuture<Result> preload(Collection<Class<?>> testClasses) {
+    long startNanos = System.nanoTime();
+    List<Class<?>> classes = new ArrayList<>(new LinkedHashSet<>(testClasses));
+    return CompletableFuture.supplyAsync(() -> findFiles(classes), executor)
+          .thenCompose(files -> {
+            List<CompletableFuture<Long>> loads = files.stream()
+                  .map(file -> CompletableFuture.supplyAsync(() -> load(file), executor))
+                  .collect(toList());
+            return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+                  .thenApply(v -> toResult(loads, System.nanoTime() - startNanos));
+          });
+  }
+
+  private List<ResourceFile> findFiles(List<Class<?>> classes) {
+    List<ResourceFile> files = new ArrayList<>();
+    for (Class<?> cls : classes) {
+      for (String extension : FixtureFormats.extensions()) {
+        ResourceFile file = ResourceFile.find(cls, cls.getSimpleName() + "." + extension);
+        // an unknown size (-1) never reaches the threshold
+        if (file != null && file.size() < streamingThreshold && files.size() < cache.getMaxEntries()) {
+          files.add(file);
+        }
+      }
+    }
+    return files;
+  }
+
+  /**
+   * @return the file size. <code>-1</code> if the file could not be parsed.
+   */
+  private long load(ResourceFile file) {
+    JsonFactory factory = FixtureFormats.factory(file.getFileName(), mapper);
+    try {
+      cache.get(file.getCtxtClass(), file.getFileName(), mapper, file.version(),
+            () -> JsonResourceTestDelegate.readRootNode(file, factory, mapper));
+      return Math.max(file.size(), 0);
+    } catch (RuntimeException e) {
+      return -1;
+    }
+  }
+
+  private static Result toResult(List<CompletableFuture<Long>> loads, long nanos) {
+    int fileCount = 0;
+    int failedCount = 0;
+    long byteCount = 0;
+    for (CompletableFuture<Long> load : loads) {
+      long size = load.join();
+      if (size < 0) {
+        failedCount++;
+      } else {
+        fileCount++;
+        byteCount += size;
+      }
+    }
+    return new Result(fileCount, failedCount, byteCount, Duration.ofNanos(nanos));
+  }
+
+  /**
+   * Statistics of a preload operation.
+   */
+  public static final class Result {
+    private final int fileCount;
+    private final int failedCount;
+    private final long byteCount;
+    private final Duration duration;
+
+    Result(int fileCount, int failedCount, long byteCount, Duration duration) {
+      this.fileCount = fileCount;
+      this.failedCount = failedCount;
+      this.byteCount = byteCount;
+      this.duration = duration;
+    }
+
+    /**
+     * @return the number of parsed files.
+     */
+    public int getFileCount() {
+      return fileCount;
+    }
+
+    /**
+     * @return the number of files that could not be parsed.
+     */
+    public int getFailedCount() {
+      return failedCount;
+    }
+
+    /**
+     * @return the size of the parsed files.
+     */
+    public long getByteCount() {
+      return byteCount;
+    }
+
+    /**
+     * @return the time from the start of the preload operation until all files were parsed.
+     */
+    public Duration getDuration() {
+      return duration;
+    }
+
+    @Override
+    public String toString() {
+      return "Preloaded " + fileCount + " fixture files (" + byteCount + " bytes) in " + duration.toMillis() + " ms"
+            + (failedCount > 0 ? ", " + failedCount + " failed" : "");
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Directory of pre-parsed fixture files (see {@link StoredJson}), shared by all JVMs using the same directory.
+ * E.g. by the forks of a Surefire test run.
+ *
+ * <p>Each fixture file gets stored once in a file named by the SHA-256 hash of its content and its format. Changing
+ * a fixture changes the hash, so outdated store files are never read. The name does not reflect the configuration of
+ * the parsing mapper. All JVMs using a store directory have to parse with the same configuration, i.e. the default
+ * mapper of the {@link JsonResourceTestDelegate}. The JVMs map the store files read-only.
+ * Pointer lookups read the mapped bytes without parsing json. Only the referenced nodes get materialized on the
+ * heap.
+ *
+ * <p>Store files get written to a temporary file first and then moved atomically. JVMs storing the same fixture
+ * concurrently write the same content.
+ */
+final class FixtureStore {
+
+  private static final String FILE_EXTENSION = ".bin";
+
+  /** The mapped store file of each fixture url. */
+  private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+  private FixtureStore() {
+  }
+
+  /**
+   * Provides the stored form of the given fixture file. Gets read from the store directory if present, otherwise
+   * the fixture file gets parsed and stored.
+   *
+   * @param storeDir the store directory. Gets created if missing.
+   * @param file the fixture file.
+   * @param factory the factory used to parse the fixture file.
+   * @param mapper the mapper used to parse the fixture file. Should be the default mapper.
+   * @return the mapped stored form of the current fixture file content.
+   */
+  static StoredJson get(Path storeDir, ResourceFile file, JsonFactory factory, ObjectMapper mapper) {
+    String key = storeDir.toAbsolutePath() + "|" + file.getUrl();
+    long version = file.version();
+    return ENTRIES.compute(key, (k, entry) ->
+          entry != null && entry.version == version ? entry : new Entry(version, load(storeDir, file, factory, mapper)))
+          .storedJson;
+  }
+
+  /**
+   * Removes all mapped store files of this JVM. The store directory stays unchanged.
+   */
+  static void clear() {
+    ENTRIES.clear();
+  }
+
+  private static StoredJson load(Path storeDir, ResourceFile file, JsonFactory factory, ObjectMapper mapper) {
+    // the parse result depends on the format, e.g. for json content in an hjson file
+    String format = factory.getFormatName().toLowerCase(Locale.ROOT);
+    Path storeFile = storeDir.resolve(contentHash(file) + "-" + format + FILE_EXTENSION);
+    try {
+      ByteBuffer buffer = map(storeFile);
+      if (buffer != null && StoredJson.isValid(buffer)) {
+        return StoredJson.of(buffer);
+      }
+      write(storeFile, StoredJson.encode(JsonResourceTestDelegate.readRootNode(file, factory, mapper)));
+      return StoredJson.of(map(storeFile));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to store fixture file '" + file.getFileName() + "' in: " + storeDir, e);
+    }
+  }
+
+  /**
+   * @return the read-only mapped file content or <code>null</code> if there is no such file.
+   */
+  private static ByteBuffer map(Path storeFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(storeFile, READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  private static void write(Path storeFile, byte[] content) throws IOException {
+    Files.createDirectories(storeFile.getParent());
+    Path tmpFile = Files.createTempFile(storeFile.getParent(), storeFile.getFileName().toString(), ".tmp");
+    try {
+      Files.write(tmpFile, content);
+      try {
+        Files.move(tmpFile, storeFile, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFile, storeFile, REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * @return the hex encoded SHA-256 hash of the file content.
+   */
+  static String contentHash(ResourceFile file) {
+    byte[] hash = ContentHashCache.hash(out -> {
+      try (InputStream in = file.openStream()) {
+        in.transferTo(out);
+      }
+    });
+    StringBuilder hex = new StringBuilder(2 * hash.length);
+    for (byte b : hash) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  private static final class Entry {
+    private final long version;
+    private final StoredJson storedJson;
+
+    private Entry(long version, StoredJson storedJson) {
+      this.version = version;
+      this.storedJson = storedJson;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Index of the line offsets of a <a href="https://jsonlines.org/">JSON Lines</a> file. Allows to read a single line
+ * without parsing the lines before.
+ *
+ * <p>The file gets scanned only once, without parsing json. The byte offsets of the non-blank lines are kept in a
+ * primitive <code>long[]</code>, so files beyond 2 GiB and millions of lines are supported. Files located on the file
+ * system are read by positional reads. Others, e.g. packed in a jar, get read up to the requested line.
+ *
+ * <p>The indexes of the {@value #MAX_INDEXES} most recently used files are cached as long as the file does not
+ * change.
+ */
+final class JsonLinesIndex {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  static final int MAX_INDEXES = 16;
+
+  /** Access ordered map. Guarded by its own monitor. */
+  private static final Map<String, JsonLinesIndex> INDEXES = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, JsonLinesIndex> eldest) {
+      return size() > MAX_INDEXES;
+    }
+  };
+
+  private final ResourceFile file;
+  private final long version;
+
+  /** Start offset of each non-blank line, followed by the file size. */
+  private final long[] offsets;
+
+  private JsonLinesIndex(ResourceFile file, long version, long[] offsets) {
+    this.file = file;
+    this.version = version;
+    this.offsets = offsets;
+  }
+
+  /**
+   * Provides the index of the given file. The index gets built on first access and on each change of the file.
+   * The file gets scanned outside the lock, so indexing a large file does not block the access to other indexes.
+   *
+   * @param file a JSON Lines file.
+   * @return the index of the current file content.
+   */
+  static JsonLinesIndex of(ResourceFile file) {
+    String url = file.getUrl().toString();
+    long version = file.version();
+    JsonLinesIndex index;
+    synchronized (INDEXES) {
+      index = INDEXES.get(url);
+    }
+    if (index == null || index.version != version) {
+      index = new JsonLinesIndex(file, version, scan(file));
+      synchronized (INDEXES) {
+        INDEXES.put(url, index);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Removes all cached indexes.
+   */
+  static void clear() {
+    synchronized (INDEXES) {
+      INDEXES.clear();
+    }
+  }
+
+  /**
+   * @return the number of non-blank lines.
+   */
+  int size() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * @param mapper the mapper used to parse the line.
+   * @param nodePtr an absolute json pointer starting with the line index. E.g. <code>/12/name</code>.
+   * @return the referenced node or a {@link MissingNode} if there is no such node.
+   * @throws IllegalArgumentException if the pointer refers to the whole file.
+   */
+  JsonNode at(ObjectMapper mapper, String nodePtr) {
+    JsonPointer ptr = JsonPointer.compile(nodePtr);
+    if (ptr.matches()) {
+      throw new IllegalArgumentException("Pointer should refer to a line: " + nodePtr);
+    }
+    int lineIndex = ptr.getMatchingIndex();
+    return lineIndex >= 0 && lineIndex < size() ? line(mapper, lineIndex).at(ptr.tail()) : MissingNode.getInstance();
+  }
+
+  /**
+   * @param mapper the mapper used to parse the line.
+   * @param lineIndex the zero based index of the line, not counting blank lines.
+   * @return the parsed line.
+   */
+  JsonNode line(ObjectMapper mapper, int lineIndex) {
+    long start = offsets[lineIndex];
+    long length = offsets[lineIndex + 1] - start;
+    if (length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Line " + lineIndex + " too large in file: " + file.getFileName());
+    }
+    try {
+      return mapper.readTree(read(start, (int) length));
+    } catch (IOException e) {
+      throw new IllegalStateException(
+            "Unable to read line " + lineIndex + " at byte offset " + start + " of file '" + file.getFileName() + "'.",
+            e);
+    }
+  }
+
+  private byte[] read(long start, int length) throws IOException {
+    Path path = file.getFilePath();
+    if (path == null) {
+      try (InputStream in = file.openStream()) {
+        skip(in, start);
+        return in.readNBytes(length);
+      }
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+        // reads until the line is complete or the file ends
+      }
+    }
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  private static void skip(InputStream in, long count) throws IOException {
+    for (long remaining = count; remaining > 0; ) {
+      long skipped = in.skip(remaining);
+      if (skipped <= 0) {
+        if (in.read() < 0) {
+          throw new EOFException("Unexpected end of stream.");
+        }
+        skipped = 1;
+      }
+      remaining -= skipped;
+    }
+  }
+
+  /**
+   * Lines consisting of {@link Character#isWhitespace(int) whitespace} only are blank, like in
+   * {@link de.cleanitworks.expectum.core.format.JsonLinesFactory}. The characters of a line are decoded from UTF-8
+   * until the first non-whitespace character.
+   */
+  private static long[] scan(ResourceFile file) {
+    long[] offsets = new long[1024];
+    int count = 0;
+    long offset = 0;
+    long lineStart = 0;
+    boolean blank = true;
+    int codePoint = 0;
+    int pendingBytes = 0;
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = file.openStream()) {
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        for (int i = 0; i < read; i++, offset++) {
+          byte b = buffer[i];
+          if (b == '\n') {
+            lineStart = offset + 1;
+            blank = true;
+            pendingBytes = 0;
+            continue;
+          }
+          if (!blank) {
+            continue;
+          }
+          if (b >= 0) {
+            codePoint = b;
+          } else if (pendingBytes == 0) {
+            int leadingOnes = Integer.numberOfLeadingZeros(~(b << 24));
+            if (leadingOnes < 2 || leadingOnes > 4) {
+              // a continuation byte or an invalid lead byte is no whitespace
+              codePoint = -1;
+            } else {
+              codePoint = b & (0x7F >> leadingOnes);
+              pendingBytes = leadingOnes - 1;
+              continue;
+            }
+          } else {
+            codePoint = (codePoint << 6) | (b & 0x3F);
+            if (--pendingBytes > 0) {
+              continue;
+            }
+          }
+          if (!Character.isWhitespace(codePoint)) {
+            blank = false;
+            if (count == offsets.length - 1) {
+              offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+            offsets[count++] = lineStart;
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to index JSON Lines file '" + file.getFileName() + "'.", e);
+    }
+    offsets[count] = offset;
+    return Arrays.copyOf(offsets, count + 1);
+  }
+}
@@ -0,0 +1,84 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a single node from a resource file without building the tree of the whole file.
+ *
+ * <p>The file content is streamed through a {@link JsonPointerBasedFilter}. Content outside the pointer path
+ * gets skipped on token level. Only the referenced node is materialized. Reading stops right after that node.
+ */
+final class JsonPointerExtractor {
+
+  private JsonPointerExtractor() {
+  }
+
+  /**
+   * @param mapper the mapper used to build the referenced node.
+   * @param factory the factory providing a parser for the file format.
+   * @param file the file to read.
+   * @param nodePtr the absolute json pointer of the node to read.
+   * @return the referenced node or a {@link MissingNode} if there is no such node.
+   */
+  static JsonNode extract(ObjectMapper mapper, JsonFactory factory, ResourceFile file, String nodePtr) {
+    JsonPointer pointer = JsonPointer.compile(nodePtr);
+    try (InputStream in = file.openStream();
+         JsonParser parser = new FilteringParserDelegate(factory.createParser(in),
+               new JsonPointerBasedFilter(pointer), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+      JsonNode node = mapper.readTree(parser);
+      return node == null ? MissingNode.getInstance() : node;
+    } catch (IOException e) {
+      throw new IllegalStateException(
+            "Unable to read '" + nodePtr + "' from file '" + file.getFileName() + "'.", e);
+    }
+  }
+
+  /**
+   * Opens a parser positioned at the first token of the referenced node. Reading continues behind that node.
+   *
+   * @param factory the factory providing a parser for the file format.
+   * @param file the file to read.
+   * @param nodePtr the absolute json pointer of the node to read.
+   * @return the parser or <code>null</code> if there is no such node. Has to be closed by the caller.
+   */
+  static JsonParser open(JsonFactory factory, ResourceFile file, String nodePtr) {
+    JsonPointer pointer = JsonPointer.compile(nodePtr);
+    JsonParser parser = null;
+    try {
+      parser = factory.createParser(file.openStream());
+      // the filter leaves the underlying parser at the first token of the node
+      JsonParser filter = new FilteringParserDelegate(parser,
+            new JsonPointerBasedFilter(pointer), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false);
+      if (filter.nextToken() != null) {
+        return parser;
+      }
+      parser.close();
+      return null;
+    } catch (IOException e) {
+      closeQuietly(parser);
+      throw new IllegalStateException(
+            "Unable to read '" + nodePtr + "' from file '" + file.getFileName() + "'.", e);
+    }
+  }
+
+  private static void closeQuietly(JsonParser parser) {
+    if (parser != null) {
+      try {
+        parser.close();
+      } catch (IOException e) {
+        // the read failure gets reported
+      }
+    }
+  }
+}
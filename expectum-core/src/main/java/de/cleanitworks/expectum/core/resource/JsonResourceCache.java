@@ -0,0 +1,226 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Process wide cache of parsed json resource file trees.
+ *
+ * <p>Each resource file is parsed only once per cache entry lifetime. Entries are identified by the context class,
+ * the resource file name and the identity of the mapper parsing the file. The number of entries is bounded. The
+ * least recently used entry gets evicted if the limit is exceeded.
+ *
+ * <p>Only shared mappers that don't get modified any more should be used for parsing, e.g. the ones passed to
+ * {@link JsonResourceTestDelegate#setSharedObjectMapper(ObjectMapper)}. Otherwise a cached tree may not reflect
+ * the current mapper configuration.
+ *
+ * <p>Each entry remembers the version of the resource file it was parsed from (see {@link ResourceFile#version()}).
+ * A request providing a different version replaces the outdated entry.
+ *
+ * <p>The cached trees are shared between all tests. They are never handed out to test code. Callers within this
+ * package only read them (pointer navigation and serialization) and must never modify them.
+ */
+public final class JsonResourceCache {
+
+  /**
+   * Name of the system property that may be used to adjust the number of cached resource files.
+   */
+  public static final String MAX_ENTRIES_PROPERTY = "expectum.cache.maxEntries";
+
+  static final int DEFAULT_MAX_ENTRIES = 64;
+
+  private static final JsonResourceCache SHARED =
+        new JsonResourceCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+
+  private final int maxEntries;
+
+  /** Access ordered map. Guarded by its own monitor. */
+  private final Map<Key, CacheEntry> entries;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  JsonResourceCache(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries should be positive, but was: " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+        boolean evict = size() > JsonResourceCache.this.maxEntries;
+        if (evict) {
+          evictionCount.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  /**
+   * @return the cache instance shared by all {@link JsonResourceTestDelegate}s of this process.
+   */
+  public static JsonResourceCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Provides the cached tree of the given resource file. Calls the loader if there is no cached tree yet.
+   *
+   * <p>Concurrent requests for the same resource file wait for a single loader call.
+   *
+   * @param ctxtClass the class the resource file belongs to.
+   * @param fileName the name of the resource file.
+   * @param mapper the shared mapper the loader parses the resource file with.
+   * @param version the current version of the resource file. A cached tree having a different version gets
+   *     replaced.
+   * @param loader parses the resource file. Gets only called on a cache miss.
+   * @return the cached tree. Must not be modified by the caller.
+   */
+  JsonNode get(Class<?> ctxtClass, String fileName, ObjectMapper mapper, long version,
+        Supplier<? extends JsonNode> loader) {
+    Key key = new Key(ctxtClass, fileName, mapper);
+    CacheEntry newEntry = new CacheEntry(version);
+    CacheEntry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry == null || entry.version != version) {
+        if (entry != null) {
+          invalidationCount.incrementAndGet();
+        }
+        entries.put(key, newEntry);
+        entry = null;
+      }
+    }
+
+    if (entry != null) {
+      hitCount.incrementAndGet();
+      return join(entry.tree);
+    }
+
+    missCount.incrementAndGet();
+    try {
+      newEntry.tree.complete(requireNonNull(loader.get(), fileName));
+    } catch (RuntimeException | Error e) {
+      // Failures are not cached. The next request will try again.
+      synchronized (entries) {
+        entries.remove(key, newEntry);
+      }
+      newEntry.tree.completeExceptionally(e);
+      throw e;
+    }
+    return join(newEntry.tree);
+  }
+
+  /**
+   * Removes all cached trees. The statistic counters stay unchanged.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * @return the number of entries replaced because the resource file version has changed.
+   */
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return "JsonResourceCache{size=" + size() + ", maxEntries=" + maxEntries + ", hits=" + getHitCount()
+          + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount()
+          + ", invalidations=" + getInvalidationCount() + "}";
+  }
+
+  private static JsonNode requireNonNull(JsonNode node, String fileName) {
+    return Objects.requireNonNull(node, () -> "No content found in file '" + fileName + "'.");
+  }
+
+  private static JsonNode join(CompletableFuture<JsonNode> entry) {
+    try {
+      return entry.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  private static final class CacheEntry {
+    private final long version;
+    private final CompletableFuture<JsonNode> tree = new CompletableFuture<>();
+
+    CacheEntry(long version) {
+      this.version = version;
+    }
+  }
+
+  private static final class Key {
+    private final Class<?> ctxtClass;
+    private final String fileName;
+    private final ObjectMapper mapper;
+
+    Key(Class<?> ctxtClass, String fileName, ObjectMapper mapper) {
+      this.ctxtClass = Objects.requireNonNull(ctxtClass);
+      this.fileName = Objects.requireNonNull(fileName);
+      this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return ctxtClass == other.ctxtClass && fileName.equals(other.fileName) && mapper == other.mapper;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * ctxtClass.hashCode() + fileName.hashCode()) + System.identityHashCode(mapper);
+    }
+  }
+}
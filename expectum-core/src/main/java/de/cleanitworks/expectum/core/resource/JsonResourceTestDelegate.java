@@ -1,33 +1,54 @@
 package de.cleanitworks.expectum.core.resource;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.cfg.MutableConfigOverride;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.cleanitworks.expectum.core.compare.CanonicalJsonWriter;
+import de.cleanitworks.expectum.core.compare.JsonCompareMode;
+import de.cleanitworks.expectum.core.compare.JsonComparator;
+import de.cleanitworks.expectum.core.compare.JsonComparison;
+import de.cleanitworks.expectum.core.compare.StreamingJsonComparator;
+import de.cleanitworks.expectum.core.format.JsonLinesFactory;
+import de.cleanitworks.expectum.core.format.JsonLinesFixtureFormat;
+import de.cleanitworks.expectum.core.hjson.HjsonFactory;
+import de.cleanitworks.expectum.core.jfr.ComparisonEvent;
+import de.cleanitworks.expectum.core.jfr.FixtureLoadEvent;
+import de.cleanitworks.expectum.core.jfr.FixtureReadEvent;
+import de.cleanitworks.expectum.core.jfr.HjsonConversionEvent;
+import de.cleanitworks.expectum.core.jfr.PointerLookupEvent;
+import de.cleanitworks.expectum.core.jfr.SerializationEvent;
 import de.cleanitworks.expectum.core.junit.TestClassUtil;
-import org.apache.commons.lang3.RegExUtils;
+import de.cleanitworks.expectum.core.metrics.FixtureMetrics;
+import de.cleanitworks.expectum.core.metrics.FixtureOperation;
 import org.apache.commons.lang3.StringUtils;
-import org.hjson.JsonValue;
-import org.json.JSONException;
-import org.skyscreamer.jsonassert.JSONAssert;
-import org.skyscreamer.jsonassert.JSONCompareMode;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.net.URL;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.fasterxml.jackson.annotation.JsonIgnoreProperties.Value.forIgnoredProperties;
 import static java.util.Objects.requireNonNull;
@@ -39,11 +60,52 @@ import static org.assertj.core.api.Assertions.assertThat;
  *
  * It is designed to work as a delegate behind simple test classes or test base classes.
  * This way it might be usable in various scenarios.
+ *
+ * <p>The delegate may be used concurrently. The mapper configuration is held as an immutable snapshot that gets
+ * replaced on each change (e.g. by {@link #jsonHide(Class, String...)}). A shared mapper (see
+ * {@link #setSharedObjectMapper(ObjectMapper)}) is never re-configured. A private mapper gets re-configured in place
+ * by {@link #jsonHide(Class, String...)}, {@link #jsonShow(Class, String...)} and {@link #getObjectMapper()}, which
+ * drop its cached serializers. Serializations running concurrently to such a change may use the previous
+ * configuration.
  */
 public class JsonResourceTestDelegate {
 
   static final List<String> GETTER_PREFIXES = List.of("get", "is");
 
+  /**
+   * System property defining the default {@link #setStreamingThreshold(long) streaming threshold} in bytes.
+   */
+  public static final String STREAMING_THRESHOLD_PROPERTY = "expectum.streaming.threshold";
+
+  static final long DEFAULT_STREAMING_THRESHOLD = 8L * 1024 * 1024;
+
+  /**
+   * System property defining the default {@link #setMaxReportedDifferences(int) number of reported differences}.
+   */
+  public static final String MAX_REPORTED_DIFFERENCES_PROPERTY = "expectum.compare.maxDifferences";
+
+  static final int DEFAULT_MAX_REPORTED_DIFFERENCES = 10;
+
+  /**
+   * System property enabling the {@link #setCanonicalComparison(boolean) canonical comparison} by default.
+   */
+  public static final String CANONICAL_COMPARISON_PROPERTY = "expectum.compare.canonical";
+
+  /**
+   * System property defining the default {@link #setFixtureStoreDir(Path) fixture store directory}.
+   */
+  public static final String FIXTURE_STORE_PROPERTY = "expectum.fixtureStore.dir";
+
+  /** The mode reported by the {@link ComparisonEvent}s of {@link #assertJsonNodeStreaming(Object, String)}. */
+  static final String STREAMING_COMPARISON = "STREAMING";
+
+  static final HjsonFactory HJSON_FACTORY = new HjsonFactory();
+
+  /**
+   * Shared by all delegates not having a specific mapper. Its serializers get built only once per process.
+   */
+  static final ObjectMapper DEFAULT_MAPPER = objectMapperBuilder().build();
+
   /**
    * By default, each concrete test class uses a corresponding json test data file having a similar
    * name (class-name.json) within the same test package.
@@ -55,7 +117,35 @@ public class JsonResourceTestDelegate {
   /**
    * The object mapper defines the way, java objects get serialized to json.
    */
-  private ObjectMapper objectMapper = createObjectMapper();
+  private volatile MapperState mapperState;
+
+  /**
+   * Files having at least this size (in bytes) are not parsed completely.
+   * Only the requested node gets read from a stream of the file.
+   */
+  private long streamingThreshold = Long.getLong(STREAMING_THRESHOLD_PROPERTY, DEFAULT_STREAMING_THRESHOLD);
+
+  /**
+   * Directory of pre-parsed fixture files shared with other JVMs. <code>null</code> if disabled.
+   */
+  private volatile Path fixtureStoreDir = fixtureStoreDirProperty();
+
+  /**
+   * The names of the running test methods per test thread, if provided by a test framework integration.
+   * Otherwise, the name gets evaluated by inspecting the stack of the calling thread.
+   */
+  private final Map<Thread, String> testMethodNames = new ConcurrentHashMap<>();
+
+  /**
+   * Limits the number of differences reported by {@link #assertJsonNode(Object, String, JsonCompareMode)}.
+   */
+  private volatile int maxReportedDifferences =
+        Integer.getInteger(MAX_REPORTED_DIFFERENCES_PROPERTY, DEFAULT_MAX_REPORTED_DIFFERENCES);
+
+  /**
+   * Compare canonical json strings in {@link #assertJsonNode(Object, String, JsonCompareMode)}.
+   */
+  private volatile boolean canonicalComparison = Boolean.getBoolean(CANONICAL_COMPARISON_PROPERTY);
 
   /**
    * By default, each concrete test class uses a corresponding json test data file having a similar
@@ -66,23 +156,190 @@ public class JsonResourceTestDelegate {
    */
   public JsonResourceTestDelegate(Supplier<Class<?>> testClassSupplier) {
     this.testClassSupplier = requireNonNull(testClassSupplier);
+    this.mapperState = new MapperState(DEFAULT_MAPPER, true, Map.of());
   }
 
-  public ObjectMapper createObjectMapper() {
-    this.objectMapper = JsonMapper.builder()
+  /**
+   * @return a builder having the default configuration of the delegate mapper. May be used to build specific
+   *     mappers for {@link #setSharedObjectMapper(ObjectMapper)}.
+   */
+  public static JsonMapper.Builder objectMapperBuilder() {
+    return JsonMapper.builder()
             .addModule(new JavaTimeModule())
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-            .build();
-    return this.objectMapper;
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  /**
+   * Replaces the object mapper by a new default one. Resets the {@link #jsonHide(Class, String...)} and
+   * {@link #jsonShow(Class, String...)} configuration.
+   *
+   * <p>Building a mapper and warming up its serializers is expensive. Tests that don't need an individual
+   * mapper should prefer {@link #setSharedObjectMapper(ObjectMapper)}.
+   *
+   * @return the new mapper. May be configured further before the first serialization.
+   */
+  public ObjectMapper createObjectMapper() {
+    return setObjectMapper(objectMapperBuilder().build());
   }
 
+  /**
+   * Provides the mapper for individual configuration. If the delegate uses a shared mapper, it gets replaced by
+   * a private copy first. That way configuration changes don't affect other tests.
+   *
+   * <p>The serializers cached by a private mapper get dropped if it was used for serialization before. That way
+   * configuration changes applied to the provided mapper also apply to types serialized before. The serializers
+   * have to be built again afterwards, so tests should configure the mapper once instead of calling this method
+   * between serializations.
+   *
+   * @return the mapper, including the {@link #jsonHide(Class, String...)} and
+   *     {@link #jsonShow(Class, String...)} configuration.
+   */
   public ObjectMapper getObjectMapper() {
-    return objectMapper;
+    synchronized (this) {
+      if (mapperState.shared) {
+        ObjectMapper copy = mapperState.baseMapper.copy();
+        mapperState.ignorals.forEach((cls, propNames) -> setIgnorals(copy, cls, propNames));
+        mapperState = new MapperState(copy, false, Map.of());
+      } else if (hasCachedSerializers(mapperState.baseMapper)) {
+        flushSerializers(mapperState.baseMapper);
+      }
+      return mapperState.baseMapper;
+    }
   }
 
+  /**
+   * Replaces the object mapper. Resets the {@link #jsonHide(Class, String...)} and
+   * {@link #jsonShow(Class, String...)} configuration.
+   *
+   * @param objectMapper the mapper to use.
+   * @return the given mapper.
+   */
   public ObjectMapper setObjectMapper(ObjectMapper objectMapper) {
-    this.objectMapper = requireNonNull(objectMapper);
-    return this.objectMapper;
+    synchronized (this) {
+      this.mapperState = new MapperState(requireNonNull(objectMapper), false, Map.of());
+    }
+    return objectMapper;
+  }
+
+  /**
+   * Uses the given mapper as a prototype shared with other tests. Resets the {@link #jsonHide(Class, String...)}
+   * and {@link #jsonShow(Class, String...)} configuration.
+   *
+   * <p>The mapper should be fully configured and held in a static field. Tests using it share its warmed up
+   * serializers. It never gets modified by the delegate: {@link #getObjectMapper()} provides a private copy.
+   *
+   * @param prototype the shared mapper.
+   */
+  public void setSharedObjectMapper(ObjectMapper prototype) {
+    synchronized (this) {
+      this.mapperState = new MapperState(requireNonNull(prototype), true, Map.of());
+    }
+  }
+
+  public long getStreamingThreshold() {
+    return streamingThreshold;
+  }
+
+  /**
+   * Defines the file size that switches from the cached tree of a resource file to streaming extraction.
+   *
+   * <p>Smaller files get parsed once into a tree that is shared by all subsequent calls.
+   * Files having at least the given size get streamed on each call. Unrelated sections of such a file
+   * get skipped without building their nodes. Only the requested node gets materialized.
+   *
+   * @param streamingThreshold the file size in bytes. <code>0</code> streams all files.
+   */
+  public void setStreamingThreshold(long streamingThreshold) {
+    if (streamingThreshold < 0) {
+      throw new IllegalArgumentException("The streaming threshold should not be negative: " + streamingThreshold);
+    }
+    this.streamingThreshold = streamingThreshold;
+  }
+
+  public Path getFixtureStoreDir() {
+    return fixtureStoreDir;
+  }
+
+  /**
+   * Enables a fixture store shared by all JVMs using the same directory, e.g. by the forks of a Surefire test run.
+   *
+   * <p>Each fixture file below the {@link #setStreamingThreshold(long) streaming threshold} gets parsed only once into
+   * a binary form within that directory (see {@link FixtureStore}). The JVMs map that form read-only and read the
+   * referenced nodes without parsing json. The {@link JsonResourceCache} is not used in that case.
+   *
+   * <p>The store files don't reflect a mapper configuration. Therefore the store is only used while the delegate
+   * uses the default mapper, i.e. neither {@link #getObjectMapper()}, {@link #setObjectMapper(ObjectMapper)} nor
+   * {@link #setSharedObjectMapper(ObjectMapper)} got called.
+   *
+   * @param fixtureStoreDir the store directory, e.g. <code>target/expectum-store</code>. <code>null</code> to
+   *     disable the store.
+   */
+  public void setFixtureStoreDir(Path fixtureStoreDir) {
+    this.fixtureStoreDir = fixtureStoreDir;
+  }
+
+  public int getMaxReportedDifferences() {
+    return maxReportedDifferences;
+  }
+
+  /**
+   * @param maxReportedDifferences the number of differences after which a failing json comparison stops.
+   */
+  public void setMaxReportedDifferences(int maxReportedDifferences) {
+    if (maxReportedDifferences < 1) {
+      throw new IllegalArgumentException(
+            "The number of reported differences should be positive: " + maxReportedDifferences);
+    }
+    this.maxReportedDifferences = maxReportedDifferences;
+  }
+
+  public boolean isCanonicalComparison() {
+    return canonicalComparison;
+  }
+
+  /**
+   * Enables the canonical comparison for {@link #assertJsonNode(Object, String, JsonCompareMode)}.
+   *
+   * <p>Bean and expected json content get both written by a {@link CanonicalJsonWriter}: Object fields and map
+   * entries sorted by name, numbers in a normalized format. Content that differs only in field order or number
+   * format passes the cheap string compare operation. The field order is no longer verified in that mode.
+   *
+   * @param canonicalComparison <code>true</code> to compare canonical json strings.
+   */
+  public void setCanonicalComparison(boolean canonicalComparison) {
+    this.canonicalComparison = canonicalComparison;
+  }
+
+  /**
+   * @return the test method name set for the current thread. If there is none, the name set by another thread if
+   *     exactly one test is running. Otherwise <code>null</code>.
+   */
+  public String getTestMethodName() {
+    String threadMethodName = testMethodNames.get(Thread.currentThread());
+    if (threadMethodName != null) {
+      return threadMethodName;
+    }
+    List<String> runningMethodNames = List.copyOf(testMethodNames.values());
+    return runningMethodNames.size() == 1 ? runningMethodNames.get(0) : null;
+  }
+
+  /**
+   * Defines the test method that relative node pointers refer to.
+   *
+   * <p>Usually called by a test framework integration like the
+   * {@link de.cleanitworks.expectum.core.junit.JsonResourceExtension}. That way relative pointers work without
+   * stack inspection. Also for calls from other threads than the test thread, as long as the delegate is not shared
+   * by concurrently running tests.
+   *
+   * @param testMethodName the name of the test method running in the current thread. <code>null</code> when it
+   *     finished.
+   */
+  public void setTestMethodName(String testMethodName) {
+    if (testMethodName != null) {
+      testMethodNames.put(Thread.currentThread(), testMethodName);
+    } else {
+      testMethodNames.remove(Thread.currentThread());
+    }
   }
 
   /**
@@ -93,13 +350,19 @@ public class JsonResourceTestDelegate {
    * <pre>assertThat(toJson(myObj)).isEqualTo(json("myExpectedStateNode");</pre>
    *
    * @param obj the object to serialize.
-   * @return a json string generated as defined by the #objectMapper.
+   * @return a json string generated as defined by the object mapper and the jsonHide/jsonShow configuration.
    */
   public String toJson(Object obj) {
-    try {
-      return TextNodeQuoteWorkaround.unquote(getObjectMapper().writeValueAsString(obj));
+    SerializationEvent event = new SerializationEvent();
+    event.begin();
+    String json = null;
+    try (FixtureMetrics.Span span = measure(FixtureOperation.SERIALIZE, null)) {
+      json = TextNodeQuoteWorkaround.unquote(mapperState.serializationMapper().writeValueAsString(obj));
+      return json;
     } catch (JsonProcessingException e) {
       throw new IllegalArgumentException("Unable to serialize json: " + obj, e);
+    } finally {
+      event.commit(obj != null ? obj.getClass() : null, json != null ? json.length() : -1, json != null);
     }
   }
 
@@ -113,14 +376,97 @@ public class JsonResourceTestDelegate {
    * @return a new bean instance having property values as provided by the json node.
    */
   public <T> T fromJson(String jsonPtr, Class<T> targetClass) {
-    try {
+    try (FixtureMetrics.Span span = measure(FixtureOperation.DESERIALIZE, null)) {
       String jsonString = json(jsonPtr);
-      return objectMapper.readValue(jsonString, targetClass);
+      return mapperState.serializationMapper().readValue(jsonString, targetClass);
     } catch (JsonProcessingException e) {
       throw new IllegalArgumentException("Unable to deserialize json string.", e);
     }
   }
 
+  /**
+   * Similar to {@link #fromJson(String, Class)}, but reads the bean data from the hjson file of the test.
+   *
+   * @param hjsonPtr refers to a content node within the hjson file. E.g.: /myTest/someBeanData or someBeanData
+   * @param targetClass the bean class type to provide.
+   * @return a new bean instance having property values as provided by the hjson node.
+   */
+  public <T> T fromHjson(String hjsonPtr, Class<T> targetClass) {
+    try (FixtureMetrics.Span span = measure(FixtureOperation.DESERIALIZE, null)) {
+      String jsonString = hjson(hjsonPtr);
+      return mapperState.serializationMapper().readValue(jsonString, targetClass);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to deserialize hjson content.", e);
+    }
+  }
+
+  /**
+   * Provides the lines of the JSON Lines file of the test. E.g. for a test class XTest the file XTest.jsonl within
+   * the test class package will be used.
+   *
+   * <p>The lines get parsed lazily, one after the other, while the stream gets consumed. The file is never parsed
+   * as a whole. Streams that don't get consumed completely should be closed to release the file.
+   *
+   * @param nodePtr refers to a node within each line. E.g.: /address. An empty pointer provides the complete lines.
+   * @return the referenced node of each non-blank line. A missing node for lines not having such a node.
+   */
+  public Stream<JsonNode> jsonLines(String nodePtr) {
+    JsonPointer ptr = JsonPointer.compile(nodePtr);
+    Stream<JsonNode> lines = readLines(resFileObjectMapper().readerFor(JsonNode.class));
+    return ptr.matches() ? lines : lines.map(line -> line.at(ptr));
+  }
+
+  /**
+   * Similar to {@link #jsonLines(String)}, but converts the referenced nodes to java beans.
+   *
+   * @param nodePtr refers to a node within each line. E.g.: /address. An empty pointer provides the complete lines.
+   * @param targetClass the bean class type to provide.
+   * @return a new bean instance for each non-blank line.
+   */
+  public <T> Stream<T> jsonLines(String nodePtr, Class<T> targetClass) {
+    ObjectMapper mapper = mapperState.serializationMapper();
+    if (JsonPointer.compile(nodePtr).matches()) {
+      return readLines(mapper.readerFor(targetClass));
+    }
+    return jsonLines(nodePtr).map(node -> {
+      try {
+        return mapper.treeToValue(node, targetClass);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Unable to deserialize json line content.", e);
+      }
+    });
+  }
+
+  /**
+   * Reads a single line of the JSON Lines file of the test (see {@link #jsonLines(String)}). Large files get indexed
+   * once (see {@link JsonLinesIndex}), so that only the requested line gets parsed.
+   *
+   * @param lineIndex the zero based line index. Blank lines are not counted.
+   * @return the content string of the line (unformatted json).
+   */
+  public String jsonLine(int lineIndex) {
+    Class<?> testClass = testClassSupplier.get();
+    String fileName = jsonLinesFileName(testClass);
+    return getNodeAsString(testClass, fileName, "/" + lineIndex,
+          FixtureFormats.factory(fileName, resFileObjectMapper()));
+  }
+
+  /**
+   * Similar to {@link #jsonLine(int)}, but converts the line to a java bean.
+   *
+   * @param lineIndex the zero based line index. Blank lines are not counted.
+   * @param targetClass the bean class type to provide.
+   * @return a new bean instance having property values as provided by the line.
+   */
+  public <T> T fromJsonLine(int lineIndex, Class<T> targetClass) {
+    try (FixtureMetrics.Span span = measure(FixtureOperation.DESERIALIZE, null)) {
+      String jsonString = jsonLine(lineIndex);
+      return mapperState.serializationMapper().readValue(jsonString, targetClass);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to deserialize json line content.", e);
+    }
+  }
+
   /**
    * Provides test data from a file having a name matching the class name. E.g. for a test
    * class XTest a corresponding file XTest.json within the test class package will be used.
@@ -154,57 +500,206 @@ public class JsonResourceTestDelegate {
    * Similar to {@link #json(String)}, but with the ability to pass a specific class which is
    * used to get the related json file for.
    *
+   * <p>Other {@link de.cleanitworks.expectum.core.format.FixtureFormat fixture formats} are supported as well.
+   * If there is no json file, the first existing file of another format gets read, e.g. /com/foo/Bar.hjson or
+   * /com/foo/Bar.jsonl.
+   *
    * @param ctxtClass The class to get the corresponding .json file for. E.g. for class com.foo.Bar
    *     a corresponding file /com/foo/Bar.json will be used.
    * @param nodePtr refers to a content node within the json file. E.g.: /myTest/request
    * @return the content string of the referenced node (unformatted json).
    */
   public String json(Class<?> ctxtClass, String nodePtr) {
+    String fileName = FixtureFormats.fixtureFileName(ctxtClass);
     return getNodeAsString(
           ctxtClass,
-          ctxtClass.getSimpleName() + ".json",
-          nodePtrToAbsolutePtr(ctxtClass, nodePtr));
+          fileName,
+          nodePtrToAbsolutePtr(ctxtClass, nodePtr),
+          FixtureFormats.factory(fileName, resFileObjectMapper()));
   }
 
    /**
    * Compares the json serialization result of the given bean to expected json content referenced by the given relative
    * json pointer.
    * <p/>
-   * Performs first a simple string compare operation.
-   * If that fails an additional JSONAssert compare operation is used to provide more details about the difference.
+   * Performs first a cheap comparison of content hashes. The hash of the expected node gets cached
+   * (see {@link ContentHashCache}). The bean gets serialized into a digesting stream. No json strings get built.
+   * If the hashes differ, a {@link JsonComparator} reports the differences found in the json trees.
    *
    * @param bean the bean to verify.
    * @param nodeInTestMethodJson the json sub node containing the expected bean data.
    */
   public void assertJsonNode(Object bean, String nodeInTestMethodJson) {
-    String beanJson = toJson(bean);
-    String expectedJson = json(nodeInTestMethodJson);
-    try {
-      assertThat(beanJson).isEqualTo(expectedJson);
-    } catch (AssertionError stringCompareError) {
-      try {
-        JSONAssert.assertEquals(expectedJson, beanJson, JSONCompareMode.STRICT);
-      } catch (JSONException je) {
-      } catch (AssertionError jsonAssertError) {
-        System.out.println("JSONAssert finding: " + jsonAssertError.getMessage());
+    assertJsonNode(bean, nodeInTestMethodJson, JsonCompareMode.STRICT);
+  }
+
+  /**
+   * Similar to {@link #assertJsonNode(Object, String)}, but compares the json trees as defined by the given mode.
+   *
+   * <p>The mode {@link JsonCompareMode#STRICT} additionally requires the json strings to be equal. E.g. the
+   * field order and the number format have to match. Unless the {@link #setCanonicalComparison(boolean)
+   * canonical comparison} is enabled.
+   *
+   * @param bean the bean to verify.
+   * @param nodeInTestMethodJson the json sub node containing the expected bean data.
+   * @param mode defines how strict the content gets compared.
+   */
+  public void assertJsonNode(Object bean, String nodeInTestMethodJson, JsonCompareMode mode) {
+    Class<?> testClass = testClassSupplier.get();
+    String fileName = FixtureFormats.fixtureFileName(testClass);
+    String nodePtr = nodePtrToAbsolutePtr(testClass, nodeInTestMethodJson);
+    ComparisonEvent event = new ComparisonEvent();
+    event.begin();
+    String outcome = ComparisonEvent.ERROR;
+    try (FixtureMetrics.Span span = measure(FixtureOperation.COMPARE, fixtureName(fileName, nodePtr))) {
+      outcome = compareJsonNode(bean, testClass, fileName, nodePtr, mode);
+    } catch (AssertionError e) {
+      outcome = ComparisonEvent.DIFFERENT;
+      throw e;
+    } finally {
+      event.commit(fileName, nodePtr, mode.name(), outcome);
+    }
+  }
+
+  /**
+   * @return the {@link ComparisonEvent} outcome of an equal comparison.
+   * @throws AssertionError if the content differs.
+   */
+  private String compareJsonNode(Object bean, Class<?> testClass, String fileName, String nodePtr,
+        JsonCompareMode mode) {
+    ObjectMapper mapper = mapperState.serializationMapper();
+    boolean canonical = canonicalComparison;
+
+    JsonNode actualNode = null;
+    if (canonical || mode == JsonCompareMode.STRICT) {
+      // equal hashes of the (canonical) json content imply equal content in each mode
+      byte[] expectedHash = getExpectedHash(loadFile(testClass, fileName), nodePtr, canonical);
+      byte[] actualHash;
+      if (canonical) {
+        JsonNode tree = mapper.valueToTree(bean);
+        actualHash = ContentHashCache.hash(out -> new CanonicalJsonWriter(mapper).write(tree, out));
+        actualNode = tree;
+      } else {
+        actualHash = ContentHashCache.hash(out -> mapper.writeValue(out, bean));
       }
-      throw stringCompareError;
+      if (MessageDigest.isEqual(expectedHash, actualHash)) {
+        return ComparisonEvent.HASH_MATCH;
+      }
+    }
+
+    JsonNode expectedNode = getNode(testClass, fileName, nodePtr,
+          FixtureFormats.factory(fileName, resFileObjectMapper()));
+    if (actualNode == null) {
+      actualNode = mapper.valueToTree(bean);
+    }
+    JsonComparison comparison = new JsonComparator(mode, maxReportedDifferences).compare(expectedNode, actualNode);
+    if (!comparison.isEqual()) {
+      throw new AssertionError(comparison.toString());
     }
+    if (mode == JsonCompareMode.STRICT && !canonical) {
+      // equal trees, but a different field order or number format
+      assertThat(toJson(bean)).isEqualTo(nodeToString(expectedNode, fileName, nodePtr));
+    }
+    return ComparisonEvent.EQUAL;
+  }
+
+  /**
+   * Similar to {@link #assertJsonNode(Object, String)}, but treats arrays as unordered multisets.
+   * Intended for results having no defined order, like hash sets, parallel streams or unordered queries.
+   *
+   * <p>Uses the mode {@link JsonCompareMode#NON_EXTENSIBLE}. The array elements get matched by their structural
+   * hash. So the comparison stays fast, even for huge collections.
+   *
+   * @param bean the bean to verify.
+   * @param nodeInTestMethodJson the json sub node containing the expected bean data.
+   */
+  public void assertJsonNodeIgnoringOrder(Object bean, String nodeInTestMethodJson) {
+    assertJsonNode(bean, nodeInTestMethodJson, JsonCompareMode.NON_EXTENSIBLE);
   }
 
   /**
-   * Configures {@link #objectMapper} to ignore the given properties for the given class on json serialization.
+   * Similar to {@link #assertJsonNode(Object, String)}, but compares the bean while it gets serialized
+   * (see {@link StreamingJsonComparator}). Stops at the first difference.
+   *
+   * <p>The json string of the bean never gets built. Intended for huge result objects that would otherwise need
+   * a large heap. The expected content of files reaching the {@link #setStreamingThreshold(long) streaming threshold}
+   * gets streamed from the file as well.
+   *
+   * @param bean the bean to verify.
+   * @param nodeInTestMethodJson the json sub node containing the expected bean data.
+   */
+  public void assertJsonNodeStreaming(Object bean, String nodeInTestMethodJson) {
+    Class<?> testClass = testClassSupplier.get();
+    String fileName = FixtureFormats.fixtureFileName(testClass);
+    String nodePtr = nodePtrToAbsolutePtr(testClass, nodeInTestMethodJson);
+    ComparisonEvent event = new ComparisonEvent();
+    event.begin();
+    String outcome = ComparisonEvent.ERROR;
+    try (FixtureMetrics.Span span = measure(FixtureOperation.COMPARE, fixtureName(fileName, nodePtr))) {
+      JsonComparison comparison;
+      try (JsonParser expectedTokens = openNode(testClass, fileName, nodePtr,
+            FixtureFormats.factory(fileName, resFileObjectMapper()))) {
+        comparison = new StreamingJsonComparator(mapperState.serializationMapper()).compare(expectedTokens, bean);
+      }
+      if (!comparison.isEqual()) {
+        outcome = ComparisonEvent.DIFFERENT;
+        throw new AssertionError(comparison.toString());
+      }
+      outcome = ComparisonEvent.EQUAL;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read content from file '" + fileName + "'.", e);
+    } finally {
+      event.commit(fileName, nodePtr, STREAMING_COMPARISON, outcome);
+    }
+  }
+
+  /**
+   * Configures the serialization to ignore the given properties for the given class.
+   * Replaces a previous configuration for that class.
+   *
+   * <p>A private mapper (see {@link #getObjectMapper()}) gets configured directly. A shared mapper does not get
+   * modified. The serialization uses a copy of it, having the ignored properties configured. Delegates using the
+   * same shared mapper and ignorals share that copy (see {@link MapperVariantCache}).
    *
    * @param cls the class to configure the property restriction for.
    * @param propNames the properties to ignore.
    */
   public void jsonHide(Class<?> cls, String ... propNames) {
-    MutableConfigOverride clsOverride = objectMapper.configOverride(cls);
-    clsOverride.setIgnorals(forIgnoredProperties(propNames));
+    requireNonNull(cls);
+    synchronized (this) {
+      if (mapperState.shared) {
+        Map<Class<?>, Set<String>> ignorals = new HashMap<>(mapperState.ignorals);
+        ignorals.put(cls, Set.of(propNames));
+        mapperState = new MapperState(mapperState.baseMapper, true, ignorals);
+      } else {
+        setIgnorals(mapperState.baseMapper, cls, Set.of(propNames));
+        flushSerializers(mapperState.baseMapper);
+      }
+    }
+  }
+
+  private static void setIgnorals(ObjectMapper mapper, Class<?> cls, Set<String> propNames) {
+    mapper.configOverride(cls).setIgnorals(forIgnoredProperties(propNames.toArray(new String[0])));
+  }
+
+  private static boolean hasCachedSerializers(ObjectMapper mapper) {
+    SerializerProvider provider = mapper.getSerializerProvider();
+    return !(provider instanceof DefaultSerializerProvider)
+          || ((DefaultSerializerProvider) provider).cachedSerializersCount() > 0;
   }
 
   /**
-   * Configures {@link #objectMapper} to serialize only the given properties for the given class.
+   * Serializers get cached per type. Configuration changes don't apply to them.
+   */
+  private static void flushSerializers(ObjectMapper mapper) {
+    SerializerProvider provider = mapper.getSerializerProvider();
+    if (provider instanceof DefaultSerializerProvider) {
+      ((DefaultSerializerProvider) provider).flushCachedSerializers();
+    }
+  }
+
+  /**
+   * Configures the serialization to write only the given properties for the given class.
    *
    * @param cls the class to configure the property restriction for.
    * @param propNames the properties to write on json serialization.
@@ -255,35 +750,98 @@ public class JsonResourceTestDelegate {
   private String nodePtrToAbsolutePtr(Class<?> ctxtClass, String nodePtr) {
     boolean isAbsolutePtr = requireNonNull(nodePtr, "nodePtr should not be null.")
           .startsWith("/");
-    return isAbsolutePtr
-          ? nodePtr
-          : "/" + TestClassUtil.getTestMethodName(ctxtClass) + "/" + nodePtr;
+    if (isAbsolutePtr) {
+      return nodePtr;
+    }
+    String methodName = getTestMethodName();
+    return "/" + (methodName != null ? methodName : TestClassUtil.getTestMethodName(ctxtClass)) + "/" + nodePtr;
   }
 
   private String hjsonData(Class<?> testClass, String nodePtr) {
-    String fileName = testClass.getSimpleName() + ".hjson";
-    try (Reader reader = new InputStreamReader(getResourceFile(testClass, fileName))) {
-      String jsonString = JsonValue.readHjson(reader).toString();
-      ObjectNode rootNode = (ObjectNode) resFileObjectMapper().readTree(jsonString);
-      return getNodeAsString(rootNode, fileName, nodePtr);
+    return getNodeAsString(testClass, testClass.getSimpleName() + ".hjson", nodePtr, HJSON_FACTORY);
+  }
+
+  private static String jsonLinesFileName(Class<?> testClass) {
+    return testClass.getSimpleName() + "." + JsonLinesFixtureFormat.EXTENSION;
+  }
+
+  /**
+   * @return the values read from the JSON Lines file of the test. The file gets closed when the stream is consumed
+   *     completely or closed.
+   */
+  private <T> Stream<T> readLines(ObjectReader reader) {
+    Class<?> testClass = testClassSupplier.get();
+    String fileName = jsonLinesFileName(testClass);
+    ResourceFile file = loadFile(testClass, fileName);
+    MappingIterator<T> values;
+    try {
+      // the factory provides the lines as array elements. It skips blank lines like the JsonLinesIndex.
+      values = reader.with(FixtureFormats.factory(fileName, resFileObjectMapper())).readValues(file.openStream());
     } catch (IOException e) {
-      throw new IllegalStateException("Unable to read " + fileName, e);
+      throw new IllegalStateException("Unable to read content from file '" + file.getFileName() + "'.", e);
     }
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED), false)
+          .onClose(() -> {
+            try {
+              values.close();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
   }
 
-  private String getNodeAsString(Class<?> ctxtClass, String jsonFileName, String nodePtr) {
-    ObjectNode root = getRootNode(ctxtClass, jsonFileName);
-    return getNodeAsString(root, jsonFileName, nodePtr);
+  /**
+   * Provides the referenced node as token stream. Nodes of large files get streamed from the file, without
+   * materializing them. Otherwise the node gets read like by {@link #getNode(Class, String, String, JsonFactory)}.
+   *
+   * @return a parser positioned at the first token of the referenced node.
+   */
+  private JsonParser openNode(Class<?> ctxtClass, String fileName, String nodePtr, JsonFactory factory)
+        throws IOException {
+    ResourceFile file = loadFile(ctxtClass, fileName);
+    if (!isStreamed(file)) {
+      JsonParser parser = getNode(ctxtClass, fileName, nodePtr, factory).traverse();
+      parser.nextToken();
+      return parser;
+    }
+    try (FixtureMetrics.Span span = measure(FixtureOperation.RESOLVE, fixtureName(fileName, nodePtr))) {
+      JsonParser parser = JsonPointerExtractor.open(factory, file, nodePtr);
+      if (parser == null) {
+        throw new IllegalArgumentException(
+              "Node '" + nodePtr + "' not found in file: " + fileName);
+      }
+      return parser;
+    }
   }
 
-  private String getNodeAsString(ObjectNode root, String fileName, String nodePtr) {
-    JsonNode subNode = root.at(nodePtr);
-    if (subNode.isMissingNode()) {
-      throw new IllegalArgumentException(
-            "Node '" + nodePtr + "' not found in file: " + fileName);
+  private String getNodeAsString(Class<?> ctxtClass, String fileName, String nodePtr, JsonFactory factory) {
+    JsonNode subNode = getNode(ctxtClass, fileName, nodePtr, factory);
+    return nodeToString(subNode, fileName, nodePtr);
+  }
+
+  /**
+   * @return the referenced node. May be shared. Must not be modified.
+   */
+  private JsonNode getNode(Class<?> ctxtClass, String fileName, String nodePtr, JsonFactory factory) {
+    ResourceFile file = loadFile(ctxtClass, fileName);
+    try (FixtureMetrics.Span span = measure(FixtureOperation.RESOLVE, fixtureName(fileName, nodePtr))) {
+      JsonNode subNode = readNode(file, nodePtr, factory);
+      if (subNode.isMissingNode()) {
+        throw new IllegalArgumentException(
+              "Node '" + nodePtr + "' not found in file: " + fileName);
+      }
+      return subNode;
     }
+  }
 
-    try {
+  private ResourceFile loadFile(Class<?> ctxtClass, String fileName) {
+    try (FixtureMetrics.Span span = measure(FixtureOperation.LOAD, fileName)) {
+      return ResourceFile.of(ctxtClass, fileName);
+    }
+  }
+
+  private String nodeToString(JsonNode subNode, String fileName, String nodePtr) {
+    try (FixtureMetrics.Span span = measure(FixtureOperation.SERIALIZE, fixtureName(fileName, nodePtr))) {
       String nodeString = resFileObjectMapper().writeValueAsString(subNode);
       return TextNodeQuoteWorkaround.unquote(nodeString);
     } catch (JsonProcessingException e) {
@@ -292,34 +850,204 @@ public class JsonResourceTestDelegate {
     }
   }
 
-  private ObjectNode getRootNode(Class<?> ctxtClass, String jsonFileName) {
-    try (InputStream inputStream = getResourceFile(ctxtClass, jsonFileName)) {
-      return (ObjectNode) resFileObjectMapper().readTree(inputStream);
+  /**
+   * Provides the hash of the referenced node. Using a shared mapper, the hash is taken from the
+   * {@link ContentHashCache} and the node gets only read on a cache miss. A private mapper may get reconfigured.
+   * Its hashes don't get cached.
+   */
+  private byte[] getExpectedHash(ResourceFile file, String nodePtr, boolean canonical) {
+    boolean shared = mapperState.shared;
+    ObjectMapper mapper = resFileObjectMapper();
+    Supplier<byte[]> hasher = () -> {
+      JsonNode node = getNode(file.getCtxtClass(), file.getFileName(), nodePtr,
+            FixtureFormats.factory(file.getFileName(), mapper));
+      return canonical
+            ? ContentHashCache.hash(out -> new CanonicalJsonWriter(mapper).write(node, out))
+            : ContentHashCache.hash(out -> mapper.writeValue(out, node));
+    };
+    return shared ? ContentHashCache.shared().get(file, nodePtr, mapper, canonical, hasher) : hasher.get();
+  }
+
+  /**
+   * Reads the referenced node. Depending on the file size and location that is done by
+   * <ul>
+   *   <li>a lookup in the up-to-date {@link FixtureCompiler compiled form} of the file, if present and the default
+   *   mapper is used,</li>
+   *   <li>a lookup in the {@link FixtureStore}, if enabled and the default mapper is used,</li>
+   *   <li>a lookup in the cached tree of the file,</li>
+   *   <li>a lookup in the {@link JsonLinesIndex} of large JSON Lines files,</li>
+   *   <li>a lookup in the {@link MappedJsonIndex} of other large json files located on the file system, if
+   *   indexable, or</li>
+   *   <li>a {@link JsonPointerExtractor streaming extraction} for other large files.</li>
+   * </ul>
+   */
+  private JsonNode readNode(ResourceFile file, String nodePtr, JsonFactory factory) {
+    PointerLookupEvent event = new PointerLookupEvent();
+    event.begin();
+    String strategy = "tree";
+    JsonNode node = null;
+    try {
+      Path storeDir = fixtureStoreDir;
+      StoredJson compiled = usesDefaultMapper() ? FixtureCompiler.compiled(file, file.version()) : null;
+      if (compiled != null) {
+        strategy = "compiled";
+        node = compiled.at(resFileObjectMapper().getNodeFactory(), nodePtr);
+      } else if (!isStreamed(file) && storeDir != null && usesDefaultMapper()) {
+        strategy = "store";
+        node = FixtureStore.get(storeDir, file, factory, DEFAULT_MAPPER)
+              .at(resFileObjectMapper().getNodeFactory(), nodePtr);
+      } else if (!isStreamed(file)) {
+        node = getRootNode(file, factory).at(nodePtr);
+      } else if (factory instanceof JsonLinesFactory && !nodePtr.isEmpty()) {
+        strategy = "lines";
+        node = JsonLinesIndex.of(file).at(resFileObjectMapper(), nodePtr);
+      } else if (isIndexable(file, factory)) {
+        strategy = "index";
+        node = MappedJsonIndex.of(file, factory).at(resFileObjectMapper(), nodePtr);
+      } else {
+        strategy = "stream";
+        node = JsonPointerExtractor.extract(resFileObjectMapper(), factory, file, nodePtr);
+      }
+      return node;
+    } finally {
+      if (event.shouldCommit()) {
+        event.commit(file.getFileName(), nodePtr, file.size(), strategy, node != null && !node.isMissingNode());
+      }
+    }
+  }
+
+  private static Path fixtureStoreDirProperty() {
+    String dir = System.getProperty(FIXTURE_STORE_PROPERTY);
+    return dir != null && !dir.isBlank() ? Path.of(dir) : null;
+  }
+
+  /**
+   * Fixture forms shared beyond this delegate, like the {@link FixtureStore} and the {@link FixtureCompiler compiled
+   * form}, are parsed by the default mapper.
+   */
+  private boolean usesDefaultMapper() {
+    return mapperState.baseMapper == DEFAULT_MAPPER;
+  }
+
+  private static boolean isIndexable(ResourceFile file, JsonFactory factory) {
+    return file.getFilePath() != null && JsonFactory.FORMAT_NAME_JSON.equals(factory.getFormatName())
+          && MappedJsonIndex.of(file, factory) != null;
+  }
+
+  private boolean isStreamed(ResourceFile file) {
+    // an unknown size (-1) never reaches the threshold
+    return file.size() >= streamingThreshold;
+  }
+
+  /**
+   * Provides the root node of the given file. Using a shared mapper, the file gets parsed only once. Subsequent
+   * calls get the tree from the {@link JsonResourceCache} as long as the file does not change. A private mapper
+   * may get reconfigured. Its trees don't get cached.
+   *
+   * @return the shared root node. Must not be modified.
+   */
+  private JsonNode getRootNode(ResourceFile file, JsonFactory factory) {
+    MapperState state = mapperState;
+    if (!state.shared) {
+      return readRootNode(file, factory);
+    }
+    return JsonResourceCache.shared().get(file.getCtxtClass(), file.getFileName(), state.baseMapper, file.version(),
+          () -> readRootNode(file, factory));
+  }
+
+  private JsonNode readRootNode(ResourceFile file, JsonFactory factory) {
+    try (FixtureMetrics.Span span = measure(FixtureOperation.PARSE, file.getFileName())) {
+      return readRootNode(file, factory, resFileObjectMapper());
+    }
+  }
+
+  /**
+   * Parses the given file. Also used by the {@link FixturePreloader}.
+   */
+  static JsonNode readRootNode(ResourceFile file, JsonFactory factory, ObjectMapper mapper) {
+    FixtureReadEvent event = factory instanceof HjsonFactory ? new HjsonConversionEvent() : new FixtureLoadEvent();
+    event.begin();
+    boolean success = false;
+    try (JsonParser parser = factory.createParser(file.openStream())) {
+      JsonNode root = mapper.readTree(parser);
+      success = true;
+      return root;
     } catch (IOException e) {
       throw new IllegalStateException(
-            "Unable to read json content from file '" + jsonFileName + "'.", e);
+            "Unable to read content from file '" + file.getFileName() + "'.", e);
+    } finally {
+      if (event.shouldCommit()) {
+        event.commit(file.getFileName(), file.size(), success);
+      }
     }
   }
 
+  /**
+   * Starts measuring a fixture operation for the {@link FixtureMetrics}. A no-op if the metrics are disabled.
+   */
+  private FixtureMetrics.Span measure(FixtureOperation operation, String fixture) {
+    return FixtureMetrics.shared().start(operation, fixture, this::metricsTestId);
+  }
+
+  /**
+   * Identifies the running test if no test framework integration provides it to the {@link FixtureMetrics}.
+   */
+  private String metricsTestId() {
+    String testName = testClassSupplier.get().getName();
+    String methodName = getTestMethodName();
+    return methodName != null ? testName + "#" + methodName : testName;
+  }
+
+  private static String fixtureName(String fileName, String nodePtr) {
+    return fileName + "#" + nodePtr;
+  }
+
   /**
    * Separate getter. Should be used for all code parts dealing with expectation data.
    *
    * @return the OM used for deserializing/serializing expectation data located in json resource files.
    */
   protected ObjectMapper resFileObjectMapper() {
-    return objectMapper;
+    return mapperState.baseMapper;
   }
 
-  private InputStream getResourceFile(Class<?> ctxtClass, String fileName) {
-    String separator = "/";
-    // XXX: Use java core only
-    String pkgPath = RegExUtils.replaceAll(ctxtClass.getPackage().getName(), "\\.+", separator);
-    String filePath = separator + pkgPath + separator + fileName;
-    URL url = ctxtClass.getResource(filePath);
-    if (url == null) {
-      throw new IllegalArgumentException("Resource file not found: " + filePath);
+  /**
+   * Immutable snapshot of the mapper configuration.
+   */
+  private static final class MapperState {
+
+    private final ObjectMapper baseMapper;
+
+    /** A shared base mapper must not be modified. */
+    private final boolean shared;
+
+    /** The ignorals to apply to a shared base mapper. A private one has them configured directly. */
+    private final Map<Class<?>, Set<String>> ignorals;
+
+    /** Lazily derived from the base mapper. */
+    private volatile ObjectMapper serializationMapper;
+
+    private MapperState(ObjectMapper baseMapper, boolean shared, Map<Class<?>, Set<String>> ignorals) {
+      this.baseMapper = baseMapper;
+      this.shared = shared;
+      this.ignorals = Map.copyOf(ignorals);
+    }
+
+    /**
+     * @return the base mapper if it is private or there are no ignorals. Otherwise the shared variant having the
+     *     ignorals configured.
+     */
+    private ObjectMapper serializationMapper() {
+      if (!shared) {
+        return baseMapper;
+      }
+      ObjectMapper mapper = serializationMapper;
+      if (mapper == null) {
+        mapper = MapperVariantCache.shared().get(baseMapper, ignorals);
+        serializationMapper = mapper;
+      }
+      return mapper;
     }
-    return JsonResourceTestDelegate.class.getResourceAsStream(filePath);
   }
 
 }
\ No newline at end of file
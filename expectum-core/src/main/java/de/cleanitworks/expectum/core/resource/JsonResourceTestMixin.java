@@ -1,6 +1,10 @@
 package de.cleanitworks.expectum.core.resource;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.compare.JsonCompareMode;
+
+import java.util.stream.Stream;
 
 public interface JsonResourceTestMixin {
 
@@ -14,6 +18,10 @@ public interface JsonResourceTestMixin {
       return getJsonDelegate().fromJson(jsonPtr, targetClass);
    }
 
+   default <T> T fromHjson(String hjsonPtr, Class<T> targetClass) {
+      return getJsonDelegate().fromHjson(hjsonPtr, targetClass);
+   }
+
    /**
     * Provides test data from a file having the a similar name to the class name. E.g. for a test
     * class XTest a corresponding file XTest.json will be read (within the same package path).
@@ -56,6 +64,22 @@ public interface JsonResourceTestMixin {
       return getJsonDelegate().json(ctxtClass, nodePtr);
    }
 
+   default Stream<JsonNode> jsonLines(String nodePtr) {
+      return getJsonDelegate().jsonLines(nodePtr);
+   }
+
+   default <T> Stream<T> jsonLines(String nodePtr, Class<T> targetClass) {
+      return getJsonDelegate().jsonLines(nodePtr, targetClass);
+   }
+
+   default String jsonLine(int lineIndex) {
+      return getJsonDelegate().jsonLine(lineIndex);
+   }
+
+   default <T> T fromJsonLine(int lineIndex, Class<T> targetClass) {
+      return getJsonDelegate().fromJsonLine(lineIndex, targetClass);
+   }
+
    default void jsonHide(Class<?> cls, String ... propNames) {
       getJsonDelegate().jsonHide(cls, propNames);
    }
@@ -68,6 +92,18 @@ public interface JsonResourceTestMixin {
       getJsonDelegate().assertJsonNode(bean, nodeInTestMethodJson);
    }
 
+   default void assertJsonNode(Object bean, String nodeInTestMethodJson, JsonCompareMode mode) {
+      getJsonDelegate().assertJsonNode(bean, nodeInTestMethodJson, mode);
+   }
+
+   default void assertJsonNodeIgnoringOrder(Object bean, String nodeInTestMethodJson) {
+      getJsonDelegate().assertJsonNodeIgnoringOrder(bean, nodeInTestMethodJson);
+   }
+
+   default void assertJsonNodeStreaming(Object bean, String nodeInTestMethodJson) {
+      getJsonDelegate().assertJsonNodeStreaming(bean, nodeInTestMethodJson);
+   }
+
    default ObjectMapper getObjectMapper() {
       return getJsonDelegate().getObjectMapper();
    }
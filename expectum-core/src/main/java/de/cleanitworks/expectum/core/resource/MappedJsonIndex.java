@@ -0,0 +1,209 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Memory mapped json file with an index of the byte ranges of its top-level and second-level nodes.
+ *
+ * <p>The file gets scanned only once. A node lookup parses only the byte range of the deepest indexed node
+ * on the pointer path. The indexes of the most recently used files are cached as long as the files don't change.
+ *
+ * <p>Only UTF-8 encoded files having an object root and a size of up to 2 GiB can be indexed.
+ */
+final class MappedJsonIndex {
+
+  static final int MAX_INDEXES = 16;
+
+  /** Remembers files that can't be indexed. */
+  private static final Map<String, Section> NOT_INDEXABLE = Map.of();
+
+  /** Access ordered map. Guarded by its own monitor. */
+  private static final Map<Path, MappedJsonIndex> INDEXES = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Path, MappedJsonIndex> eldest) {
+      return size() > MAX_INDEXES;
+    }
+  };
+
+  private final long version;
+  private final ByteBuffer buffer;
+
+  /** The top-level nodes by name. */
+  private final Map<String, Section> sections;
+
+  private MappedJsonIndex(long version, ByteBuffer buffer, Map<String, Section> sections) {
+    this.version = version;
+    this.buffer = buffer;
+    this.sections = sections;
+  }
+
+  /**
+   * Provides the index of the given file. The index gets built on first access and on each change of the file.
+   *
+   * @param file a file located on the file system.
+   * @param factory the factory used to scan the file.
+   * @return the index of the current file content. <code>null</code> if the file can't be indexed.
+   */
+  static MappedJsonIndex of(ResourceFile file, JsonFactory factory) {
+    Path path = requireFilePath(file);
+    long version = file.version();
+    MappedJsonIndex index;
+    synchronized (INDEXES) {
+      index = INDEXES.get(path);
+      if (index == null || index.version != version) {
+        index = build(file, path, version, factory);
+        INDEXES.put(path, index);
+      }
+    }
+    return index.sections != NOT_INDEXABLE ? index : null;
+  }
+
+  /**
+   * Removes all cached indexes.
+   */
+  static void clear() {
+    synchronized (INDEXES) {
+      INDEXES.clear();
+    }
+  }
+
+  /**
+   * @param mapper the mapper used to build the referenced node.
+   * @param nodePtr the absolute json pointer of the node to read.
+   * @return the referenced node or a {@link MissingNode} if there is no such node.
+   */
+  JsonNode at(ObjectMapper mapper, String nodePtr) {
+    JsonPointer ptr = JsonPointer.compile(nodePtr);
+    if (ptr.matches()) {
+      return read(mapper, new Range(0, buffer.limit())).at(ptr);
+    }
+
+    Section section = sections.get(ptr.getMatchingProperty());
+    if (section == null) {
+      return MissingNode.getInstance();
+    }
+
+    JsonPointer sectionTail = ptr.tail();
+    Range child = sectionTail.matches() ? null : section.children.get(sectionTail.getMatchingProperty());
+    return child != null
+          ? read(mapper, child).at(sectionTail.tail())
+          : read(mapper, section.range).at(sectionTail);
+  }
+
+  int size() {
+    return sections.size();
+  }
+
+  private JsonNode read(ObjectMapper mapper, Range range) {
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(range.start);
+    slice.limit(range.end);
+    try (InputStream in = new ByteBufferBackedInputStream(slice)) {
+      return mapper.readTree(in);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read json content at byte offset " + range.start + ".", e);
+    }
+  }
+
+  private static Path requireFilePath(ResourceFile file) {
+    Path path = file.getFilePath();
+    if (path == null) {
+      throw new IllegalArgumentException("Resource is not located on the file system: " + file);
+    }
+    return path;
+  }
+
+  private static MappedJsonIndex build(ResourceFile file, Path path, long version, JsonFactory factory) {
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        return new MappedJsonIndex(version, null, NOT_INDEXABLE);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      Map<String, Section> sections = scan(buffer, factory);
+      return new MappedJsonIndex(version, sections != NOT_INDEXABLE ? buffer : null, sections);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to index json file '" + file.getFileName() + "'.", e);
+    }
+  }
+
+  private static Map<String, Section> scan(ByteBuffer buffer, JsonFactory factory) throws IOException {
+    Map<String, Section> sections = new HashMap<>();
+    try (JsonParser parser = factory.createParser(new ByteBufferBackedInputStream(buffer.duplicate()))) {
+      // byte offsets are only available for UTF-8 content
+      if (parser.nextToken() != JsonToken.START_OBJECT || parser.currentTokenLocation().getByteOffset() < 0) {
+        return NOT_INDEXABLE;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        Map<String, Range> children = new HashMap<>();
+        JsonToken token = parser.nextToken();
+        int start = startOffset(parser);
+        if (token == JsonToken.START_OBJECT) {
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String childName = parser.currentName();
+            parser.nextToken();
+            int childStart = startOffset(parser);
+            children.put(childName, new Range(childStart, skipValue(parser)));
+          }
+        }
+        sections.put(name, new Section(new Range(start, skipValue(parser)), children));
+      }
+    }
+    return sections;
+  }
+
+  private static int startOffset(JsonParser parser) {
+    return (int) parser.currentTokenLocation().getByteOffset();
+  }
+
+  /**
+   * Moves behind the current value.
+   *
+   * @return the byte offset behind the current value. May include trailing separators, which don't hurt
+   *     when reading the range as a single value.
+   */
+  private static int skipValue(JsonParser parser) throws IOException {
+    parser.skipChildren();
+    parser.finishToken();
+    return (int) parser.currentLocation().getByteOffset();
+  }
+
+  private static final class Range {
+    private final int start;
+    private final int end;
+
+    private Range(int start, int end) {
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  private static final class Section {
+    private final Range range;
+    private final Map<String, Range> children;
+
+    private Section(Range range, Map<String, Range> children) {
+      this.range = range;
+      this.children = children;
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.fasterxml.jackson.annotation.JsonIgnoreProperties.Value.forIgnoredProperties;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Process wide cache of object mapper variants having property ignorals configured
+ * (see {@link JsonResourceTestDelegate#jsonHide(Class, String...)} and
+ * {@link JsonResourceTestDelegate#jsonShow(Class, String...)}).
+ *
+ * <p>Configuring ignorals on a mapper invalidates its serializer caches. Tests having the same ignorals
+ * configuration for the same shared base mapper share a single variant. That way the serializers get built only
+ * once.
+ *
+ * <p>Variants are identified by the identity of the base mapper and the ignored properties per class. The number
+ * of variants is bounded. The least recently used variant gets evicted if the limit is exceeded.
+ *
+ * <p>A variant is a copy of the base mapper at the time of its creation. Changes of the base mapper made afterwards
+ * don't apply to it. Therefore only shared mappers that don't get modified any more should be used as base
+ * mappers, e.g. the ones passed to {@link JsonResourceTestDelegate#setSharedObjectMapper(ObjectMapper)}.
+ * The delegates don't use the cache for their private mappers. The variants are shared and must not be modified.
+ */
+public final class MapperVariantCache {
+
+  /**
+   * Name of the system property that may be used to adjust the number of cached mapper variants.
+   */
+  public static final String MAX_ENTRIES_PROPERTY = "expectum.mapperVariants.maxEntries";
+
+  static final int DEFAULT_MAX_ENTRIES = 128;
+
+  private static final MapperVariantCache SHARED =
+        new MapperVariantCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+
+  private final int maxEntries;
+
+  /** Access ordered map. Guarded by its own monitor. */
+  private final Map<Key, ObjectMapper> variants;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  MapperVariantCache(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries should be positive, but was: " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    this.variants = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, ObjectMapper> eldest) {
+        boolean evict = size() > MapperVariantCache.this.maxEntries;
+        if (evict) {
+          evictionCount.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  /**
+   * @return the cache instance shared by all {@link JsonResourceTestDelegate}s of this process.
+   */
+  public static MapperVariantCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Provides the variant of the given base mapper having the given properties ignored.
+   *
+   * @param baseMapper the shared mapper to derive the variant from. It should not get modified any more.
+   * @param ignorals the names of the ignored properties per class.
+   * @return the base mapper itself if there is nothing to ignore. Otherwise the shared variant.
+   */
+  ObjectMapper get(ObjectMapper baseMapper, Map<Class<?>, Set<String>> ignorals) {
+    Map<Class<?>, Set<String>> normalized = normalize(ignorals);
+    if (normalized.isEmpty()) {
+      return baseMapper;
+    }
+
+    Key key = new Key(baseMapper, normalized);
+    synchronized (variants) {
+      ObjectMapper variant = variants.get(key);
+      if (variant != null) {
+        hitCount.incrementAndGet();
+        return variant;
+      }
+      missCount.incrementAndGet();
+      variant = createVariant(baseMapper, normalized);
+      variants.put(key, variant);
+      return variant;
+    }
+  }
+
+  /**
+   * Removes all cached variants. The statistic counters stay unchanged.
+   */
+  public void clear() {
+    synchronized (variants) {
+      variants.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (variants) {
+      return variants.size();
+    }
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return "MapperVariantCache{size=" + size() + ", maxEntries=" + maxEntries + ", hits=" + getHitCount()
+          + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+  }
+
+  /**
+   * Classes without ignored properties don't make a difference.
+   */
+  private static Map<Class<?>, Set<String>> normalize(Map<Class<?>, Set<String>> ignorals) {
+    Map<Class<?>, Set<String>> normalized = new HashMap<>();
+    ignorals.forEach((cls, propNames) -> {
+      if (!propNames.isEmpty()) {
+        normalized.put(cls, Set.copyOf(propNames));
+      }
+    });
+    return Map.copyOf(normalized);
+  }
+
+  private static ObjectMapper createVariant(ObjectMapper baseMapper, Map<Class<?>, Set<String>> ignorals) {
+    ObjectMapper variant = baseMapper.copy();
+    ignorals.forEach((cls, propNames) -> variant.configOverride(cls)
+          .setIgnorals(forIgnoredProperties(propNames.toArray(new String[0]))));
+    return variant;
+  }
+
+  private static final class Key {
+    private final ObjectMapper baseMapper;
+    private final Map<Class<?>, Set<String>> ignorals;
+
+    Key(ObjectMapper baseMapper, Map<Class<?>, Set<String>> ignorals) {
+      this.baseMapper = requireNonNull(baseMapper);
+      this.ignorals = ignorals;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return baseMapper == other.baseMapper && ignorals.equals(other.ignorals);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(baseMapper) + ignorals.hashCode();
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package de.cleanitworks.expectum.core.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A test resource file, located next to the class it belongs to.
+ */
+final class ResourceFile {
+
+  private static final int HASH_BUFFER_SIZE = 8192;
+
+  static final int MAX_CONTENT_HASHES = 256;
+
+  /** A cached checksum gets recomputed after that time, to notice changes not affecting the size. */
+  static final long CONTENT_HASH_MAX_AGE_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+  /**
+   * The checksums of the most recently used resources not providing a modification time, by url. Access ordered
+   * map. Guarded by its own monitor.
+   */
+  private static final Map<String, ContentHash> CONTENT_HASHES = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, ContentHash> eldest) {
+      return size() > MAX_CONTENT_HASHES;
+    }
+  };
+
+  private final Class<?> ctxtClass;
+  private final String fileName;
+  private final URL url;
+
+  private ResourceFile(Class<?> ctxtClass, String fileName, URL url) {
+    this.ctxtClass = ctxtClass;
+    this.fileName = fileName;
+    this.url = url;
+  }
+
+  /**
+   * Resolves the resource file having the given name within the package of the given class.
+   *
+   * <p>The file gets looked up in the {@link FixtureIndex} of the class loader of the given class. Files not
+   * covered by the index get resolved by the class loader.
+   *
+   * @param ctxtClass the class to get the resource for.
+   * @param fileName the simple name of the file. E.g. <code>MyTest.json</code>
+   * @return the found resource.
+   * @throws IllegalArgumentException if there is no such resource. The message suggests similar fixtures.
+   */
+  static ResourceFile of(Class<?> ctxtClass, String fileName) {
+    ResourceFile file = find(ctxtClass, fileName);
+    if (file == null) {
+      throw new IllegalArgumentException(
+            notFoundMessage(ctxtClass, FixtureIndex.resourcePath(ctxtClass, fileName)));
+    }
+    return file;
+  }
+
+  /**
+   * Similar to {@link #of(Class, String)}, but for optional files.
+   *
+   * @return the found resource or <code>null</code> if there is no such resource.
+   */
+  static ResourceFile find(Class<?> ctxtClass, String fileName) {
+    String resourcePath = FixtureIndex.resourcePath(ctxtClass, fileName);
+    URL url = FixtureIndex.find(ctxtClass.getClassLoader(), resourcePath);
+    if (url == null) {
+      url = ctxtClass.getResource("/" + resourcePath);
+    }
+    return url != null ? new ResourceFile(ctxtClass, fileName, url) : null;
+  }
+
+  private static String notFoundMessage(Class<?> ctxtClass, String resourcePath) {
+    String message = "Resource file not found: /" + resourcePath;
+    List<String> suggestions = FixtureIndex.suggest(ctxtClass.getClassLoader(), resourcePath);
+    return suggestions.isEmpty()
+          ? message
+          : message + ". Did you mean: " + suggestions.stream().map(s -> "/" + s).collect(joining(", ")) + "?";
+  }
+
+  Class<?> getCtxtClass() {
+    return ctxtClass;
+  }
+
+  String getFileName() {
+    return fileName;
+  }
+
+  URL getUrl() {
+    return url;
+  }
+
+  /**
+   * @return the path of the file or <code>null</code> if the resource is not located on the file system.
+   *     E.g. if it is packed in a jar.
+   */
+  Path getFilePath() {
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return toPath();
+    } catch (URISyntaxException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  InputStream openStream() throws IOException {
+    return url.openStream();
+  }
+
+  /**
+   * @return the file size in bytes or <code>-1</code> if the location of the resource does not provide it.
+   */
+  long size() {
+    try {
+      if ("file".equals(url.getProtocol())) {
+        return Files.size(toPath());
+      }
+      URLConnection connection = url.openConnection();
+      return connection.getContentLengthLong();
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Provides a value that changes whenever the file content changes.
+   *
+   * <p>That is the last modification time of the file. If the location of the resource does not provide that
+   * information, a checksum of the file content is used. A checksum gets reused by subsequent calls as long as the
+   * file size stays the same, but at most for 200 ms.
+   *
+   * @return the version of the current file content.
+   */
+  long version() {
+    long lastModified = lastModified();
+    return lastModified > 0 ? lastModified : contentHash();
+  }
+
+  private long lastModified() {
+    try {
+      if ("file".equals(url.getProtocol())) {
+        return Files.getLastModifiedTime(toPath()).toMillis();
+      }
+      URLConnection connection = url.openConnection();
+      return connection.getLastModified();
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      return 0;
+    }
+  }
+
+  private long contentHash() {
+    String key = url.toString();
+    long size = size();
+    long now = System.nanoTime();
+    ContentHash hash;
+    synchronized (CONTENT_HASHES) {
+      hash = CONTENT_HASHES.get(key);
+    }
+    if (hash != null && hash.size == size && now - hash.computedNanos < CONTENT_HASH_MAX_AGE_NANOS) {
+      return hash.value;
+    }
+    hash = new ContentHash(size, computeContentHash(), now);
+    synchronized (CONTENT_HASHES) {
+      CONTENT_HASHES.put(key, hash);
+    }
+    return hash.value;
+  }
+
+  private long computeContentHash() {
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[HASH_BUFFER_SIZE];
+    try (InputStream in = openStream()) {
+      for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+        crc.update(buffer, 0, n);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read file '" + fileName + "'.", e);
+    }
+    return crc.getValue();
+  }
+
+  private Path toPath() throws URISyntaxException {
+    return Paths.get(requireNonNull(url).toURI());
+  }
+
+  @Override
+  public String toString() {
+    return url.toString();
+  }
+
+  private static final class ContentHash {
+    private final long size;
+    private final long value;
+    private final long computedNanos;
+
+    private ContentHash(long size, long value, long computedNanos) {
+      this.size = size;
+      this.value = value;
+      this.computedNanos = computedNanos;
+    }
+  }
+}
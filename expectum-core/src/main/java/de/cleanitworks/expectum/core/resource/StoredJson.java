@@ -0,0 +1,336 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Pre-parsed json tree in a binary form that can be navigated without parsing.
+ *
+ * <p>Each node starts with a type byte. Containers refer to their children by absolute byte offsets:
+ * <ul>
+ *   <li>array: element count, offset of each element</li>
+ *   <li>object: field count, name length, UTF-8 name and value offset of each field</li>
+ *   <li>string, big integer, big decimal, binary: length, UTF-8 text or bytes</li>
+ *   <li>int, long, float, double: the value</li>
+ *   <li>null, true, false: nothing</li>
+ * </ul>
+ * A pointer lookup follows the offsets along the pointer path. Only the referenced node gets materialized.
+ * The buffer may be a read-only memory mapped file. Contents of more than 2 GiB are not supported.
+ */
+final class StoredJson {
+
+  static final int MAGIC = 0x45585053; // "EXPS"
+
+  static final int FORMAT_VERSION = 1;
+
+  private static final int HEADER_SIZE = 8;
+
+  private static final byte NULL = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = 2;
+  private static final byte INT = 3;
+  private static final byte LONG = 4;
+  private static final byte BIG_INTEGER = 5;
+  private static final byte FLOAT = 6;
+  private static final byte DOUBLE = 7;
+  private static final byte BIG_DECIMAL = 8;
+  private static final byte STRING = 9;
+  private static final byte BINARY = 10;
+  private static final byte ARRAY = 11;
+  private static final byte OBJECT = 12;
+
+  private final ByteBuffer buffer;
+
+  private StoredJson(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * @param buffer content written by {@link #encode(JsonNode)}.
+   * @return the stored json of the buffer.
+   * @throws IllegalArgumentException if the buffer does not start with a valid header.
+   */
+  static StoredJson of(ByteBuffer buffer) {
+    if (!isValid(buffer)) {
+      throw new IllegalArgumentException("Unsupported stored json format.");
+    }
+    return new StoredJson(buffer);
+  }
+
+  /**
+   * @return <code>true</code> if the buffer starts with the header of the current format version.
+   */
+  static boolean isValid(ByteBuffer buffer) {
+    return buffer.limit() > HEADER_SIZE && buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT_VERSION;
+  }
+
+  /**
+   * @param root the tree to store.
+   * @return the binary form of the tree, including the header.
+   */
+  static byte[] encode(JsonNode root) {
+    Output out = new Output();
+    out.putInt(MAGIC);
+    out.putInt(FORMAT_VERSION);
+    out.write(root);
+    return out.toByteArray();
+  }
+
+  /**
+   * @param nodeFactory creates the nodes of the result.
+   * @param nodePtr the absolute json pointer of the node to read.
+   * @return a new tree having the content of the referenced node or a {@link MissingNode} if there is no such node.
+   */
+  JsonNode at(JsonNodeFactory nodeFactory, String nodePtr) {
+    int offset = HEADER_SIZE;
+    for (JsonPointer ptr = JsonPointer.compile(nodePtr); !ptr.matches(); ptr = ptr.tail()) {
+      offset = child(offset, ptr);
+      if (offset < 0) {
+        return MissingNode.getInstance();
+      }
+    }
+    return read(nodeFactory, offset);
+  }
+
+  /**
+   * @return the offset of the child matching the head of the pointer. <code>-1</code> if there is none.
+   */
+  private int child(int offset, JsonPointer ptr) {
+    byte type = buffer.get(offset);
+    if (type == OBJECT) {
+      byte[] name = ptr.getMatchingProperty().getBytes(UTF_8);
+      int count = buffer.getInt(offset + 1);
+      int pos = offset + 5;
+      for (int i = 0; i < count; i++) {
+        int nameLength = buffer.getInt(pos);
+        if (nameLength == name.length && nameEquals(pos + 4, name)) {
+          return buffer.getInt(pos + 4 + nameLength);
+        }
+        pos += 4 + nameLength + 4;
+      }
+    } else if (type == ARRAY) {
+      int index = ptr.getMatchingIndex();
+      if (index >= 0 && index < buffer.getInt(offset + 1)) {
+        return buffer.getInt(offset + 5 + 4 * index);
+      }
+    }
+    return -1;
+  }
+
+  private boolean nameEquals(int pos, byte[] name) {
+    for (int i = 0; i < name.length; i++) {
+      if (buffer.get(pos + i) != name[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private JsonNode read(JsonNodeFactory nodeFactory, int offset) {
+    byte type = buffer.get(offset);
+    int pos = offset + 1;
+    switch (type) {
+      case NULL:
+        return nodeFactory.nullNode();
+      case TRUE:
+        return nodeFactory.booleanNode(true);
+      case FALSE:
+        return nodeFactory.booleanNode(false);
+      case INT:
+        return nodeFactory.numberNode(buffer.getInt(pos));
+      case LONG:
+        return nodeFactory.numberNode(buffer.getLong(pos));
+      case BIG_INTEGER:
+        return nodeFactory.numberNode(new BigInteger(readString(pos)));
+      case FLOAT:
+        return nodeFactory.numberNode(buffer.getFloat(pos));
+      case DOUBLE:
+        return nodeFactory.numberNode(buffer.getDouble(pos));
+      case BIG_DECIMAL:
+        return nodeFactory.numberNode(new BigDecimal(readString(pos)));
+      case STRING:
+        return nodeFactory.textNode(readString(pos));
+      case BINARY:
+        return nodeFactory.binaryNode(readBytes(pos));
+      case ARRAY:
+        int size = buffer.getInt(pos);
+        ArrayNode array = nodeFactory.arrayNode(size);
+        for (int i = 0; i < size; i++) {
+          array.add(read(nodeFactory, buffer.getInt(pos + 4 + 4 * i)));
+        }
+        return array;
+      case OBJECT:
+        int count = buffer.getInt(pos);
+        ObjectNode object = nodeFactory.objectNode();
+        pos += 4;
+        for (int i = 0; i < count; i++) {
+          String name = readString(pos);
+          pos += 4 + buffer.getInt(pos);
+          object.set(name, read(nodeFactory, buffer.getInt(pos)));
+          pos += 4;
+        }
+        return object;
+      default:
+        throw new IllegalStateException("Unknown node type " + type + " at byte offset " + offset + ".");
+    }
+  }
+
+  private String readString(int pos) {
+    return new String(readBytes(pos), UTF_8);
+  }
+
+  private byte[] readBytes(int pos) {
+    byte[] bytes = new byte[buffer.getInt(pos)];
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(pos + 4);
+    slice.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Growable buffer supporting updates of already written offsets.
+   */
+  private static final class Output {
+    private byte[] bytes = new byte[1024];
+    private int size;
+
+    int write(JsonNode node) {
+      int offset = size;
+      switch (node.getNodeType()) {
+        case NULL:
+          putByte(NULL);
+          break;
+        case BOOLEAN:
+          putByte(node.booleanValue() ? TRUE : FALSE);
+          break;
+        case NUMBER:
+          writeNumber(node);
+          break;
+        case STRING:
+          putByte(STRING);
+          putBytes(node.textValue().getBytes(UTF_8));
+          break;
+        case BINARY:
+          putByte(BINARY);
+          putBytes(((BinaryNode) node).binaryValue());
+          break;
+        case ARRAY:
+          putByte(ARRAY);
+          putInt(node.size());
+          int table = reserve(4 * node.size());
+          for (int i = 0; i < node.size(); i++) {
+            setInt(table + 4 * i, write(node.get(i)));
+          }
+          break;
+        case OBJECT:
+          writeObject(node);
+          break;
+        default:
+          // POJO and missing nodes are not part of parsed trees
+          throw new IllegalArgumentException("Unsupported node type: " + node.getNodeType());
+      }
+      return offset;
+    }
+
+    private void writeObject(JsonNode node) {
+      putByte(OBJECT);
+      putInt(node.size());
+      int[] valueSlots = new int[node.size()];
+      int i = 0;
+      for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); i++) {
+        putBytes(it.next().getKey().getBytes(UTF_8));
+        valueSlots[i] = reserve(4);
+      }
+      i = 0;
+      for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); i++) {
+        setInt(valueSlots[i], write(it.next().getValue()));
+      }
+    }
+
+    private void writeNumber(JsonNode node) {
+      switch (node.numberType()) {
+        case INT:
+          putByte(INT);
+          putInt(node.intValue());
+          break;
+        case LONG:
+          putByte(LONG);
+          putLong(node.longValue());
+          break;
+        case BIG_INTEGER:
+          putByte(BIG_INTEGER);
+          putBytes(node.bigIntegerValue().toString().getBytes(UTF_8));
+          break;
+        case FLOAT:
+          putByte(FLOAT);
+          putInt(Float.floatToRawIntBits(node.floatValue()));
+          break;
+        case DOUBLE:
+          putByte(DOUBLE);
+          putLong(Double.doubleToRawLongBits(node.doubleValue()));
+          break;
+        default:
+          putByte(BIG_DECIMAL);
+          putBytes(node.decimalValue().toString().getBytes(UTF_8));
+      }
+    }
+
+    private void putByte(byte value) {
+      ensureCapacity(1);
+      bytes[size++] = value;
+    }
+
+    private void putInt(int value) {
+      setInt(reserve(4), value);
+    }
+
+    private void putLong(long value) {
+      ByteBuffer.wrap(bytes, reserve(8), 8).putLong(value);
+    }
+
+    private void putBytes(byte[] value) {
+      putInt(value.length);
+      int pos = reserve(value.length);
+      System.arraycopy(value, 0, bytes, pos, value.length);
+    }
+
+    private int reserve(int length) {
+      ensureCapacity(length);
+      int pos = size;
+      size += length;
+      return pos;
+    }
+
+    private void setInt(int pos, int value) {
+      ByteBuffer.wrap(bytes, pos, 4).putInt(value);
+    }
+
+    private void ensureCapacity(int length) {
+      if ((long) size + length > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Json content too large for the stored form.");
+      }
+      if (size + length > bytes.length) {
+        long capacity = Math.max(2L * bytes.length, (long) size + length);
+        bytes = Arrays.copyOf(bytes, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+      }
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanonicalJsonWriterTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final CanonicalJsonWriter writer = new CanonicalJsonWriter(mapper);
+
+    @Test
+    void write_sortsFieldsKeepsArrayOrder() {
+        assertThat(writer.write(read("{'b': {'y': 1, 'x': [3, 1]}, 'a': null, 'c': 'text'}")))
+                .isEqualTo("{\"a\":null,\"b\":{\"x\":[3,1],\"y\":1},\"c\":\"text\"}");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "1         | 1",
+            "1.0       | 1",
+            "-0.0      | 0",
+            "1.50      | 1.5",
+            "1E2       | 100",
+            "1.5e-10   | 1.5E-10",
+            "1e30      | 1E+30",
+            "123456789012345678901 | 123456789012345678901",
+    })
+    void normalize(String number, String expected) {
+        assertThat(writer.write(read(number))).isEqualTo(expected);
+    }
+
+    @Test
+    void writeValue_beanAndExpectedContent_sameString() {
+        Map<String, Object> bean = new LinkedHashMap<>();
+        bean.put("count", 2L);
+        bean.put("amount", new BigDecimal("10.00"));
+        bean.put("items", List.of(Map.of("name", "n", "ratio", 0.25f)));
+
+        assertThat(writer.writeValue(bean))
+                .isEqualTo(writer.write(read("{'items': [{'ratio': 2.5E-1, 'name': 'n'}], 'amount': 10, 'count': 2.0}")));
+    }
+
+    @Test
+    void write_nonFiniteNumber() {
+        assertThat(writer.write(mapper.getNodeFactory().numberNode(Double.NaN)))
+                .isEqualTo("\"NaN\"");
+    }
+
+    private JsonNode read(String json) {
+        try {
+            return mapper.readTree(json.replace('\'', '"'));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class JsonComparatorTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @EnumSource(JsonCompareMode.class)
+    void compare_equalContent(JsonCompareMode mode) {
+        assertThat(compare(mode, "{'a': [1, {'b': null}], 'c': 'x'}", "{'c': 'x', 'a': [1, {'b': null}]}").isEqual())
+                .isTrue();
+    }
+
+    @Test
+    void compare_numbersByValue() {
+        assertThat(compare(JsonCompareMode.STRICT, "{'a': 1, 'b': 2.50}", "{'a': 1.0, 'b': 2.5}").isEqual())
+                .isTrue();
+    }
+
+    @Test
+    void compare_reportsPaths() {
+        JsonComparison comparison = compare(JsonCompareMode.STRICT,
+                "{'a': {'b': 1, 'c/d': [1, 2]}, 'e': 'x'}",
+                "{'a': {'b': 2, 'c/d': [1]}, 'f': 'x'}");
+
+        assertThat(comparison.getDifferences()).extracting(JsonDifference::toString).containsExactly(
+                "/a/b: expected 1 but was 2",
+                "/a/c~1d/1: missing element 2",
+                "/e: missing field \"x\"",
+                "/f: unexpected field \"x\"");
+        assertThat(comparison.isLimitReached()).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "STRICT         | false | false",
+            "LENIENT        | true  | true",
+            "NON_EXTENSIBLE | false | true",
+            "STRICT_ORDER   | true  | false",
+    })
+    void compare_modes(JsonCompareMode mode, boolean extraFieldEqual, boolean otherOrderEqual) {
+        assertThat(compare(mode, "{'a': 1}", "{'a': 1, 'b': 2}").isEqual()).isEqualTo(extraFieldEqual);
+        assertThat(compare(mode, "[1, 2, {'x': 3}]", "[{'x': 3}, 2, 1]").isEqual()).isEqualTo(otherOrderEqual);
+    }
+
+    @Test
+    void compare_unorderedArrays_reportsUnmatchedElements() {
+        JsonComparison comparison = compare(JsonCompareMode.LENIENT, "[1, 2, 3, 3]", "[3, 4, 1, 2]");
+
+        assertThat(comparison.getDifferences()).extracting(JsonDifference::toString).containsExactly(
+                "/3: missing element 3",
+                "/1: unexpected element 4");
+    }
+
+    @Test
+    void compare_lenientArrayElements_mayBeExtended() {
+        assertThat(compare(JsonCompareMode.LENIENT, "[{'a': 1}, {'a': 2}]", "[{'a': 2, 'x': 0}, {'a': 1}]").isEqual())
+                .isTrue();
+    }
+
+    @Test
+    void compare_unorderedNestedContent() {
+        assertThat(compare(JsonCompareMode.NON_EXTENSIBLE,
+                "[{'a': [1, 2], 'b': 1.0}, {'a': [2, 1], 'b': 2}, [3, [4, 5]]]",
+                "[[[5, 4], 3], {'b': 2, 'a': [1, 2]}, {'a': [1, 2], 'b': 1}]").isEqual())
+                .isTrue();
+    }
+
+    @Test
+    void compare_lenientArrayElements_extendedAndDuplicate() {
+        JsonComparison comparison = compare(JsonCompareMode.LENIENT,
+                "[{'a': 1}, {'a': 1}, {'a': 2}]", "[{'a': 1}, {'a': 2}, {'a': 1, 'x': 0}, {'a': 3}]");
+
+        assertThat(comparison.getDifferences()).extracting(JsonDifference::toString).containsExactly(
+                "/3: unexpected element {\"a\":3}");
+    }
+
+    @Test
+    void compare_hugeUnorderedArrays() {
+        ArrayNode expected = mapper.createArrayNode();
+        List<JsonNode> elements = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            elements.add(mapper.createObjectNode().put("id", i % 50_000).put("name", "n" + i));
+        }
+        expected.addAll(elements);
+        Collections.shuffle(elements, new Random(1));
+        ArrayNode actual = mapper.createArrayNode().addAll(elements);
+        int changedIndex = Integer.parseInt(actual.get(42).get("name").asText().substring(1));
+        ObjectNode changed = ((ObjectNode) actual.get(42)).deepCopy().put("name", "changed");
+        actual.set(42, changed);
+
+        JsonComparison comparison = assertTimeout(Duration.ofSeconds(10),
+                () -> new JsonComparator(JsonCompareMode.NON_EXTENSIBLE, 10).compare(expected, actual));
+
+        assertThat(comparison.getDifferences()).extracting(JsonDifference::toString).containsExactly(
+                "/" + changedIndex + ": missing element " + expected.get(changedIndex),
+                "/42: unexpected element " + changed);
+    }
+
+    @Test
+    void compare_hugeLenientArrays_actualElementsHavingExtraFields() {
+        ArrayNode expected = mapper.createArrayNode();
+        List<JsonNode> elements = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            expected.add(mapper.createObjectNode().put("id", i).put("type", "item"));
+            elements.add(mapper.createObjectNode().put("id", i).put("type", "item").put("extra", "x" + i));
+        }
+        Collections.shuffle(elements, new Random(1));
+        ArrayNode actual = mapper.createArrayNode().addAll(elements);
+        ((ObjectNode) actual.get(42)).put("type", "changed");
+        int changedId = actual.get(42).get("id").intValue();
+
+        JsonComparison comparison = assertTimeout(Duration.ofSeconds(10),
+                () -> new JsonComparator(JsonCompareMode.LENIENT, 10).compare(expected, actual));
+
+        assertThat(comparison.getDifferences()).extracting(JsonDifference::toString).containsExactly(
+                "/" + changedId + ": missing element " + expected.get(changedId),
+                "/42: unexpected element " + actual.get(42));
+    }
+
+    @Test
+    void compare_stopsAtMaxDifferences() {
+        JsonComparison comparison = new JsonComparator(JsonCompareMode.STRICT, 2)
+                .compare(read("[1, 2, 3, 4]"), read("[5, 6, 7, 8]"));
+
+        assertThat(comparison.getDifferences()).hasSize(2);
+        assertThat(comparison.isLimitReached()).isTrue();
+        assertThat(comparison).hasToString("Json content differs (stopped after 2 differences):\n"
+                + "  /0: expected 1 but was 5\n"
+                + "  /1: expected 2 but was 6");
+    }
+
+    @Test
+    void compare_rootValue() {
+        assertThat(compare(JsonCompareMode.STRICT, "'a'", "'b'").getDifferences())
+                .extracting(JsonDifference::toString)
+                .containsExactly("(root): expected \"a\" but was \"b\"");
+    }
+
+    @Test
+    void compare_abbreviatesLongValues() {
+        String longText = "x".repeat(200);
+
+        assertThat(compare(JsonCompareMode.STRICT, "'" + longText + "'", "1").getDifferences().get(0).getMessage())
+                .hasSize("expected \"".length() + JsonDifference.MAX_VALUE_LENGTH - 1 + "...".length() + " but was 1".length());
+    }
+
+    @Test
+    void maxDifferences_shouldBePositive() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new JsonComparator(JsonCompareMode.STRICT, 0));
+    }
+
+    private JsonComparison compare(JsonCompareMode mode, String expected, String actual) {
+        return new JsonComparator(mode, 10).compare(read(expected), read(actual));
+    }
+
+    private JsonNode read(String json) {
+        try {
+            return mapper.readTree(json.replace('\'', '"'));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonDifferenceTest {
+
+    @Test
+    void describe_smallNode_complete() {
+        ArrayNode node = JsonNodeFactory.instance.arrayNode().add("a").add(1);
+
+        assertThat(JsonDifference.describe(node)).isEqualTo("[\"a\",1]");
+    }
+
+    @Test
+    void describe_hugeNode_serializesOnlyTheBeginning() {
+        AtomicInteger serializedTail = new AtomicInteger();
+        ArrayNode node = JsonNodeFactory.instance.arrayNode();
+        IntStream.range(0, 100_000).forEach(node::add);
+        node.addPOJO(new Tail(serializedTail));
+
+        String description = JsonDifference.describe(node);
+
+        assertThat(description).hasSize(JsonDifference.MAX_VALUE_LENGTH + 3).startsWith("[0,1,2,").endsWith("...");
+        assertThat(serializedTail).hasValue(0);
+    }
+
+    static class Tail {
+        private final AtomicInteger serialized;
+
+        Tail(AtomicInteger serialized) {
+            this.serialized = serialized;
+        }
+
+        public int getValue() {
+            return serialized.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package de.cleanitworks.expectum.core.compare;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class StreamingJsonComparatorTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final StreamingJsonComparator comparator = new StreamingJsonComparator(mapper);
+
+    @Test
+    void compare_equalBean() throws IOException {
+        Item item = new Item("a", 1, 2.5, new BigDecimal("3.10"), true, null, new int[] {1, 2}, List.of("x"),
+                new byte[] {1, 2, 3}, "{\"raw\":[1]}");
+
+        JsonComparison comparison = comparator.compare(read(mapper.writeValueAsString(item)), item);
+
+        assertThat(comparison.isEqual()).isTrue();
+    }
+
+    @Test
+    void compare_differentValue_stopsAtFirstDifference() {
+        Item item = new Item("a", 1, 2.5, BigDecimal.ONE, true, null, new int[] {1, 2}, List.of("x"), null, null);
+        JsonNode expected = read("{'name': 'a', 'count': 2, 'ratio': 3.5, 'amount': 1, 'flag': true, 'nothing': null,"
+                + " 'numbers': [1, 2], 'texts': ['x'], 'data': null, 'raw': null}");
+
+        JsonComparison comparison = comparator.compare(expected, item);
+
+        assertThat(comparison.getDifferences()).extracting(JsonDifference::toString)
+                .containsExactly("/count: expected 2 but was 1");
+        assertThat(comparison).hasToString("Json content differs (stopped at the first difference):\n"
+                + "  /count: expected 2 but was 1");
+    }
+
+    @Test
+    void compare_numbersByValue() {
+        assertThat(comparator.compare(read("[1.0, 2, 3.50]"), List.of(1, 2.0, new BigDecimal("3.5"))).isEqual())
+                .isTrue();
+    }
+
+    @Test
+    void compare_fieldOrderMatters() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("b", 1);
+        map.put("a", 2);
+
+        assertThat(comparator.compare(read("{'a': 2, 'b': 1}"), map).getDifferences())
+                .extracting(JsonDifference::toString)
+                .containsExactly("/a: expected field \"a\" but was field \"b\"");
+    }
+
+    @Test
+    void compare_additionalContent() {
+        assertThat(comparator.compare(read("[1]"), List.of(1, 2)).getDifferences())
+                .extracting(JsonDifference::toString)
+                .containsExactly("/1: expected ] but was 2");
+        assertThat(comparator.compare(read("[1, 2]"), List.of(1)).getDifferences())
+                .extracting(JsonDifference::toString)
+                .containsExactly("/1: expected 2 but was ]");
+        assertThat(comparator.compare(read("{'a': 1}"), Map.of()).getDifferences())
+                .extracting(JsonDifference::toString)
+                .containsExactly("/a: expected field \"a\" but was }");
+    }
+
+    @Test
+    void compare_hugeResult_stopsEarly() {
+        Iterator<Integer> hugeSequence = IntStream.iterate(0, i -> i + 1).iterator();
+        Iterable<Integer> endless = () -> hugeSequence;
+
+        assertThat(comparator.compare(read("[0, 1, 5]"), endless).getDifferences())
+                .extracting(JsonDifference::toString)
+                .containsExactly("/2: expected 5 but was 2");
+    }
+
+    @Test
+    void compare_parserWithinDocument_readsOnlyThatValue() throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser("{\"a\": 1, \"b\": {\"x\": [1, 2]}, \"c\": 3}")) {
+            parser.nextToken();
+            parser.nextToken();
+            parser.nextToken();
+            parser.nextToken();
+            parser.nextToken();
+
+            assertThat(comparator.compare(parser, Map.of("x", List.of(1, 3))).getDifferences())
+                    .extracting(JsonDifference::toString)
+                    .containsExactly("/x/1: expected 2 but was 3");
+        }
+        try (JsonParser parser = mapper.getFactory().createParser("[{\"x\": 1}, 2]")) {
+            parser.nextToken();
+            parser.nextToken();
+
+            assertThat(comparator.compare(parser, Map.of("x", 1)).isEqual()).isTrue();
+        }
+    }
+
+    @Test
+    void writeString_reader_readsOnlyTheGivenLength() throws IOException {
+        Reader reader = new StringReader("abcd");
+        try (JsonParser expected = mapper.getFactory().createParser("\"ab\"");
+             JsonGenerator sink = mapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            expected.nextToken();
+            ComparingJsonGenerator generator = new ComparingJsonGenerator(sink, expected);
+
+            generator.writeString(reader, 2);
+            generator.verifyComplete();
+        }
+
+        assertThat((char) reader.read()).isEqualTo('c');
+    }
+
+    @Test
+    void compare_serializationFailure() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> comparator.compare(read("{}"), new Object()))
+                .withMessageStartingWith("Unable to serialize json");
+    }
+
+    private JsonNode read(String json) {
+        try {
+            return mapper.readTree(json.replace('\'', '"'));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Value
+    static class Item {
+        String name;
+        int count;
+        double ratio;
+        BigDecimal amount;
+        boolean flag;
+        String nothing;
+        int[] numbers;
+        List<String> texts;
+        byte[] data;
+        @JsonRawValue
+        String raw;
+    }
+}
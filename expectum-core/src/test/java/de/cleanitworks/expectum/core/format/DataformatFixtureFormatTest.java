@@ -0,0 +1,51 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DataformatFixtureFormatTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Runs if the dataformat modules are on the test classpath, e.g. by the <code>dataformats</code> profile.
+     */
+    @ParameterizedTest
+    @ValueSource(classes = {SmileFixtureFormat.class, CborFixtureFormat.class})
+    void binaryFormat_roundTrip(Class<? extends FixtureFormat> formatClass) throws Exception {
+        JsonFactory factory = formatClass.getConstructor().newInstance().createFactory();
+        assumeTrue(factory != null, "dataformat module of " + formatClass.getSimpleName() + " not on classpath");
+        JsonNode tree = mapper.readTree("{\"item\": {\"name\": \"ä€\", \"count\": 2, \"tags\": [true, null, 1.5]}}");
+
+        byte[] content = new ObjectMapper(factory).writeValueAsBytes(tree);
+
+        assertThat(mapper.readTree(factory.createParser(content)).equals(tree)).isTrue();
+    }
+
+    @Test
+    void xml_roundTrip() throws IOException {
+        JsonFactory factory = new XmlFixtureFormat().createFactory();
+        JsonNode tree = mapper.readTree("{\"item\": {\"name\": \"ä€\", \"count\": \"2\", \"tags\": [\"a\", \"b\"]}}");
+
+        byte[] content = new XmlMapper().writer().withRootName("fixture").writeValueAsBytes(tree);
+
+        assertThat(factory).isInstanceOf(XmlFactory.class);
+        assertThat(mapper.readTree(factory.createParser(content)).equals(tree)).isTrue();
+    }
+
+    @Test
+    void createFactory_missingModule_null() {
+        assertThat(new DataformatFixtureFormat("missing", "com.example.MissingFactory") { }.createFactory()).isNull();
+    }
+}
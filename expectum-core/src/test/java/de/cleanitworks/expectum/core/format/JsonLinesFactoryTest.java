@@ -0,0 +1,65 @@
+package de.cleanitworks.expectum.core.format;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonLinesFactoryTest {
+
+    final ObjectMapper mapper = new ObjectMapper(new JsonLinesFactory());
+
+    @Test
+    void readTree_linesAsArray() throws IOException {
+        String jsonLines = "{\"a\": 1}\n\n  \r\n[1, 2]\r\n\"ä€\"\nnull\n";
+
+        assertThat(mapper.writeValueAsString(mapper.readTree(jsonLines)))
+                .isEqualTo("[{\"a\":1},[1,2],\"ä€\",null]");
+        assertThat(mapper.readTree(new ByteArrayInputStream(jsonLines.getBytes(UTF_8))))
+                .isEqualTo(mapper.readTree(jsonLines));
+    }
+
+    @Test
+    void readTree_dataInput() throws IOException {
+        byte[] jsonLines = "{\"a\": \"ä\"}\n2\n".getBytes(UTF_8);
+
+        assertThat(mapper.readTree(mapper.getFactory()
+                .createParser((DataInput) new DataInputStream(new ByteArrayInputStream(jsonLines)))).toString())
+                .isEqualTo("[{\"a\":\"ä\"},2]");
+    }
+
+    @Test
+    void readTree_noTrailingLineBreak() throws IOException {
+        assertThat(mapper.readTree("1\n2").toString()).isEqualTo("[1,2]");
+    }
+
+    @Test
+    void readTree_emptyContent_emptyArray() throws IOException {
+        assertThat(mapper.readTree("").toString()).isEqualTo("[]");
+        assertThat(mapper.readTree("\n \n").toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void readTree_longLines() throws IOException {
+        String value = "x".repeat(20_000);
+
+        assertThat(mapper.readTree(new StringReader("\"" + value + "\"\n\"" + value + "\"")).get(1).textValue())
+                .isEqualTo(value);
+    }
+
+    @Test
+    void readTree_malformedLine_reportsSourceLine() {
+        assertThatThrownBy(() -> mapper.readTree("{\"a\": 1}\n\n{\"b\": }\n"))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("line: 3");
+    }
+}
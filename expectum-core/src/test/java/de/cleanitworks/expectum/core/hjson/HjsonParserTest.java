@@ -0,0 +1,178 @@
+package de.cleanitworks.expectum.core.hjson;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.hjson.JsonValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HjsonParserTest {
+
+    static final String MEADOW_HJSON =
+            "/de/cleanitworks/expectum/core/resource/example/MeadowHjsonTest.hjson";
+
+    final ObjectMapper jsonMapper = new ObjectMapper();
+    final ObjectMapper hjsonMapper = new ObjectMapper(new HjsonFactory());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            "[]",
+            "{\"a\": 1, \"b\": [true, false, null], \"c\": {\"d\": \"e\"}}",
+            "{\n  a: quoteless string with: colon, comma and # hash\n  b: 'single quoted'\n}",
+            "{\n  # comment\n  a: 1 # trailing comment\n  // another comment\n  b: /* block */ 2\n}",
+            "{\n  a: [\n    1\n    2,\n    three\n  ]\n}",
+            "{\n  a: -125\n  b: 0\n  c: 01\n  d: 1.\n  e: -\n}",
+            "{\n  a: true story\n  b: null pointer\n  c: falsehood\n}",
+            "{\n  a: \"escaped \\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e4\"\n  'quoted key': 1\n  \"\": empty key\n}",
+            "{\n  ml: '''\n    first line\n      indented line\n    last line\n    '''\n}",
+            "{\n  ml: '''single line'''\n  e: ''\n}",
+            "a: 1\nb: {c: 2\n}\n",
+            "{\n  a: 1,\n  b: 2,\n}",
+    })
+    void readTree_matchesReferenceImplementation(String hjson) throws IOException {
+        assertThat(hjsonMapper.readTree(hjson))
+                .isEqualTo(jsonMapper.readTree(JsonValue.readHjson(hjson).toString()));
+    }
+
+    @Test
+    void readTree_meadowFixture_matchesReferenceImplementation() throws IOException {
+        JsonNode expected;
+        try (InputStream in = getClass().getResourceAsStream(MEADOW_HJSON)) {
+            expected = jsonMapper.readTree(JsonValue.readHjson(new InputStreamReader(in, UTF_8)).toString());
+        }
+
+        try (InputStream in = getClass().getResourceAsStream(MEADOW_HJSON)) {
+            assertThat(hjsonMapper.readTree(in)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void readTree_keepsNumberRepresentation() throws IOException {
+        JsonNode node = hjsonMapper.readTree("{\n a: 1.0\n b: 12345678901234567890\n c: 7\n}");
+
+        assertThat(node.get("a").isDouble()).isTrue();
+        assertThat(node.get("b").bigIntegerValue()).hasToString("12345678901234567890");
+        assertThat(node.get("c").isInt()).isTrue();
+        assertThat(jsonMapper.writeValueAsString(node))
+                .isEqualTo("{\"a\":1.0,\"b\":12345678901234567890,\"c\":7}");
+    }
+
+    @Test
+    void multilineString_removesIndentationOfOpeningQuotes() throws IOException {
+        String hjson = "{\n"
+                + "  text:\n"
+                + "    '''\n"
+                + "    A green area.\n"
+                + "      indented\n"
+                + "    But not helpful for nature.\n"
+                + "    '''\n"
+                + "}";
+
+        assertThat(hjsonMapper.readTree(hjson).get("text").asText())
+                .isEqualTo("A green area.\n  indented\nBut not helpful for nature.");
+    }
+
+    @Test
+    void nextToken_providesTokenStream() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (JsonParser parser = hjsonMapper.getFactory().createParser("a: [1, \"x\"]\nb: 2.5")) {
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                tokens.add(token + "(" + parser.getText() + ")");
+            }
+        }
+
+        assertThat(tokens).containsExactly(
+                "START_OBJECT({)",
+                "FIELD_NAME(a)",
+                "START_ARRAY([)",
+                "VALUE_NUMBER_INT(1)",
+                "VALUE_STRING(x)",
+                "END_ARRAY(])",
+                "FIELD_NAME(b)",
+                "VALUE_NUMBER_FLOAT(2.5)",
+                "END_OBJECT(})");
+    }
+
+    @Test
+    void readValue_bindsBean() throws IOException {
+        Item item = hjsonMapper.readValue("{\n  name: Potato\n  count: 3\n}", Item.class);
+
+        assertThat(item).isEqualTo(new Item("Potato", 3));
+    }
+
+    @Test
+    void whitespaceInKeyName_fails() {
+        assertThatExceptionOfType(JsonParseException.class)
+                .isThrownBy(() -> hjsonMapper.readTree("{\n  a b: 1\n}"))
+                .withMessageContaining("Found whitespace in your key name")
+                .satisfies(e -> assertThat(e.getLocation().getLineNr()).isEqualTo(2));
+    }
+
+    @Test
+    void missingClosingBrace_fails() {
+        assertThatExceptionOfType(JsonParseException.class)
+                .isThrownBy(() -> hjsonMapper.readTree("{\n  a: 1\n"))
+                .withMessageContaining("did you forget a closing '}'?");
+    }
+
+    @Test
+    void trailingCharacters_fail() {
+        assertThatExceptionOfType(JsonParseException.class)
+                .isThrownBy(() -> hjsonMapper.readerFor(JsonNode.class)
+                        .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+                        .readValue("{ a: 1\n} }"))
+                .withMessageContaining("found trailing characters");
+    }
+
+    @Test
+    void currentNameAndLocation() throws IOException {
+        try (JsonParser parser = new HjsonFactory().createParser("{\n  a: {\n    b: 1\n  }\n}")) {
+            parser.nextToken();
+            parser.nextToken();
+            assertThat(parser.currentName()).isEqualTo("a");
+            assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+            assertThat(parser.currentName()).isEqualTo("a");
+            assertThat(parser.currentTokenLocation().getLineNr()).isEqualTo(2);
+            parser.nextToken();
+            assertThat(parser.currentName()).isEqualTo("b");
+            assertThat(parser.currentLocation().getLineNr()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void dataInput_readLikeInputStream() throws IOException {
+        byte[] hjson = "{\n  a: b ä\n}".getBytes(UTF_8);
+
+        JsonNode node = hjsonMapper.readTree(hjsonMapper.getFactory()
+                .createParser((DataInput) new DataInputStream(new ByteArrayInputStream(hjson))));
+
+        assertThat(node.get("a").textValue()).isEqualTo("b ä");
+    }
+
+    @Value @Jacksonized @lombok.Builder
+    static class Item {
+        String name;
+        int count;
+    }
+}
@@ -0,0 +1,89 @@
+package de.cleanitworks.expectum.core.jfr;
+
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixtureEventsTest {
+
+    final JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> FixtureEventsTest.class);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsEvents() throws IOException {
+        List<RecordedEvent> events = record(d -> {
+            d.assertJsonNode(List.of("a", "b"), "expected");
+            assertThatThrownBy(() -> d.assertJsonNode(List.of("a"), "expected"))
+                    .isInstanceOf(AssertionError.class);
+            d.toJson(List.of("x"));
+        });
+
+        assertThat(events(events, "FixtureLoad"))
+                .extracting(e -> e.getString("fileName"), e -> e.getBoolean("success"))
+                .containsExactly(tuple("FixtureEventsTest.json", true));
+        assertThat(events(events, "TestMethodLookup"))
+                .allSatisfy(e -> assertThat(e.getString("methodName")).isEqualTo("recordsEvents"));
+        assertThat(events(events, "PointerLookup"))
+                .extracting(e -> e.getString("nodePtr"), e -> e.getString("strategy"), e -> e.getBoolean("found"))
+                .contains(tuple("/recordsEvents/expected", "tree", true));
+        assertThat(events(events, "Comparison"))
+                .extracting(e -> e.getString("nodePtr"), e -> e.getString("mode"), e -> e.getString("outcome"))
+                .containsExactly(
+                        tuple("/recordsEvents/expected", "STRICT", ComparisonEvent.HASH_MATCH),
+                        tuple("/recordsEvents/expected", "STRICT", ComparisonEvent.DIFFERENT));
+        assertThat(events(events, "Serialization"))
+                .extracting(e -> e.getLong("jsonLength"), e -> e.getBoolean("success"))
+                .contains(tuple(5L, true));
+    }
+
+    @Test
+    void hjsonEvents() throws IOException {
+        List<RecordedEvent> events = record(d -> d.hjson("/hjsonEvents/expected"));
+
+        assertThat(events(events, "HjsonConversion"))
+                .extracting(e -> e.getString("fileName"), e -> e.getBoolean("success"))
+                .containsExactly(tuple("FixtureEventsTest.hjson", true));
+        assertThat(events(events, "FixtureLoad")).isEmpty();
+    }
+
+    private List<RecordedEvent> record(Consumer<JsonResourceTestDelegate> operations) throws IOException {
+        Path file = dir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            List.of("FixtureLoad", "HjsonConversion", "PointerLookup", "Serialization", "Comparison",
+                    "TestMethodLookup").forEach(name -> recording.enable(eventName(name)));
+            recording.start();
+            operations.accept(delegate);
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(eventName(name)))
+                .collect(Collectors.toList());
+    }
+
+    private static String eventName(String name) {
+        return "de.cleanitworks.expectum." + name;
+    }
+
+    private static org.assertj.core.groups.Tuple tuple(Object... values) {
+        return org.assertj.core.groups.Tuple.tuple(values);
+    }
+}
@@ -0,0 +1,85 @@
+package de.cleanitworks.expectum.core.junit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.resource.FixturePreloader;
+import de.cleanitworks.expectum.core.resource.JsonResourceCache;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+class FixturePreloadListenerTest {
+
+    final FixturePreloadListener listener = new FixturePreloadListener();
+
+    @Test
+    void testPlanExecutionStarted_enabled_preloadsFixtures() {
+        TestPlan testPlan = discover("true");
+
+        listener.testPlanExecutionStarted(testPlan);
+
+        assertThat(FixturePreloadListener.testClasses(testPlan)).containsExactly(JsonResourceExtensionTest.class);
+        FixturePreloader.Result result = listener.getPreload().join();
+        assertThat(result.getFileCount()).isEqualTo(1);
+        assertThat(result.getByteCount()).isPositive();
+    }
+
+    @Test
+    void testPlanExecutionStarted_disabled_noPreload() {
+        listener.testPlanExecutionStarted(discover("false"));
+
+        assertThat(listener.getPreload()).isNull();
+    }
+
+    @Test
+    void testPlanExecutionStarted_mapperSupplier_servesDelegateOfThatMapper() {
+        listener.testPlanExecutionStarted(discover(Map.of(FixturePreloadListener.ENABLED_PARAMETER, "true",
+                FixturePreloadListener.MAPPER_SUPPLIER_PARAMETER, TestMapperSupplier.class.getName())));
+        assertThat(listener.getPreload().join().getFileCount()).isEqualTo(1);
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceExtensionTest.class);
+        delegate.setSharedObjectMapper(TestMapperSupplier.MAPPER);
+        long hits = JsonResourceCache.shared().getHitCount();
+        long misses = JsonResourceCache.shared().getMissCount();
+
+        assertThat(delegate.json("/json_relativePointer/value")).isEqualTo("first");
+        assertThat(JsonResourceCache.shared().getHitCount()).isEqualTo(hits + 1);
+        assertThat(JsonResourceCache.shared().getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void testPlanExecutionStarted_invalidMapperSupplier_noPreload() {
+        listener.testPlanExecutionStarted(discover(Map.of(FixturePreloadListener.ENABLED_PARAMETER, "true",
+                FixturePreloadListener.MAPPER_SUPPLIER_PARAMETER, "com.example.MissingSupplier")));
+
+        assertThat(listener.getPreload()).isNull();
+    }
+
+    private static TestPlan discover(String enabled) {
+        return discover(Map.of(FixturePreloadListener.ENABLED_PARAMETER, enabled));
+    }
+
+    private static TestPlan discover(Map<String, String> parameters) {
+        LauncherDiscoveryRequest request = request()
+                .selectors(selectClass(JsonResourceExtensionTest.class))
+                .configurationParameters(parameters)
+                .build();
+        return LauncherFactory.create().discover(request);
+    }
+
+    public static class TestMapperSupplier implements Supplier<ObjectMapper> {
+        static final ObjectMapper MAPPER = JsonResourceTestDelegate.objectMapperBuilder().build();
+
+        @Override
+        public ObjectMapper get() {
+            return MAPPER;
+        }
+    }
+}
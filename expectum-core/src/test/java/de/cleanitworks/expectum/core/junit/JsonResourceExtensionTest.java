@@ -0,0 +1,32 @@
+package de.cleanitworks.expectum.core.junit;
+
+import de.cleanitworks.expectum.core.resource.JsonResourceTest;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(JsonResourceExtension.class)
+class JsonResourceExtensionTest extends JsonResourceTest {
+
+    @Test
+    void json_relativePointer() {
+        assertThat(getJsonDelegate().getTestMethodName()).isEqualTo("json_relativePointer");
+        assertThat(json("value")).isEqualTo("first");
+    }
+
+    @Test
+    void json_relativePointer_fromOtherThread() {
+        assertThat(CompletableFuture.supplyAsync(() -> json("value")).join())
+                .isEqualTo("second");
+    }
+
+    @Test
+    void injectedDelegate_relativePointer(JsonResourceTestDelegate delegate) {
+        assertThat(delegate).isNotSameAs(getJsonDelegate());
+        assertThat(delegate.json("value")).isEqualTo("third");
+    }
+}
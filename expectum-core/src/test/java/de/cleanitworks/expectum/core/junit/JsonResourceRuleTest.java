@@ -0,0 +1,40 @@
+package de.cleanitworks.expectum.core.junit;
+
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonResourceRuleTest {
+
+    final JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceRuleTest.class);
+    final JsonResourceRule rule = new JsonResourceRule(delegate);
+
+    @Test
+    void apply_providesTestMethodDuringEvaluation() throws Throwable {
+        List<String> names = new ArrayList<>();
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() {
+                names.add(delegate.getTestMethodName());
+            }
+        };
+
+        rule.apply(statement, Description.createTestDescription(getClass(), "myTest[1]")).evaluate();
+
+        assertThat(names).containsExactly("myTest");
+        assertThat(delegate.getTestMethodName()).isNull();
+    }
+
+    @Test
+    void toMethodName() {
+        assertThat(JsonResourceRule.toMethodName("myTest")).isEqualTo("myTest");
+        assertThat(JsonResourceRule.toMethodName("myTest[0: x]")).isEqualTo("myTest");
+        assertThat(JsonResourceRule.toMethodName(null)).isNull();
+    }
+}
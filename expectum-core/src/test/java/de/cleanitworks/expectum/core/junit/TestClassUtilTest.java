@@ -6,6 +6,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 public class TestClassUtilTest {
 
@@ -34,4 +35,20 @@ public class TestClassUtilTest {
     assertThat(TestClassUtil.getTestMethodName(getClass()))
             .isEqualTo("getTestMethodName_forJunitVintageTest");
   }
-}
\ No newline at end of file
+
+  @Test
+  void getTestMethodName_forInheritedTest() {
+    assertThat(TestClassUtil.getTestMethodName(InheritingTestClass.class))
+            .isEqualTo("getTestMethodName_forInheritedTest");
+  }
+
+  @Test
+  void getTestMethodName_withoutTestMethodOnStack_fails() {
+    assertThatIllegalArgumentException()
+            .isThrownBy(() -> TestClassUtil.getTestMethodName(String.class))
+            .withMessageStartingWith("Current stacktrace does not contain a method having one of the supported");
+  }
+
+  static class InheritingTestClass extends TestClassUtilTest {
+  }
+}
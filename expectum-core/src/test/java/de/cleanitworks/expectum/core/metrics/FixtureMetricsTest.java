@@ -0,0 +1,92 @@
+package de.cleanitworks.expectum.core.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureMetricsTest {
+
+    final FixtureMetrics metrics = new FixtureMetrics(true);
+
+    @Test
+    void start_disabled_recordsNothing() {
+        metrics.setEnabled(false);
+
+        try (FixtureMetrics.Span span = metrics.start(FixtureOperation.PARSE, "A.json", () -> "test")) {
+            assertThat(span).isSameAs(FixtureMetrics.Span.NONE);
+        }
+        assertThat(metrics.isEmpty()).isTrue();
+    }
+
+    @Test
+    void start_nestedSpans_recordExclusiveTime() throws InterruptedException {
+        try (FixtureMetrics.Span compare = metrics.start(FixtureOperation.COMPARE, "A.json#/a", () -> "test")) {
+            try (FixtureMetrics.Span parse = metrics.start(FixtureOperation.PARSE, "A.json", () -> "other")) {
+                Thread.sleep(50);
+            }
+        }
+
+        Map<FixtureOperation, FixtureMetrics.Stat> stats = metrics.getTestStats().get("test");
+        assertThat(metrics.getTestStats()).containsOnlyKeys("test");
+        assertThat(stats.get(FixtureOperation.PARSE).getNanos()).isGreaterThanOrEqualTo(50_000_000L);
+        assertThat(stats.get(FixtureOperation.COMPARE).getNanos())
+                .isLessThan(stats.get(FixtureOperation.PARSE).getNanos());
+        assertThat(stats.get(FixtureOperation.COMPARE).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void start_currentTest_precedesSupplier() {
+        metrics.setCurrentTest("my.pkg.MyTest#myMethod");
+        try {
+            metrics.start(FixtureOperation.LOAD, "A.json", () -> "test").close();
+        } finally {
+            metrics.setCurrentTest(null);
+        }
+        metrics.start(FixtureOperation.LOAD, "A.json", () -> null).close();
+
+        assertThat(metrics.getTestStats()).containsOnlyKeys("my.pkg.MyTest#myMethod", FixtureMetrics.UNKNOWN_TEST);
+    }
+
+    @Test
+    void getSlowestFixtures_orderedByTime() throws InterruptedException {
+        metrics.start(FixtureOperation.LOAD, "fast.json", () -> "test").close();
+        try (FixtureMetrics.Span span = metrics.start(FixtureOperation.PARSE, "slow.json", () -> "test")) {
+            Thread.sleep(10);
+        }
+        metrics.start(FixtureOperation.RESOLVE, null, () -> "test").close();
+
+        assertThat(metrics.getSlowestFixtures(1))
+                .extracting(Map.Entry::getKey)
+                .containsExactly("slow.json");
+        assertThat(metrics.getSlowestFixtures(10)).hasSize(2);
+    }
+
+    @Test
+    void report_writesJsonAndCsv(@TempDir Path dir) throws IOException {
+        metrics.start(FixtureOperation.PARSE, "A.json", () -> "my.pkg.MyTest#[1] a, b").close();
+
+        new FixtureMetricsReport(metrics).write(dir);
+
+        assertThat(dir.resolve(FixtureMetricsReport.JSON_FILE)).content()
+                .contains("\"test\" : \"my.pkg.MyTest#[1] a, b\"", "\"PARSE\"", "\"fixture\" : \"A.json\"");
+        assertThat(Files.readAllLines(dir.resolve(FixtureMetricsReport.CSV_FILE)))
+                .hasSize(2)
+                .element(1).asString().startsWith("\"my.pkg.MyTest#[1] a, b\",PARSE,1,");
+    }
+
+    @Test
+    void clear_removesStats() {
+        metrics.start(FixtureOperation.LOAD, "A.json", () -> "test").close();
+
+        metrics.clear();
+
+        assertThat(metrics.isEmpty()).isTrue();
+        assertThat(metrics.getSlowestFixtures(10)).isEmpty();
+    }
+}
@@ -0,0 +1,52 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ContentHashCacheTest {
+
+    final ContentHashCache cache = new ContentHashCache(2);
+    final ObjectMapper mapper = new ObjectMapper();
+    final ResourceFile file = ResourceFile.of(ContentHashCacheTest.class, "JsonResourceTestTest.json");
+
+    @Test
+    void get_sameNode_computesHashOnce() {
+        byte[] hash = cache.get(file, "/a", mapper, false, () -> new byte[] {1});
+
+        assertThat(cache.get(file, "/a", mapper, false, () -> new byte[] {2})).isSameAs(hash);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_differentKeys_separateEntries() {
+        cache.get(file, "/a", mapper, false, () -> new byte[] {1});
+
+        assertThat(cache.get(file, "/a", mapper, true, () -> new byte[] {2})).containsExactly(2);
+        assertThat(cache.get(file, "/a", new ObjectMapper(), false, () -> new byte[] {3})).containsExactly(3);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void hash_sameAsDigestOfString() {
+        Object bean = List.of("a", 1, true);
+
+        assertThat(ContentHashCache.hash(out -> mapper.writeValue(out, bean)))
+                .isEqualTo(ContentHashCache.hash(out -> out.write(mapper.writeValueAsString(bean).getBytes(UTF_8))))
+                .hasSize(32);
+    }
+
+    @Test
+    void maxEntries_shouldBePositive() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new ContentHashCache(0));
+    }
+}
@@ -0,0 +1,120 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureCompilerTest {
+
+    final ObjectMapper mapper = JsonResourceTestDelegate.DEFAULT_MAPPER;
+
+    @TempDir
+    Path dir;
+
+    Path compiledSibling;
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FixtureCompiler.clear();
+        if (compiledSibling != null) {
+            Files.deleteIfExists(compiledSibling);
+        }
+    }
+
+    @Test
+    void compile_jsonAndHjsonFiles() throws IOException {
+        Files.createDirectories(dir.resolve("de/foo"));
+        Files.writeString(dir.resolve("de/foo/BarTest.json"), "{\"a\": [1, {\"b\": \"c\"}]}");
+        Files.writeString(dir.resolve("de/foo/BarTest.hjson"), "{\n  a: hello world\n}");
+        Files.writeString(dir.resolve("de/foo/readme.txt"), "no fixture");
+
+        FixtureCompiler.Result result = new FixtureCompiler().compile(dir);
+
+        assertThat(result.getCompiled())
+                .containsExactly(dir.resolve("de/foo/BarTest.hjson"), dir.resolve("de/foo/BarTest.json"));
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(result).hasToString("Compiled 2 fixture files, 0 up-to-date");
+        assertThat(storedJson(dir.resolve("de/foo/BarTest.json.bin")).at(mapper.getNodeFactory(), "/a/1/b")
+                .textValue()).isEqualTo("c");
+        assertThat(storedJson(dir.resolve("de/foo/BarTest.hjson.bin")).at(mapper.getNodeFactory(), "/a")
+                .textValue()).isEqualTo("hello world");
+        assertThat(dir.resolve("de/foo/readme.txt.bin")).doesNotExist();
+    }
+
+    @Test
+    void compile_upToDateFiles_skipped() throws IOException {
+        Path source = dir.resolve("BarTest.json");
+        Files.writeString(source, "{\"a\": 1}");
+        new FixtureCompiler().compile(dir);
+
+        assertThat(new FixtureCompiler().compile(dir).getUpToDateCount()).isEqualTo(1);
+
+        Files.writeString(source, "{\"a\": 2}");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 2000));
+        assertThat(new FixtureCompiler().compile(dir).getCompiled()).containsExactly(source);
+        assertThat(storedJson(dir.resolve("BarTest.json.bin")).at(mapper.getNodeFactory(), "/a").intValue())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void compile_malformedFiles_reported() throws IOException {
+        Files.writeString(dir.resolve("Broken.json"), "{\"a\": ");
+        Files.writeString(dir.resolve("Scalar.json"), "42");
+        Files.writeString(dir.resolve("Valid.json"), "{}");
+
+        FixtureCompiler.Result result = new FixtureCompiler().compile(dir);
+
+        assertThat(result.getCompiled()).containsExactly(dir.resolve("Valid.json"));
+        assertThat(result.getErrors()).containsOnlyKeys(dir.resolve("Broken.json"), dir.resolve("Scalar.json"));
+        assertThat(result.getErrors().get(dir.resolve("Scalar.json")))
+                .isEqualTo("The root of a fixture file should be an object or an array.");
+        assertThat(result).hasToString("Compiled 1 fixture files, 0 up-to-date, 2 malformed");
+        assertThat(dir.resolve("Broken.json.bin")).doesNotExist();
+    }
+
+    @Test
+    void delegate_upToDateCompiledForm_used() throws IOException {
+        // compiles a different content for the source file version to see which one gets read
+        ResourceFile file = ResourceFile.of(FixtureCompilerTest.class, "FixtureCompilerTest.json");
+        Path copy = dir.resolve("FixtureCompilerTest.json");
+        Files.writeString(copy, "{\"rootNode\": {\"source\": \"compiled\"}}");
+        Files.setLastModifiedTime(copy, FileTime.fromMillis(file.version()));
+        new FixtureCompiler().compile(dir);
+        compiledSibling = file.getFilePath().resolveSibling("FixtureCompilerTest.json.bin");
+        Files.copy(dir.resolve("FixtureCompilerTest.json.bin"), compiledSibling);
+
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> FixtureCompilerTest.class);
+        assertThat(FixtureCompiler.compiled(file, file.version())).isNotNull();
+        assertThat(delegate.json("/rootNode/source")).isEqualTo("compiled");
+
+        // a delegate having another mapper reads the source file
+        delegate.createObjectMapper();
+        assertThat(delegate.json("/rootNode/source")).isEqualTo("json");
+
+        // an outdated compiled form gets ignored
+        FixtureCompiler.clear();
+        assertThat(FixtureCompiler.compiled(file, file.version() + 1)).isNull();
+    }
+
+    @Test
+    void compiled_noCompiledForm_null() {
+        ResourceFile file = ResourceFile.of(FixtureCompilerTest.class, "JsonResourceTestDelegateTest.json");
+
+        assertThat(FixtureCompiler.compiled(file, file.version())).isNull();
+    }
+
+    private static StoredJson storedJson(Path compiled) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(compiled));
+        assertThat(content.getInt(0)).isEqualTo(FixtureCompiler.MAGIC);
+        return StoredJson.of(content.position(16).slice());
+    }
+}
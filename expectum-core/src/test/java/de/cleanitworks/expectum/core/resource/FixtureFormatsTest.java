@@ -0,0 +1,89 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import de.cleanitworks.expectum.core.format.FixtureFormat;
+import de.cleanitworks.expectum.core.format.JsonLinesFactory;
+import de.cleanitworks.expectum.core.hjson.HjsonFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class FixtureFormatsTest {
+
+    final JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> FixtureFormatsTest.class);
+
+    @Test
+    void extensions_builtInAndRegisteredFormats_jsonFirst() {
+        assertThat(FixtureFormats.extensions()).startsWith("json")
+                .contains("hjson", "jsonl", "xml", "custom");
+    }
+
+    @Test
+    void factory_byFileExtension() {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertThat(FixtureFormats.factory("MyTest.json", mapper)).isSameAs(mapper.getFactory());
+        assertThat(FixtureFormats.factory("MyTest.hjson", mapper)).isInstanceOf(HjsonFactory.class);
+        assertThat(FixtureFormats.factory("MyTest.jsonl", mapper)).isInstanceOf(JsonLinesFactory.class);
+        assertThat(FixtureFormats.factory("MyTest.xml", mapper)).isInstanceOf(XmlFactory.class);
+        assertThat(FixtureFormats.factory("MyTest.txt", mapper)).isNull();
+        assertThat(FixtureFormats.isFixture("MyTest.custom")).isTrue();
+        assertThat(FixtureFormats.isFixture("MyTest.json.bin")).isFalse();
+    }
+
+    @Test
+    void fixtureFileName_firstExistingFormat() {
+        assertThat(FixtureFormats.fixtureFileName(JsonResourceTestDelegateTest.class))
+                .isEqualTo("JsonResourceTestDelegateTest.json");
+        assertThat(FixtureFormats.fixtureFileName(FixtureFormatsTest.class)).isEqualTo("FixtureFormatsTest.jsonl");
+        assertThat(FixtureFormats.fixtureFileName(String.class)).isEqualTo("String.json");
+    }
+
+    @Test
+    void json_jsonLinesFile() {
+        assertThat(delegate.json("/1")).isEqualTo("{\"id\":2,\"name\":\"second\"}");
+        assertThat(delegate.json("/0/name")).isEqualTo("first");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> delegate.json("/2"))
+                .withMessage("Node '/2' not found in file: FixtureFormatsTest.jsonl");
+    }
+
+    @Test
+    void fromJson_registeredFormat() {
+        JsonResourceTestDelegate customDelegate = new JsonResourceTestDelegate(() -> CustomFormatFixture.class);
+
+        assertThat(customDelegate.fromJson("/custom/value", Integer.class)).isEqualTo(42);
+    }
+
+    @Test
+    void fromJson_xmlFile() {
+        JsonResourceTestDelegate xmlDelegate = new JsonResourceTestDelegate(() -> XmlFormatFixture.class);
+
+        assertThat(xmlDelegate.fromJson("/xml/item/count", Integer.class)).isEqualTo(2);
+        assertThat(xmlDelegate.json("/xml/item/tags")).isEqualTo("[\"a\",\"b\"]");
+    }
+
+    /**
+     * Registered in the test classpath <code>META-INF/services</code>.
+     */
+    public static class CustomFormat implements FixtureFormat {
+        @Override
+        public String getExtension() {
+            return "custom";
+        }
+
+        @Override
+        public JsonFactory createFactory() {
+            return new JsonFactory();
+        }
+    }
+
+    static class CustomFormatFixture {
+    }
+
+    static class XmlFormatFixture {
+    }
+}
@@ -0,0 +1,121 @@
+package de.cleanitworks.expectum.core.resource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class FixtureIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void find_directoryAndJarFixtures() throws IOException {
+        Path classes = dir.resolve("classes");
+        write(classes.resolve("de/foo/BarTest.json"), "{}");
+        write(classes.resolve("de/foo/Bar.class"), "");
+        Path linked = jar(dir.resolve("linked.jar"), null, "de/foo/LinkedTest.hjson");
+        Path jar = jar(dir.resolve("fixtures.jar"), "linked.jar", "de/foo/JarTest.json");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {url(classes), url(jar)}, null)) {
+            assertThat(FixtureIndex.find(loader, "de/foo/BarTest.json"))
+                    .isEqualTo(classes.resolve("de/foo/BarTest.json").toUri().toURL());
+            assertThat(FixtureIndex.find(loader, "de/foo/JarTest.json"))
+                    .hasToString("jar:" + jar.toUri() + "!/de/foo/JarTest.json");
+            assertThat(FixtureIndex.find(loader, "de/foo/LinkedTest.hjson"))
+                    .hasToString("jar:" + linked.toUri() + "!/de/foo/LinkedTest.hjson");
+            assertThat(FixtureIndex.find(loader, "de/foo/Bar.class")).isNull();
+            assertThat(FixtureIndex.of(loader).size()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void find_parentFirst() throws IOException {
+        Path parentDir = dir.resolve("parent");
+        Path childDir = dir.resolve("child");
+        write(parentDir.resolve("de/foo/BarTest.json"), "{}");
+        write(childDir.resolve("de/foo/BarTest.json"), "{}");
+
+        try (URLClassLoader parent = new URLClassLoader(new URL[] {url(parentDir)}, null);
+             URLClassLoader child = new URLClassLoader(new URL[] {url(childDir)}, parent)) {
+            assertThat(FixtureIndex.find(child, "de/foo/BarTest.json"))
+                    .isEqualTo(parentDir.resolve("de/foo/BarTest.json").toUri().toURL());
+        }
+    }
+
+    @Test
+    void suggest_similarNamesAndOtherPackages() throws IOException {
+        Path classes = dir.resolve("classes");
+        write(classes.resolve("de/foo/BarTests.json"), "{}");
+        write(classes.resolve("de/foo/BarTest.hjson"), "{}");
+        write(classes.resolve("de/bar/BarTest.json"), "{}");
+        write(classes.resolve("de/foo/OtherTest.json"), "{}");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {url(classes)}, null)) {
+            assertThat(FixtureIndex.suggest(loader, "de/foo/BarTest.json"))
+                    .containsExactly("de/foo/BarTest.hjson", "de/foo/BarTests.json", "de/bar/BarTest.json");
+        }
+    }
+
+    @Test
+    void levenshteinDistance_boundedByThreshold() {
+        assertThat(FixtureIndex.levenshteinDistance("bartest.json", "bartest.json", 3)).isZero();
+        assertThat(FixtureIndex.levenshteinDistance("bartests.json", "bartest.hjson", 3)).isEqualTo(2);
+        assertThat(FixtureIndex.levenshteinDistance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(FixtureIndex.levenshteinDistance("kitten", "sitting", 2)).isEqualTo(-1);
+        assertThat(FixtureIndex.levenshteinDistance("a.json", "abcde.json", 3)).isEqualTo(-1);
+        assertThat(FixtureIndex.levenshteinDistance("", "abc", 3)).isEqualTo(3);
+    }
+
+    @Test
+    void resourceFile_missing_suggestsSimilarFixture() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ResourceFile.of(FixtureIndexTest.class, "MappedJsonIndexTests.json"))
+                .withMessage("Resource file not found: /de/cleanitworks/expectum/core/resource/MappedJsonIndexTests.json."
+                        + " Did you mean: /de/cleanitworks/expectum/core/resource/MappedJsonIndexTest.json?");
+    }
+
+    @Test
+    void resourceFile_indexed() {
+        assertThat(ResourceFile.of(FixtureIndexTest.class, "MappedJsonIndexTest.json").getUrl())
+                .isEqualTo(FixtureIndexTest.class.getResource("MappedJsonIndexTest.json"));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static Path jar(Path jar, String classPath, String entry) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (classPath != null) {
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+        }
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+            jarOut.putNextEntry(new JarEntry(entry));
+            jarOut.write("{}".getBytes(UTF_8));
+            jarOut.closeEntry();
+        }
+        return jar;
+    }
+
+    private static URL url(Path path) throws IOException {
+        return path.toUri().toURL();
+    }
+}
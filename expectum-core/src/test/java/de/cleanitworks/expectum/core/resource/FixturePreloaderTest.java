@@ -0,0 +1,67 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixturePreloaderTest {
+
+    final JsonResourceCache cache = new JsonResourceCache(10);
+    final ObjectMapper mapper = JsonResourceTestDelegate.objectMapperBuilder().build();
+
+    @Test
+    void preload_jsonAndHjsonFiles() {
+        FixturePreloader.Result result = new FixturePreloader(Runnable::run, cache, Long.MAX_VALUE, mapper)
+                .preload(List.of(JsonResourceTestDelegateTest.class, FixturePreloaderTest.class,
+                        JsonResourceTestDelegateTest.class))
+                .join();
+
+        assertThat(result.getFileCount()).isEqualTo(2);
+        assertThat(result.getFailedCount()).isZero();
+        assertThat(result.getByteCount()).isEqualTo(
+                ResourceFile.of(JsonResourceTestDelegateTest.class, "JsonResourceTestDelegateTest.json").size()
+                + ResourceFile.of(JsonResourceTestDelegateTest.class, "JsonResourceTestDelegateTest.hjson").size());
+        assertThat(result.toString()).startsWith("Preloaded 2 fixture files (");
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void preload_streamedFilesSkipped() {
+        FixturePreloader.Result result = new FixturePreloader(Runnable::run, cache, 0, mapper)
+                .preload(List.of(JsonResourceTestDelegateTest.class))
+                .join();
+
+        assertThat(result.getFileCount()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void preload_limitedByCacheCapacity() {
+        FixturePreloader.Result result = new FixturePreloader(Runnable::run, new JsonResourceCache(1), Long.MAX_VALUE,
+                mapper)
+                .preload(List.of(JsonResourceTestDelegateTest.class))
+                .join();
+
+        assertThat(result.getFileCount()).isEqualTo(1);
+    }
+
+    @Test
+    void preload_servesOnlyTheSameMapper() {
+        new FixturePreloader(Runnable::run, cache, Long.MAX_VALUE, mapper)
+                .preload(List.of(JsonResourceTestDelegateTest.class))
+                .join();
+        ResourceFile file = ResourceFile.of(JsonResourceTestDelegateTest.class, "JsonResourceTestDelegateTest.json");
+
+        cache.get(file.getCtxtClass(), file.getFileName(), mapper, file.version(), () -> null);
+        cache.get(file.getCtxtClass(), file.getFileName(), JsonResourceTestDelegate.DEFAULT_MAPPER, file.version(),
+                () -> JsonResourceTestDelegate.readRootNode(file, JsonResourceTestDelegate.DEFAULT_MAPPER.getFactory(),
+                        JsonResourceTestDelegate.DEFAULT_MAPPER));
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+}
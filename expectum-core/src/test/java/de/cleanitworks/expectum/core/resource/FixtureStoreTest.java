@@ -0,0 +1,111 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixtureStoreTest {
+
+    final ObjectMapper mapper = JsonResourceTestDelegate.DEFAULT_MAPPER;
+    final ResourceFile file = ResourceFile.of(FixtureStoreTest.class, "JsonResourceTestDelegateTest.json");
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void clear() {
+        FixtureStore.clear();
+    }
+
+    @Test
+    void storedJson_sameContentAsParsedTree() throws IOException {
+        JsonNode tree = mapper.readTree("{\"s\": \"ä€\", \"i\": 1, \"l\": 12345678901, "
+                + "\"b\": 123456789012345678901234567890, \"d\": 1.5, \"e\": -1e300, \"t\": true, \"f\": false, "
+                + "\"n\": null, \"a\": [[], {}, [1, [2]]], \"o\": {\"a/b\": {\"~\": \"x\"}, \"\": 0}}");
+
+        StoredJson stored = StoredJson.of(ByteBuffer.wrap(StoredJson.encode(tree)));
+
+        assertThat(stored.at(JsonNodeFactory.instance, "")).isEqualTo(tree);
+        assertThat(mapper.writeValueAsString(stored.at(JsonNodeFactory.instance, "")))
+                .isEqualTo(mapper.writeValueAsString(tree));
+        assertThat(stored.at(JsonNodeFactory.instance, "/a/2/1/0").intValue()).isEqualTo(2);
+        assertThat(stored.at(JsonNodeFactory.instance, "/o/a~1b/~0").textValue()).isEqualTo("x");
+        assertThat(stored.at(JsonNodeFactory.instance, "/o/").intValue()).isZero();
+        assertThat(stored.at(JsonNodeFactory.instance, "/a/3").isMissingNode()).isTrue();
+        assertThat(stored.at(JsonNodeFactory.instance, "/a/x").isMissingNode()).isTrue();
+        assertThat(stored.at(JsonNodeFactory.instance, "/s/x").isMissingNode()).isTrue();
+        assertThat(stored.at(JsonNodeFactory.instance, "/unknown").isMissingNode()).isTrue();
+    }
+
+    @Test
+    void get_storesOnceByContentHash() throws IOException {
+        StoredJson stored = FixtureStore.get(dir, file, mapper.getFactory(), mapper);
+
+        assertThat(stored.at(mapper.getNodeFactory(), "/rootNode/arrayNode"))
+                .isEqualTo(mapper.readTree(file.openStream()).at("/rootNode/arrayNode"));
+        assertThat(storeFiles()).containsExactly(FixtureStore.contentHash(file) + "-json.bin");
+
+        // another JVM maps the existing store file
+        FixtureStore.clear();
+        long lastModified = Files.getLastModifiedTime(dir.resolve(storeFiles().get(0))).toMillis();
+        assertThat(FixtureStore.get(dir, file, mapper.getFactory(), mapper).at(mapper.getNodeFactory(), ""))
+                .isEqualTo(mapper.readTree(file.openStream()));
+        assertThat(Files.getLastModifiedTime(dir.resolve(storeFiles().get(0))).toMillis()).isEqualTo(lastModified);
+    }
+
+    @Test
+    void get_invalidStoreFile_replaced() throws IOException {
+        Path storeFile = dir.resolve(FixtureStore.contentHash(file) + "-json.bin");
+        Files.write(storeFile, new byte[] {1, 2, 3});
+
+        StoredJson stored = FixtureStore.get(dir, file, mapper.getFactory(), mapper);
+
+        assertThat(stored.at(mapper.getNodeFactory(), "/rootNode/simpleNode").textValue())
+                .isEqualTo("simpleNode Content");
+        assertThat(Files.size(storeFile)).isGreaterThan(3);
+    }
+
+    @Test
+    void delegate_fixtureStore_sameContent() {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        String expected = delegate.json("/rootNode");
+
+        delegate.setFixtureStoreDir(dir);
+
+        assertThat(delegate.json("/rootNode")).isEqualTo(expected);
+        assertThat(delegate.hjson("/rootNode/arrayNode")).isEqualTo("[\"hello\",\"world\"]");
+        assertThat(storeFiles()).hasSize(2).anyMatch(f -> f.endsWith("-hjson.bin"));
+    }
+
+    @Test
+    void delegate_otherMapper_storeNotUsed() {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        delegate.setFixtureStoreDir(dir);
+        delegate.getObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        assertThat(delegate.json("/rootNode/simpleNode")).isEqualTo("simpleNode Content");
+        assertThat(storeFiles()).isEmpty();
+    }
+
+    private List<String> storeFiles() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString()).collect(toList());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
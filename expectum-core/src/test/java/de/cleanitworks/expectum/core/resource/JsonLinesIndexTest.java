@@ -0,0 +1,121 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.cleanitworks.expectum.core.format.JsonLinesFactory;
+import lombok.Data;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JsonLinesIndexTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final ResourceFile file = ResourceFile.of(JsonLinesIndexTest.class, "JsonLinesIndexTest.jsonl");
+    final JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonLinesIndexTest.class);
+
+    @AfterEach
+    void clearIndexes() {
+        JsonLinesIndex.clear();
+    }
+
+    @Test
+    void at_sameContentAsParsedFile() throws IOException {
+        JsonNode parsed = new ObjectMapper(new JsonLinesFactory()).readTree(file.openStream());
+        JsonLinesIndex index = JsonLinesIndex.of(file);
+
+        assertThat(index.size()).isEqualTo(4);
+        for (int i = 0; i < index.size(); i++) {
+            assertThat(index.at(mapper, "/" + i)).isEqualTo(parsed.get(i));
+        }
+        assertThat(index.at(mapper, "/0/tags/0").textValue()).isEqualTo("a");
+        assertThat(index.at(mapper, "/2/name").textValue()).isEqualTo("zwei ä");
+        assertThat(index.at(mapper, "/4").isMissingNode()).isTrue();
+        assertThat(index.at(mapper, "/x").isMissingNode()).isTrue();
+        assertThat(index.at(mapper, "/1/unknown").isMissingNode()).isTrue();
+    }
+
+    @Test
+    void at_wholeFile_rejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> JsonLinesIndex.of(file).at(mapper, ""))
+                .withMessage("Pointer should refer to a line: ");
+    }
+
+    @Test
+    void of_unchangedFile_cachedIndex() {
+        assertThat(JsonLinesIndex.of(file)).isSameAs(JsonLinesIndex.of(file));
+    }
+
+    @Test
+    void of_moreFilesThanMaxIndexes_leastRecentlyUsedIndexEvicted() throws Exception {
+        ResourceFileTest.InMemoryHandler handler = new ResourceFileTest.InMemoryHandler();
+        handler.content = "{\"id\": 0}\n{\"id\": 1}\n";
+        ResourceFile first = inMemoryFile(handler);
+        JsonLinesIndex firstIndex = JsonLinesIndex.of(first);
+
+        for (int i = 0; i < JsonLinesIndex.MAX_INDEXES; i++) {
+            assertThat(JsonLinesIndex.of(inMemoryFile(handler)).size()).isEqualTo(2);
+        }
+
+        assertThat(JsonLinesIndex.of(first)).isNotSameAs(firstIndex);
+    }
+
+    private static ResourceFile inMemoryFile(ResourceFileTest.InMemoryHandler handler) throws IOException {
+        return ResourceFile.of(new ResourceFileTest.InMemoryClassLoader(handler).defineAnchor(),
+                ResourceFileTest.FILE_NAME);
+    }
+
+    @Test
+    void jsonLine_largeFile_readByIndex() {
+        delegate.setStreamingThreshold(0);
+
+        assertThat(delegate.jsonLine(3)).isEqualTo("{\"id\":3,\"name\":\"three\"}");
+        assertThat(delegate.fromJsonLine(1, Item.class).getName()).isEqualTo("one");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> delegate.jsonLine(4))
+                .withMessage("Node '/4' not found in file: JsonLinesIndexTest.jsonl");
+    }
+
+    @Test
+    void jsonLine_smallFile_sameContent() {
+        assertThat(delegate.jsonLine(2)).isEqualTo("{\"id\":2,\"name\":\"zwei ä\"}");
+    }
+
+    @Test
+    void jsonLines_lazyStream() {
+        try (Stream<JsonNode> lines = delegate.jsonLines("")) {
+            assertThat(lines.map(line -> line.get("id").intValue()).collect(toList())).containsExactly(0, 1, 2, 3);
+        }
+        try (Stream<JsonNode> names = delegate.jsonLines("/name")) {
+            assertThat(names.skip(1).findFirst())
+                    .hasValueSatisfying(name -> assertThat(name.textValue()).isEqualTo("one"));
+        }
+        try (Stream<JsonNode> tags = delegate.jsonLines("/tags/0")) {
+            assertThat(tags.map(JsonNode::isMissingNode).collect(toList())).containsExactly(false, true, true, true);
+        }
+    }
+
+    @Test
+    void jsonLines_beans() {
+        try (Stream<Item> items = delegate.jsonLines("", Item.class)) {
+            assertThat(items.map(Item::getName).collect(toList())).containsExactly("zero", "one", "zwei ä", "three");
+        }
+        try (Stream<String> names = delegate.jsonLines("/name", String.class)) {
+            assertThat(names.collect(toList())).containsExactly("zero", "one", "zwei ä", "three");
+        }
+    }
+
+    @Data
+    static class Item {
+        private int id;
+        private String name;
+        private String[] tags;
+    }
+}
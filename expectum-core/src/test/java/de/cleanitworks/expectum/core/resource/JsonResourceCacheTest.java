@@ -0,0 +1,173 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class JsonResourceCacheTest {
+
+    final JsonResourceCache cache = new JsonResourceCache(2);
+    final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void get_parsesOnlyOnce() {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        JsonNode first = cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+        JsonNode second = cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loadCount).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_distinguishesClassAndFileName() {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+        cache.get(getClass(), "a.hjson", mapper, 1, () -> textNode("a", loadCount));
+        cache.get(String.class, "a.json", mapper, 1, () -> textNode("a", loadCount));
+
+        assertThat(loadCount).hasValue(3);
+    }
+
+    @Test
+    void get_distinguishesMapper() {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+        cache.get(getClass(), "a.json", new ObjectMapper(), 1, () -> textNode("a", loadCount));
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntry() {
+        AtomicInteger loadCount = new AtomicInteger();
+        cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+        cache.get(getClass(), "b.json", mapper, 1, () -> textNode("b", loadCount));
+        // touch a to make b the eldest entry
+        cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+
+        cache.get(getClass(), "c.json", mapper, 1, () -> textNode("c", loadCount));
+        cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+
+        assertThat(loadCount).hasValue(3);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+        cache.get(getClass(), "b.json", mapper, 1, () -> textNode("b", loadCount));
+        assertThat(loadCount).hasValue(4);
+    }
+
+    @Test
+    void get_reloadsChangedVersion() {
+        AtomicInteger loadCount = new AtomicInteger();
+        cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+
+        JsonNode reloaded = cache.get(getClass(), "a.json", mapper, 2, () -> textNode("a2", loadCount));
+
+        assertThat(reloaded.asText()).isEqualTo("a2");
+        assertThat(cache.get(getClass(), "a.json", mapper, 2, () -> textNode("a3", loadCount)).asText())
+                .isEqualTo("a2");
+        assertThat(loadCount).hasValue(2);
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_doesNotCacheFailures() {
+        assertThatIllegalStateException()
+                .isThrownBy(() -> cache.get(getClass(), "a.json", mapper, 1, () -> {
+                    throw new IllegalStateException("broken");
+                }))
+                .withMessage("broken");
+
+        assertThat(cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", new AtomicInteger())).asText())
+                .isEqualTo("a");
+    }
+
+    @Test
+    void get_concurrentRequestsShareOneLoad() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonNode>> results = IntStream.range(0, 32)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return cache.get(getClass(), "a.json", mapper, 1, () -> textNode("a", loadCount));
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            for (Future<JsonNode> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).asText()).isEqualTo("a");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loadCount).hasValue(1);
+        assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(32);
+    }
+
+    @Test
+    void delegate_usesSharedCache() {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        delegate.json(JsonResourceTestDelegateTest.class, "/rootNode");
+        long hits = JsonResourceCache.shared().getHitCount();
+
+        delegate.json(JsonResourceTestDelegateTest.class, "/rootNode/simpleNode");
+
+        assertThat(JsonResourceCache.shared().getHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void delegate_cachesConvertedHjson() {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        delegate.hjson(JsonResourceTestDelegateTest.class, "/rootNode");
+        long misses = JsonResourceCache.shared().getMissCount();
+
+        assertThat(delegate.hjson(JsonResourceTestDelegateTest.class, "/rootNode/simpleNode"))
+                .isEqualTo("simpleNode Content");
+
+        assertThat(JsonResourceCache.shared().getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void delegate_privateMapper_bypassesSharedCache() {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        delegate.getObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        long hits = JsonResourceCache.shared().getHitCount();
+        long misses = JsonResourceCache.shared().getMissCount();
+
+        delegate.json(JsonResourceTestDelegateTest.class, "/rootNode");
+        delegate.json(JsonResourceTestDelegateTest.class, "/rootNode/simpleNode");
+
+        assertThat(JsonResourceCache.shared().getHitCount()).isEqualTo(hits);
+        assertThat(JsonResourceCache.shared().getMissCount()).isEqualTo(misses);
+    }
+
+    private static JsonNode textNode(String text, AtomicInteger loadCount) {
+        loadCount.incrementAndGet();
+        return JsonNodeFactory.instance.textNode(text);
+    }
+}
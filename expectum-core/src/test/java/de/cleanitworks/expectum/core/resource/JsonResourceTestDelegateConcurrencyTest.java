@@ -0,0 +1,114 @@
+package de.cleanitworks.expectum.core.resource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link JsonResourceTestTest} scenarios concurrently.
+ */
+class JsonResourceTestDelegateConcurrencyTest {
+
+    static final int THREADS = 16;
+    static final int ROUNDS = 50;
+
+    static final List<Consumer<JsonResourceTestTest>> SCENARIOS = List.of(
+            JsonResourceTestTest::json_simpleNode,
+            JsonResourceTestTest::testBean,
+            JsonResourceTestTest::jsonHide,
+            JsonResourceTestTest::jsonShow,
+            JsonResourceTestTest::jsonShowTwice,
+            JsonResourceTestTest::jsonHideAndShow,
+            JsonResourceTestTest::jsonShow_withUnknownPropertyName_fails,
+            JsonResourceTestTest::jsonHide_forSubclass_workaroundWithMixIn,
+            JsonResourceTestTest::localDateTime_timestampFormat,
+            JsonResourceTestTest::localDateTime_isoFormat,
+            JsonResourceTestTest::instant_timestampFormat,
+            JsonResourceTestTest::instant_isoFormat,
+            JsonResourceTestTest::fromJson);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void scenarios_concurrentTestInstances() throws Exception {
+        runConcurrently(thread -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                SCENARIOS.get((thread + round) % SCENARIOS.size()).accept(new JsonResourceTestTest());
+            }
+        });
+    }
+
+    @Test
+    void sharedDelegate_jsonShowWhileSerializing() throws Exception {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestTest.class);
+        Set<String> validResults = Set.of(
+                "{\"string\":\"string value\"}",
+                "{\"string\":\"string value\",\"localDate\":\"2020-07-01\"}");
+
+        runConcurrently(thread -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                if (thread == 0) {
+                    delegate.jsonShow(TestBean.class, round % 2 == 0 ? new String[] {"string"}
+                            : new String[] {"localDate", "string"});
+                } else {
+                    assertThat(validResults).contains(delegate.toJson(TestBean.create()));
+                }
+            }
+        }, () -> delegate.jsonShow(TestBean.class, "string"));
+    }
+
+    @Test
+    void sharedDelegate_testMethodNamePerThread() throws Exception {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestTest.class);
+
+        runConcurrently(thread -> {
+            boolean simpleNodeTest = thread % 2 == 0;
+            delegate.setTestMethodName(simpleNodeTest ? "json_simpleNode" : "jsonHide");
+            for (int round = 0; round < ROUNDS; round++) {
+                if (simpleNodeTest) {
+                    assertThat(delegate.json("simpleNode")).isEqualTo("abc");
+                } else {
+                    assertThat(delegate.json("expected")).isEqualTo("{\"string\":\"string value\"}");
+                }
+            }
+            delegate.setTestMethodName(null);
+        });
+    }
+
+    private void runConcurrently(Consumer<Integer> task) throws Exception {
+        runConcurrently(task, () -> {});
+    }
+
+    private void runConcurrently(Consumer<Integer> task, Runnable barrierAction) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS, barrierAction);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            Callable<Void> callable = () -> {
+                start.await();
+                task.accept(thread);
+                return null;
+            };
+            futures.add(executor.submit(callable));
+        }
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+    }
+}
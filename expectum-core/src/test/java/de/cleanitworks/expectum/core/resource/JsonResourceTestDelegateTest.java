@@ -1,8 +1,20 @@
 package de.cleanitworks.expectum.core.resource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import de.cleanitworks.expectum.core.metrics.FixtureMetrics;
+import de.cleanitworks.expectum.core.metrics.FixtureOperation;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 class JsonResourceTestDelegateTest {
     JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
@@ -43,4 +55,159 @@ class JsonResourceTestDelegateTest {
                 .isEqualTo("[\"hello\",\"world\"]");
     }
 
-}
\ No newline at end of file
+    @Test
+    void fromHjson_arrayNode() {
+        assertThat(delegate.fromHjson("/rootNode/arrayNode", String[].class))
+                .containsExactly("hello", "world");
+    }
+
+    @Test
+    void fromHjson_metricsEnabled_recordsOperations() {
+        FixtureMetrics metrics = FixtureMetrics.shared();
+        metrics.setEnabled(true);
+        try {
+            delegate.setTestMethodName("metricsTest");
+            delegate.fromHjson("/rootNode/arrayNode", String[].class);
+        } finally {
+            metrics.setEnabled(false);
+            delegate.setTestMethodName(null);
+        }
+
+        assertThat(metrics.getTestStats().get(JsonResourceTestDelegateTest.class.getName() + "#metricsTest"))
+                .containsKeys(FixtureOperation.LOAD, FixtureOperation.RESOLVE, FixtureOperation.SERIALIZE,
+                        FixtureOperation.DESERIALIZE);
+        assertThat(metrics.getSlowestFixtures(Integer.MAX_VALUE))
+                .extracting(Map.Entry::getKey)
+                .contains("JsonResourceTestDelegateTest.hjson#/rootNode/arrayNode");
+        metrics.clear();
+    }
+
+    @Test
+    void json_streamed_sameAsCachedTree() {
+        JsonResourceTestDelegate streamingDelegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        streamingDelegate.setStreamingThreshold(0);
+
+        assertThat(streamingDelegate.json(getClass(), "/rootNode"))
+                .isEqualTo(delegate.json(getClass(), "/rootNode"));
+        assertThat(streamingDelegate.json(getClass(), "/rootNode/simpleNode"))
+                .isEqualTo("simpleNode Content");
+        assertThat(streamingDelegate.json(getClass(), "/rootNode/arrayNode/1"))
+                .isEqualTo("world");
+    }
+
+    @Test
+    void hjson_streamed_sameAsCachedTree() {
+        JsonResourceTestDelegate streamingDelegate = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        streamingDelegate.setStreamingThreshold(0);
+
+        assertThat(streamingDelegate.hjson(getClass(), "/rootNode"))
+                .isEqualTo(delegate.hjson(getClass(), "/rootNode"));
+        assertThat(streamingDelegate.hjson(getClass(), "/rootNode/arrayNode"))
+                .isEqualTo("[\"hello\",\"world\"]");
+    }
+
+    @Test
+    void json_streamed_missingNode() {
+        delegate.setStreamingThreshold(0);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> delegate.json(getClass(), "/rootNode/unknown"))
+                .withMessage("Node '/rootNode/unknown' not found in file: JsonResourceTestDelegateTest.json");
+    }
+
+    @Test
+    void setStreamingThreshold_negative_fails() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> delegate.setStreamingThreshold(-1));
+    }
+
+    @Test
+    void getObjectMapper_providesPrivateCopyOfSharedMapper() {
+        JsonResourceTestDelegate other = new JsonResourceTestDelegate(() -> JsonResourceTestDelegateTest.class);
+        ObjectMapper mapper = delegate.getObjectMapper();
+
+        mapper.enable(SerializationFeature.WRAP_ROOT_VALUE);
+
+        assertThat(delegate.getObjectMapper()).isSameAs(mapper);
+        assertThat(other.getObjectMapper()).isNotSameAs(mapper);
+        assertThat(other.getObjectMapper().isEnabled(SerializationFeature.WRAP_ROOT_VALUE)).isFalse();
+    }
+
+    @Test
+    void getObjectMapper_configurationAppliesAfterSerialization() {
+        delegate.jsonHide(TestBean.class, "string");
+        assertThat(delegate.toJson(TestBean.create())).contains("\"localDate\"").doesNotContain("string value");
+
+        delegate.getObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        assertThat(delegate.toJson(TestBean.create())).contains("\"local_date\"").doesNotContain("string value");
+
+        delegate.getObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
+        assertThat(delegate.toJson(TestBean.create())).contains("\"local-date\"").doesNotContain("string value");
+    }
+
+    @Test
+    void getObjectMapper_privateMapperUsedForSerialization_serializersFlushed() {
+        ObjectMapper mapper = delegate.createObjectMapper();
+        delegate.toJson(TestBean.create());
+        assertThat(((DefaultSerializerProvider) mapper.getSerializerProvider()).cachedSerializersCount()).isPositive();
+
+        delegate.getObjectMapper();
+
+        assertThat(((DefaultSerializerProvider) mapper.getSerializerProvider()).cachedSerializersCount()).isZero();
+    }
+
+    @Test
+    void getObjectMapper_includesHiddenProperties() throws JsonProcessingException {
+        delegate.jsonHide(TestBean.class, "string");
+
+        assertThat(delegate.getObjectMapper().writeValueAsString(TestBean.create())).doesNotContain("string value");
+    }
+
+    @Test
+    void setSharedObjectMapper_usesPrototypeWithoutModifyingIt() {
+        ObjectMapper prototype = JsonResourceTestDelegate.objectMapperBuilder().build();
+        delegate.setSharedObjectMapper(prototype);
+
+        assertThat(delegate.toJson(LocalDate.parse("2020-07-01"))).isEqualTo("2020-07-01");
+        assertThat(delegate.getObjectMapper()).isNotSameAs(prototype);
+    }
+
+    @Test
+    void getTestMethodName_otherThread_nameOfSingleRunningTest() {
+        delegate.setTestMethodName("runningTest");
+        try {
+            assertThat(CompletableFuture.supplyAsync(delegate::getTestMethodName).join()).isEqualTo("runningTest");
+        } finally {
+            delegate.setTestMethodName(null);
+        }
+    }
+
+    @Test
+    void getTestMethodName_otherThread_noneOfConcurrentlyRunningTests() throws Exception {
+        delegate.setTestMethodName("runningTest");
+        try {
+            runInOtherThread(() -> delegate.setTestMethodName("otherRunningTest"));
+
+            assertThat(delegate.getTestMethodName()).isEqualTo("runningTest");
+            assertThat(CompletableFuture.supplyAsync(delegate::getTestMethodName).join()).isNull();
+        } finally {
+            delegate.setTestMethodName(null);
+        }
+    }
+
+    @Test
+    void setTestMethodName_null_keepsNameOfOtherThread() throws Exception {
+        runInOtherThread(() -> delegate.setTestMethodName("otherRunningTest"));
+        delegate.setTestMethodName("runningTest");
+
+        delegate.setTestMethodName(null);
+
+        assertThat(delegate.getTestMethodName()).isEqualTo("otherRunningTest");
+    }
+
+    private static void runInOtherThread(Runnable runnable) throws InterruptedException {
+        Thread thread = new Thread(runnable);
+        thread.start();
+        thread.join();
+    }
+}
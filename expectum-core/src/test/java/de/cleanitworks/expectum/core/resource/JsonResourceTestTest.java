@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.cleanitworks.expectum.core.compare.JsonCompareMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -12,14 +13,19 @@ import lombok.extern.jackson.Jacksonized;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.fasterxml.jackson.annotation.JsonProperty.Access.WRITE_ONLY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 class JsonResourceTestTest extends JsonResourceTest {
     @Test
@@ -51,8 +57,6 @@ class JsonResourceTestTest extends JsonResourceTest {
     }
 
     @Test
-    // TODO: does not yet work
-    @Disabled
     void jsonShowTwice() {
         jsonShow(TestBean.class, "string");
         assertThat(toJson(TestBean.create()))
@@ -160,6 +164,95 @@ class JsonResourceTestTest extends JsonResourceTest {
                 .isEqualTo("2007-12-03T10:15:30Z");
     }
 
+    @Test
+    void assertJsonNode_differentValue_reportsPath() {
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> assertJsonNode(TestBean.create(), "expected"))
+                .withMessage("Json content differs:\n"
+                        + "  /id: expected 8 but was 7\n"
+                        + "  /itemList/0/name: expected \"other name\" but was \"item name\"");
+    }
+
+    @Test
+    void assertJsonNode_expectedHashCached() {
+        ContentHashCache cache = ContentHashCache.shared();
+        long hits = cache.getHitCount();
+
+        assertJsonNode(TestBean.create(), "/testBean/expected");
+        assertJsonNode(TestBean.create(), "/testBean/expected");
+
+        assertThat(cache.getHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void assertJsonNode_privateMapper_hashNotCached() {
+        getJsonDelegate().createObjectMapper();
+        ContentHashCache cache = ContentHashCache.shared();
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+
+        assertJsonNode(TestBean.create(), "/testBean/expected");
+        assertJsonNode(TestBean.create(), "/testBean/expected");
+
+        assertThat(cache.getHitCount()).isEqualTo(hits);
+        assertThat(cache.getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void assertJsonNode_lenient() {
+        assertJsonNode(TestBean.create(), "expected", JsonCompareMode.LENIENT);
+
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> assertJsonNode(TestBean.create(), "expected", JsonCompareMode.NON_EXTENSIBLE))
+                .withMessageContaining("/id: unexpected field 7");
+    }
+
+    @Test
+    void assertJsonNode_canonical() {
+        Map<String, Object> bean = new LinkedHashMap<>();
+        bean.put("b", new BigDecimal("1.50"));
+        bean.put("a", 100);
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> assertJsonNode(bean, "expected"));
+
+        getJsonDelegate().setCanonicalComparison(true);
+        assertJsonNode(bean, "expected");
+    }
+
+    @Test
+    void assertJsonNodeIgnoringOrder() {
+        assertJsonNodeIgnoringOrder(Set.of("a", "b", "c", "d"), "expected");
+
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> assertJsonNodeIgnoringOrder(Set.of("a", "b", "c", "x"), "expected"))
+                .withMessageContaining("missing element \"d\"")
+                .withMessageContaining("unexpected element \"x\"");
+    }
+
+    @Test
+    void assertJsonNodeStreaming() {
+        assertJsonNodeStreaming(TestBean.create(), "/testBean/expected");
+
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> assertJsonNodeStreaming(TestBean.create(),
+                        "/assertJsonNode_differentValue_reportsPath/expected"))
+                .withMessageEndingWith("/id: expected 8 but was 7");
+    }
+
+    @Test
+    void assertJsonNodeStreaming_largeFile_streamedFromFile() {
+        getJsonDelegate().setStreamingThreshold(0);
+
+        assertJsonNodeStreaming(TestBean.create(), "/testBean/expected");
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> assertJsonNodeStreaming(TestBean.create(),
+                        "/assertJsonNode_differentValue_reportsPath/expected"))
+                .withMessageEndingWith("/id: expected 8 but was 7");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> assertJsonNodeStreaming(TestBean.create(), "/unknown"))
+                .withMessage("Node '/unknown' not found in file: JsonResourceTestTest.json");
+    }
+
     @Test
     void fromJson() {
         TestBean bean = fromJson("beandata", TestBean.class);
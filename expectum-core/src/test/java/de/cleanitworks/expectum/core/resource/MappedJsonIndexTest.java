@@ -0,0 +1,74 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedJsonIndexTest {
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final ResourceFile file = ResourceFile.of(MappedJsonIndexTest.class, "MappedJsonIndexTest.json");
+
+    @AfterEach
+    void clearIndexes() {
+        MappedJsonIndex.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "/firstTest",
+            "/firstTest/request",
+            "/firstTest/request/tags/1",
+            "/firstTest/number",
+            "/firstTest/decimal",
+            "/firstTest/text",
+            "/firstTest/flag",
+            "/firstTest/nothing",
+            "/firstTest/list",
+            "/firstTest/list/1/x",
+            "/secondTest",
+            "/secondTest/1/name",
+            "/scalarSection",
+            "/a~1b/c~0d",
+    })
+    void at_matchesTreeLookup(String ptr) throws IOException {
+        JsonNode tree;
+        try (InputStream in = file.openStream()) {
+            tree = mapper.readTree(in);
+        }
+
+        assertThat(MappedJsonIndex.of(file, mapper.getFactory()).at(mapper, ptr))
+                .isEqualTo(tree.at(ptr));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/unknownTest", "/firstTest/unknown", "/firstTest/request/unknown", "/scalarSection/x"})
+    void at_unknownNode_missing(String ptr) {
+        assertThat(MappedJsonIndex.of(file, mapper.getFactory()).at(mapper, ptr).isMissingNode()).isTrue();
+    }
+
+    @Test
+    void of_unchangedFile_reusesIndex() {
+        MappedJsonIndex index = MappedJsonIndex.of(file, mapper.getFactory());
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(MappedJsonIndex.of(file, mapper.getFactory())).isSameAs(index);
+    }
+
+    @Test
+    void of_arrayRoot_notIndexable() {
+        ResourceFile arrayFile = ResourceFile.of(MappedJsonIndexTest.class, "MappedJsonIndexArray.json");
+
+        assertThat(MappedJsonIndex.of(arrayFile, mapper.getFactory())).isNull();
+        assertThat(MappedJsonIndex.of(arrayFile, mapper.getFactory())).isNull();
+    }
+}
@@ -0,0 +1,89 @@
+package de.cleanitworks.expectum.core.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapperVariantCacheTest {
+
+    final MapperVariantCache cache = new MapperVariantCache(2);
+    final ObjectMapper baseMapper = new ObjectMapper();
+
+    @Test
+    void get_withoutIgnorals_providesBaseMapper() {
+        assertThat(cache.get(baseMapper, Map.of())).isSameAs(baseMapper);
+        assertThat(cache.get(baseMapper, Map.of(TestItem.class, Set.of()))).isSameAs(baseMapper);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_sameIgnorals_sharesVariant() {
+        Map<Class<?>, Set<String>> ignorals = new LinkedHashMap<>();
+        ignorals.put(TestBean.class, Set.of("id", "string"));
+        ignorals.put(TestItem.class, Set.of("name"));
+        Map<Class<?>, Set<String>> sameIgnorals = new LinkedHashMap<>();
+        sameIgnorals.put(TestItem.class, Set.of("name"));
+        sameIgnorals.put(TestBean.class, Set.of("string", "id"));
+
+        ObjectMapper variant = cache.get(baseMapper, ignorals);
+
+        assertThat(variant).isNotSameAs(baseMapper);
+        assertThat(cache.get(baseMapper, sameIgnorals)).isSameAs(variant);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_distinguishesBaseMapperAndIgnorals() {
+        ObjectMapper variant = cache.get(baseMapper, Map.of(TestItem.class, Set.of("name")));
+
+        assertThat(cache.get(new ObjectMapper(), Map.of(TestItem.class, Set.of("name")))).isNotSameAs(variant);
+        assertThat(cache.get(baseMapper, Map.of(TestItem.class, Set.of("other")))).isNotSameAs(variant);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_variantIgnoresProperties() throws Exception {
+        ObjectMapper variant = cache.get(baseMapper, Map.of(TestItem.class, Set.of("name")));
+
+        assertThat(variant.writeValueAsString(TestItem.builder().name("x").build())).isEqualTo("{}");
+        assertThat(baseMapper.writeValueAsString(TestItem.builder().name("x").build())).isEqualTo("{\"name\":\"x\"}");
+    }
+
+    @Test
+    void delegate_sameMapperAndIgnorals_shareVariant() {
+        ObjectMapper sharedMapper = JsonResourceTestDelegate.objectMapperBuilder().build();
+        JsonResourceTestDelegate first = new JsonResourceTestDelegate(() -> JsonResourceTestTest.class);
+        JsonResourceTestDelegate second = new JsonResourceTestDelegate(() -> JsonResourceTestTest.class);
+        first.setSharedObjectMapper(sharedMapper);
+        second.setSharedObjectMapper(sharedMapper);
+        first.jsonShow(TestBean.class, "string");
+        second.jsonShow(TestBean.class, "string");
+
+        first.toJson(TestBean.create());
+        long hits = MapperVariantCache.shared().getHitCount();
+
+        assertThat(second.toJson(TestBean.create())).isEqualTo("{\"string\":\"string value\"}");
+        assertThat(MapperVariantCache.shared().getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void delegate_privateMapper_bypassesCache() {
+        JsonResourceTestDelegate delegate = new JsonResourceTestDelegate(() -> JsonResourceTestTest.class);
+        delegate.createObjectMapper();
+        delegate.jsonShow(TestBean.class, "string");
+        long hits = MapperVariantCache.shared().getHitCount();
+        long misses = MapperVariantCache.shared().getMissCount();
+
+        assertThat(delegate.toJson(TestBean.create())).isEqualTo("{\"string\":\"string value\"}");
+        assertThat(MapperVariantCache.shared().getHitCount()).isEqualTo(hits);
+        assertThat(MapperVariantCache.shared().getMissCount()).isEqualTo(misses);
+    }
+}
@@ -0,0 +1,130 @@
+package de.cleanitworks.expectum.core.resource;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceFileTest {
+
+    static final String FILE_NAME = "ResourceFileTestInMemory.json";
+
+    final InMemoryHandler handler = new InMemoryHandler();
+
+    @Test
+    void version_fileSystem_lastModified() {
+        ResourceFile file = ResourceFile.of(ResourceFileTest.class, "MappedJsonIndexTest.json");
+
+        assertThat(file.version()).isEqualTo(file.getFilePath().toFile().lastModified());
+    }
+
+    @Test
+    void version_withoutModificationTime_contentHashComputedOnce() throws Exception {
+        handler.content = "{\"a\": 1}";
+        ResourceFile file = ResourceFile.of(new InMemoryClassLoader(handler).defineAnchor(), FILE_NAME);
+
+        long version = file.version();
+
+        assertThat(file.version()).isEqualTo(version);
+        assertThat(handler.reads).hasValue(1);
+    }
+
+    @Test
+    void version_withoutModificationTime_changedSize_contentHashRecomputed() throws Exception {
+        handler.content = "{\"a\": 1}";
+        ResourceFile file = ResourceFile.of(new InMemoryClassLoader(handler).defineAnchor(), FILE_NAME);
+        long version = file.version();
+
+        handler.content = "{\"a\": 10}";
+
+        assertThat(file.version()).isNotEqualTo(version);
+        assertThat(handler.reads).hasValue(2);
+    }
+
+    @Test
+    void version_withoutModificationTime_sameSizeEdit_noticedAfterMaxAge() throws Exception {
+        handler.content = "{\"a\": 1}";
+        ResourceFile file = ResourceFile.of(new InMemoryClassLoader(handler).defineAnchor(), FILE_NAME);
+        long version = file.version();
+
+        handler.content = "{\"a\": 2}";
+        TimeUnit.NANOSECONDS.sleep(ResourceFile.CONTENT_HASH_MAX_AGE_NANOS);
+
+        assertThat(file.version()).isNotEqualTo(version);
+        assertThat(handler.reads).hasValue(2);
+    }
+
+    /** Gets defined by each {@link InMemoryClassLoader}. */
+    static class Anchor {
+    }
+
+    /**
+     * Provides resources of the {@link InMemoryHandler}, having a unique url per loader.
+     */
+    static class InMemoryClassLoader extends ClassLoader {
+        private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        private final InMemoryHandler handler;
+        private final int instance = INSTANCES.incrementAndGet();
+
+        InMemoryClassLoader(InMemoryHandler handler) {
+            super(Anchor.class.getClassLoader());
+            this.handler = handler;
+        }
+
+        Class<?> defineAnchor() throws IOException {
+            String name = Anchor.class.getName();
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                byte[] bytes = in.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            try {
+                return name.endsWith(FILE_NAME) ? new URL(null, "memory:" + instance + "/" + name, handler) : null;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Serves the current content without modification time and counts the reads.
+     */
+    static class InMemoryHandler extends URLStreamHandler {
+        final AtomicInteger reads = new AtomicInteger();
+        volatile String content;
+
+        @Override
+        protected URLConnection openConnection(URL url) {
+            return new URLConnection(url) {
+                @Override
+                public void connect() {
+                    // nothing to connect
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    return content.getBytes(UTF_8).length;
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    reads.incrementAndGet();
+                    return new ByteArrayInputStream(content.getBytes(UTF_8));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package de.cleanitworks.expectum.hibernate.benchmark;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+import de.cleanitworks.expectum.hibernate.domain.Bed;
+import de.cleanitworks.expectum.hibernate.domain.Garden;
+import de.cleanitworks.expectum.hibernate.domain.Plant;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonResourceTestDelegate#toJson(Object)} of lazy loaded {@link Garden} graphs having up to
+ * thousands of beds, using the {@link Hibernate6Module}.
+ *
+ * <p>The graph gets loaded once per trial up to the given {@link GraphState}. The serialization does not load
+ * further content. So each invocation serializes the same graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazyGraphSerializationBenchmark {
+
+    public enum GraphState {
+        /** The beds collection is not initialized. */
+        UNRESOLVED_BEDS,
+        /** Beds are loaded. All plants are unresolved proxies. */
+        UNRESOLVED_PLANTS,
+        /** Beds are loaded. Every second plant is resolved. */
+        HALF_RESOLVED_PLANTS,
+        /** The whole graph is loaded. */
+        FULLY_RESOLVED
+    }
+
+    @Param({"10", "1000", "5000"})
+    public int bedCount;
+
+    @Param
+    public GraphState graphState;
+
+    @Param({"true", "false"})
+    public boolean serializeIdentifierForLazy;
+
+    private SessionFactory sessionFactory;
+    private Session session;
+    private Garden garden;
+    private JsonResourceTestDelegate delegate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration().configure()
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmark")
+                .setProperty("hibernate.show_sql", "false")
+                .buildSessionFactory();
+        long gardenId = storeGarden();
+
+        session = sessionFactory.openSession();
+        garden = session.find(Garden.class, gardenId);
+        loadGraph();
+
+        delegate = new JsonResourceTestDelegate(() -> LazyGraphSerializationBenchmark.class);
+        delegate.setSharedObjectMapper(JsonResourceTestDelegate.objectMapperBuilder()
+                .addModule(new Hibernate6Module()
+                        .configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS,
+                                serializeIdentifierForLazy))
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public String toJson() {
+        return delegate.toJson(garden);
+    }
+
+    private long storeGarden() {
+        List<Bed> beds = new ArrayList<>(bedCount);
+        for (int i = 0; i < bedCount; i++) {
+            beds.add(Bed.builder()
+                    .name("bed " + i)
+                    .numberOfPlants(i % 20)
+                    .plant(Plant.builder().name("plant " + i).build())
+                    .build());
+        }
+        Garden newGarden = Garden.builder().beds(beds).build();
+
+        try (Session writeSession = sessionFactory.openSession()) {
+            writeSession.beginTransaction();
+            writeSession.persist(newGarden);
+            writeSession.getTransaction().commit();
+        }
+        return newGarden.getId();
+    }
+
+    private void loadGraph() {
+        if (graphState == GraphState.UNRESOLVED_BEDS) {
+            return;
+        }
+        Hibernate.initialize(garden.getBeds());
+        List<Bed> beds = garden.getBeds();
+        for (int i = 0; i < beds.size(); i++) {
+            if (graphState == GraphState.FULLY_RESOLVED
+                    || (graphState == GraphState.HALF_RESOLVED_PLANTS && i % 2 == 0)) {
+                Hibernate.initialize(beds.get(i).getPlant());
+            }
+        }
+    }
+}
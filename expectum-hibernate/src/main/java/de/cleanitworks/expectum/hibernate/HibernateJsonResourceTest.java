@@ -1,6 +1,5 @@
 package de.cleanitworks.expectum.hibernate;
 
-import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import de.cleanitworks.expectum.core.resource.JsonResourceTest;
 import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
@@ -14,11 +13,7 @@ public class HibernateJsonResourceTest extends JsonResourceTest {
 
     @BeforeEach
     void hibernateSerializer() {
-        var om = getJsonDelegate().createObjectMapper();
-        om.registerModule(new Hibernate6Module()
-                .configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true));
-        // XXX: useful general setup?
-        // om.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        getJsonDelegate().setSharedObjectMapper(HibernateMapperSupplier.HIBERNATE_MAPPER);
     }
 
     @BeforeEach
@@ -1,7 +1,5 @@
 package de.cleanitworks.expectum.hibernate5;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
 import de.cleanitworks.expectum.core.resource.JsonResourceTest;
 import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
@@ -15,11 +13,7 @@ public abstract class Hibernate5JsonResourceTest extends JsonResourceTest {
 
     @BeforeEach
     void hibernateSerializer() {
-        ObjectMapper om = getJsonDelegate().createObjectMapper();
-        om.registerModule(new Hibernate5Module()
-                .configure(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true));
-        // XXX: useful general setup?
-        // om.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        getJsonDelegate().setSharedObjectMapper(Hibernate5MapperSupplier.HIBERNATE_MAPPER);
     }
 
     @BeforeEach
@@ -0,0 +1,31 @@
+package de.cleanitworks.expectum.hibernate5;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import de.cleanitworks.expectum.core.resource.JsonResourceTestDelegate;
+
+import java.util.function.Supplier;
+
+/**
+ * Supplies the shared mapper of the {@link Hibernate5JsonResourceTest}s. May be named to preload their fixtures:
+ * <pre>
+ *   expectum.preload.mapperSupplier=de.cleanitworks.expectum.hibernate5.Hibernate5MapperSupplier
+ * </pre>
+ */
+public class Hibernate5MapperSupplier implements Supplier<ObjectMapper> {
+
+    /**
+     * Shared by all hibernate tests. Its serializers get built only once.
+     */
+    static final ObjectMapper HIBERNATE_MAPPER = JsonResourceTestDelegate.objectMapperBuilder()
+            .addModule(new Hibernate5Module()
+                    .configure(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true))
+            // XXX: useful general setup?
+            // .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .build();
+
+    @Override
+    public ObjectMapper get() {
+        return HIBERNATE_MAPPER;
+    }
+}
@@ -0,0 +1,78 @@
+package de.cleanitworks.expectum.maven;
+
+import de.cleanitworks.expectum.core.resource.FixtureCompiler;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Compiles the fixture files (json, hjson, ...) of the test output directory (see {@link FixtureCompiler}). Tests
+ * read the compiled form instead of parsing the files.
+ *
+ * <p>The files get parsed by the default mapper of the <code>JsonResourceTestDelegate</code>. Tests using another
+ * mapper read the files themselves. Malformed test files fail the build, unless <code>failOnMalformed</code> is
+ * disabled, e.g. for files that only a custom mapper can parse.
+ */
+@Mojo(name = "compile-fixtures", defaultPhase = LifecyclePhase.PROCESS_TEST_RESOURCES, threadSafe = true)
+public class CompileFixturesMojo extends AbstractMojo {
+
+  /**
+   * The directory containing the copied test resources.
+   */
+  @Parameter(defaultValue = "${project.build.testOutputDirectory}", required = true)
+  private File testOutputDirectory;
+
+  /**
+   * Skips the compilation. Also skipped by <code>maven.test.skip</code>, since there are no test resources then.
+   */
+  @Parameter(property = "expectum.compileFixtures.skip", defaultValue = "${maven.test.skip}")
+  private boolean skip;
+
+  /**
+   * Fails the build if a test file can't be parsed by the default mapper. Otherwise such files get reported as
+   * warning and are not compiled.
+   */
+  @Parameter(property = "expectum.compileFixtures.failOnMalformed", defaultValue = "true")
+  private boolean failOnMalformed;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    if (skip) {
+      getLog().info("Compilation of test files skipped.");
+      return;
+    }
+    if (!testOutputDirectory.isDirectory()) {
+      getLog().debug("No test output directory: " + testOutputDirectory);
+      return;
+    }
+
+    FixtureCompiler.Result result;
+    try {
+      result = new FixtureCompiler().compile(testOutputDirectory.toPath());
+    } catch (UncheckedIOException e) {
+      throw new MojoExecutionException(e.getMessage(), e.getCause());
+    }
+
+    if (result.hasErrors()) {
+      Path dir = testOutputDirectory.toPath();
+      StringBuilder message = new StringBuilder("Malformed test files:");
+      for (Map.Entry<Path, String> error : result.getErrors().entrySet()) {
+        message.append(System.lineSeparator()).append("  ").append(dir.relativize(error.getKey()))
+              .append(": ").append(error.getValue());
+      }
+      if (failOnMalformed) {
+        throw new MojoFailureException(message.toString());
+      }
+      getLog().warn(message);
+    }
+    getLog().info(result.toString());
+  }
+}